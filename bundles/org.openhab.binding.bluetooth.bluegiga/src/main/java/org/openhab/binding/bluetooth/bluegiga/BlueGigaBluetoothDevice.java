@@ -357,11 +357,8 @@ public class BlueGigaBluetoothDevice extends BaseBluetoothDevice implements Blue
 
     @Override
     public void bluegigaEventReceived(BlueGigaResponse event) {
-        if (event instanceof BlueGigaScanResponseEvent) {
-            handleScanEvent((BlueGigaScanResponseEvent) event);
-        }
-
-        else if (event instanceof BlueGigaGroupFoundEvent) {
+        // scan events are filtered and passed to the addressed device by the bridge handler
+        if (event instanceof BlueGigaGroupFoundEvent) {
             handleGroupFoundEvent((BlueGigaGroupFoundEvent) event);
         }
 
@@ -387,7 +384,13 @@ public class BlueGigaBluetoothDevice extends BaseBluetoothDevice implements Blue
         }
     }
 
-    private void handleScanEvent(BlueGigaScanResponseEvent event) {
+    /**
+     * Handles a scan event of this device. Called by the bridge handler for the advertisements
+     * that pass its advertisement filter.
+     *
+     * @param event the {@link BlueGigaScanResponseEvent}
+     */
+    public void handleScanEvent(BlueGigaScanResponseEvent event) {
         // Check if this is addressed to this device
         if (!address.equals(new BluetoothAddress(event.getSender()))) {
             return;
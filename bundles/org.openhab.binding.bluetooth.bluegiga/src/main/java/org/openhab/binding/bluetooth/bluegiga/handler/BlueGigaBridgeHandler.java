@@ -37,6 +37,7 @@ import org.openhab.binding.bluetooth.BluetoothAddress;
 import org.openhab.binding.bluetooth.BluetoothBindingConstants;
 import org.openhab.binding.bluetooth.bluegiga.BlueGigaAdapterConstants;
 import org.openhab.binding.bluetooth.bluegiga.BlueGigaBluetoothDevice;
+import org.openhab.binding.bluetooth.bluegiga.internal.AdvertisementFilter;
 import org.openhab.binding.bluetooth.bluegiga.internal.BlueGigaCommand;
 import org.openhab.binding.bluetooth.bluegiga.internal.BlueGigaConfiguration;
 import org.openhab.binding.bluetooth.bluegiga.internal.BlueGigaEventListener;
@@ -127,6 +128,9 @@ public class BlueGigaBridgeHandler extends AbstractBluetoothBridgeHandler<BlueGi
 
     private BlueGigaConfiguration configuration = new BlueGigaConfiguration();
 
+    // Filter for the advertisements received by this adapter, forwards everything until initialized
+    private AdvertisementFilter advertisementFilter = new AdvertisementFilter(0, 0, 0);
+
     // The serial port input stream.
     private Optional<InputStream> inputStream = Optional.empty();
 
@@ -170,6 +174,9 @@ public class BlueGigaBridgeHandler extends AbstractBluetoothBridgeHandler<BlueGi
     @Override
     public void initialize() {
         super.initialize();
+        BlueGigaConfiguration config = getConfigAs(BlueGigaConfiguration.class);
+        advertisementFilter = new AdvertisementFilter(config.advertisementRssiDelta, config.advertisementMinInterval,
+                TimeUnit.SECONDS.toMillis(config.advertisementRefreshInterval));
         updateStatus(ThingStatus.UNKNOWN);
         if (initTask == null) {
             initTask = scheduler.scheduleWithFixedDelay(this::checkInit, 0, 10, TimeUnit.SECONDS);
@@ -266,6 +273,7 @@ public class BlueGigaBridgeHandler extends AbstractBluetoothBridgeHandler<BlueGi
                 BlueGigaTransactionManager th = new BlueGigaTransactionManager(sh, executor);
                 sh.addHandlerListener(this);
                 th.addEventListener(this);
+                th.setScanEventListener(this);
                 return th;
             });
             transactionManager.thenRun(() -> {
@@ -326,6 +334,7 @@ public class BlueGigaBridgeHandler extends AbstractBluetoothBridgeHandler<BlueGi
         logger.info("Stop BlueGiga");
         transactionManager.thenAccept(tman -> {
             tman.removeEventListener(this);
+            tman.setScanEventListener(null);
             tman.close();
         });
         serialHandler.thenAccept(sh -> {
@@ -467,6 +476,21 @@ public class BlueGigaBridgeHandler extends AbstractBluetoothBridgeHandler<BlueGi
         return new BlueGigaBluetoothDevice(this, address, BluetoothAddressType.UNKNOWN);
     }
 
+    @Override
+    protected void removeDevice(BlueGigaBluetoothDevice device) {
+        super.removeDevice(device);
+        advertisementFilter.remove(device.getAddress());
+    }
+
+    @Override
+    protected void refreshDiscoveredDevices() {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Advertisements received: {}, forwarded: {}", advertisementFilter.getReceivedCount(),
+                    advertisementFilter.getForwardedCount());
+        }
+        super.refreshDiscoveredDevices();
+    }
+
     /**
      * Connects to a device.
      * <p>
@@ -778,8 +802,13 @@ public class BlueGigaBridgeHandler extends AbstractBluetoothBridgeHandler<BlueGi
                 // We use the scan event to add any devices we hear to the devices list
                 // The device gets created, and then manages itself for discovery etc.
                 BluetoothAddress sender = new BluetoothAddress(scanEvent.getSender());
+                if (!advertisementFilter.accept(sender, scanEvent.getPacketType().getKey(), scanEvent.getRssi(),
+                        scanEvent.getData())) {
+                    return;
+                }
                 BlueGigaBluetoothDevice device = getDevice(sender);
                 device.setAddressType(scanEvent.getAddressType());
+                device.handleScanEvent(scanEvent);
                 deviceDiscovered(device);
             } else {
                 logger.trace("Ignore BlueGigaScanResponseEvent as initialization is not complete");
@@ -0,0 +1,184 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.bluegiga.internal;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.bluetooth.BluetoothAddress;
+
+/**
+ * The {@link AdvertisementFilter} decides which advertisements received by an adapter are forwarded to the devices.
+ *
+ * Advertisements with a changed payload are always forwarded, payloads are compared by their bytes. Advertisements
+ * with an unchanged payload are only forwarded if the RSSI changed by more than the configured delta and the minimum
+ * interval since the last forwarded advertisement has passed, or if the refresh interval has passed. The filter does
+ * not lock, so it can be used by several threads at once.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class AdvertisementFilter {
+
+    private final Map<Key, Forwarded> forwarded = new ConcurrentHashMap<>();
+    private final LongAdder receivedCount = new LongAdder();
+    private final LongAdder forwardedCount = new LongAdder();
+
+    private final int rssiDelta;
+    private final long minIntervalNanos;
+    private final long refreshIntervalNanos;
+    private final LongSupplier nanoTime;
+
+    /**
+     * Key of an advertisement stream, advertisements and scan responses of a device are filtered separately.
+     */
+    private static class Key {
+        private final BluetoothAddress address;
+        private final int packetType;
+
+        Key(BluetoothAddress address, int packetType) {
+            this.address = address;
+            this.packetType = packetType;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * address.hashCode() + packetType;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return packetType == other.packetType && address.equals(other.address);
+        }
+    }
+
+    /**
+     * The last forwarded advertisement of a stream.
+     */
+    private static class Forwarded {
+        private final byte[] payload;
+        private final int payloadHash;
+        private final int rssi;
+        private final long time;
+
+        Forwarded(byte[] payload, int payloadHash, int rssi, long time) {
+            this.payload = payload;
+            this.payloadHash = payloadHash;
+            this.rssi = rssi;
+            this.time = time;
+        }
+    }
+
+    /**
+     * Creates a new filter. A refresh interval of 0 disables the filter.
+     *
+     * @param rssiDelta the RSSI change in dBm that has to be exceeded to forward an unchanged payload
+     * @param minIntervalMillis the minimum interval between forwarded advertisements with an unchanged payload
+     * @param refreshIntervalMillis the interval after which an unchanged advertisement is always forwarded
+     */
+    public AdvertisementFilter(int rssiDelta, long minIntervalMillis, long refreshIntervalMillis) {
+        this(rssiDelta, minIntervalMillis, refreshIntervalMillis, System::nanoTime);
+    }
+
+    AdvertisementFilter(int rssiDelta, long minIntervalMillis, long refreshIntervalMillis, LongSupplier nanoTime) {
+        this.rssiDelta = rssiDelta;
+        this.minIntervalNanos = TimeUnit.MILLISECONDS.toNanos(minIntervalMillis);
+        this.refreshIntervalNanos = TimeUnit.MILLISECONDS.toNanos(refreshIntervalMillis);
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Checks if an advertisement should be forwarded.
+     *
+     * @param address the address of the advertising device
+     * @param packetType the type of the advertisement, e.g. advertisement or scan response
+     * @param rssi the RSSI of the advertisement
+     * @param payload the advertisement payload, it must not be modified afterwards
+     * @return true if the advertisement should be forwarded
+     */
+    public boolean accept(BluetoothAddress address, int packetType, int rssi, byte[] payload) {
+        receivedCount.increment();
+        if (refreshIntervalNanos <= 0) {
+            forwardedCount.increment();
+            return true;
+        }
+
+        Key key = new Key(address, packetType);
+        long now = nanoTime.getAsLong();
+        int payloadHash = Arrays.hashCode(payload);
+        Forwarded next = new Forwarded(payload, payloadHash, rssi, now);
+        while (true) {
+            Forwarded last = forwarded.get(key);
+            if (last == null) {
+                if (forwarded.putIfAbsent(key, next) == null) {
+                    break;
+                }
+            } else if (!shouldForward(last, payload, payloadHash, rssi, now)) {
+                return false;
+            } else if (forwarded.replace(key, last, next)) {
+                break;
+            }
+            // another thread forwarded an advertisement of this stream in the meantime, check against that one
+        }
+        forwardedCount.increment();
+        return true;
+    }
+
+    private boolean shouldForward(Forwarded last, byte[] payload, int payloadHash, int rssi, long now) {
+        // the hash is only a quick check, equal hashes don't imply equal payloads
+        if (last.payloadHash != payloadHash || !Arrays.equals(last.payload, payload)) {
+            return true;
+        }
+        long elapsed = now - last.time;
+        if (elapsed >= refreshIntervalNanos) {
+            return true;
+        }
+        return elapsed >= minIntervalNanos && Math.abs(rssi - last.rssi) > rssiDelta;
+    }
+
+    /**
+     * Removes the state of a device, e.g. if the device is removed from the adapter.
+     *
+     * @param address the address of the device
+     */
+    public void remove(BluetoothAddress address) {
+        forwarded.keySet().removeIf(key -> key.address.equals(address));
+    }
+
+    /**
+     * @return the number of advertisements received
+     */
+    public long getReceivedCount() {
+        return receivedCount.sum();
+    }
+
+    /**
+     * @return the number of advertisements forwarded
+     */
+    public long getForwardedCount() {
+        return forwardedCount.sum();
+    }
+}
@@ -32,6 +32,9 @@ public class BlueGigaConfiguration extends BaseBluetoothBridgeHandlerConfigurati
     public int connIntervalMax;
     public int connLatency;
     public int connTimeout;
+    public int advertisementRssiDelta = 0;
+    public int advertisementMinInterval = 0;
+    public int advertisementRefreshInterval = 10;
 
     @Override
     public String toString() {
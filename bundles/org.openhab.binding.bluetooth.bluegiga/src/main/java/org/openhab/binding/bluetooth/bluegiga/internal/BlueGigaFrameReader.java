@@ -0,0 +1,133 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.bluegiga.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads BlueGiga packets from the serial stream. The stream is read in blocks into a buffer and the packets
+ * are framed from the buffer, so that a busy stream of events does not cost a read call per byte.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class BlueGigaFrameReader {
+
+    static final int BLE_MAX_LENGTH = 64;
+
+    private static final int READ_BUFFER_SIZE = 1024;
+    private static final int HEADER_LENGTH = 4;
+
+    // The BGAPI protocol has no packet framing and no error detection, so we do a few
+    // sanity checks on the header to try and allow resynchronisation.
+    // Byte 0: Check technology type is bluetooth and high length is 0
+    // Byte 1: Check length is less than 64 bytes
+    // Byte 2: Check class ID is less than 8
+    private static final int[] FRAMECHECK_PARAMS = { 0x7F, 0xC0, 0xF8 };
+
+    private final Logger logger = LoggerFactory.getLogger(BlueGigaFrameReader.class);
+
+    private final InputStream inputStream;
+    private final byte[] buffer = new byte[READ_BUFFER_SIZE];
+    private final int[] packet = new int[BLE_MAX_LENGTH];
+    private int start = 0;
+    private int end = 0;
+    private int packetLength = 0;
+
+    BlueGigaFrameReader(InputStream inputStream) {
+        this.inputStream = inputStream;
+    }
+
+    /**
+     * Returns the next packet. If no complete packet is buffered, one block is read from the stream.
+     * The returned array is reused for the next packet, so it must be processed before the next call.
+     *
+     * @return the packet or null if no complete packet is available yet
+     * @throws IOException if reading from the stream fails
+     */
+    @Nullable
+    int[] readPacket() throws IOException {
+        if (nextPacket()) {
+            return packet;
+        }
+
+        if (start > 0) {
+            // move the incomplete packet to the start of the buffer
+            System.arraycopy(buffer, start, buffer, 0, end - start);
+            end -= start;
+            start = 0;
+        }
+        int count = inputStream.read(buffer, end, buffer.length - end);
+        if (count <= 0) {
+            return null;
+        }
+        end += count;
+
+        return nextPacket() ? packet : null;
+    }
+
+    /**
+     * Returns the length of the packet returned by the last call to {@link #readPacket()}.
+     *
+     * @return the packet length
+     */
+    int getPacketLength() {
+        return packetLength;
+    }
+
+    private boolean nextPacket() {
+        while (end - start >= HEADER_LENGTH) {
+            if (!checkHeader()) {
+                // skip the first byte and try to resynchronise on the next one
+                start++;
+                continue;
+            }
+
+            int length = (buffer[start + 1] & 0xFF) + HEADER_LENGTH;
+            if (length > BLE_MAX_LENGTH) {
+                logger.debug("Received illegal BLE packet, length larger than max {} bytes ({})", BLE_MAX_LENGTH,
+                        length);
+                start++;
+                continue;
+            }
+            if (end - start < length) {
+                return false;
+            }
+
+            for (int i = 0; i < length; i++) {
+                packet[i] = buffer[start + i] & 0xFF;
+            }
+            packetLength = length;
+            start += length;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean checkHeader() {
+        for (int i = 0; i < FRAMECHECK_PARAMS.length; i++) {
+            int val = buffer[start + i] & 0xFF;
+            if ((val & FRAMECHECK_PARAMS[i]) != 0) {
+                logger.debug("BlueGiga framing error byte {} = {}", i + 1, val);
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -17,6 +17,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -105,6 +106,8 @@ class BlueGigaResponsePackets {
 
     private static final Map<Integer, Class<?>> packetMap = new HashMap<>();
 
+    private static final Map<Class<?>, Constructor<?>> constructors = new ConcurrentHashMap<>();
+
     static {
         packetMap.put(Objects.hash(0x00, 0x06, true), BlueGigaProtocolErrorEvent.class);
         packetMap.put(Objects.hash(0x00, 0x02, true), BlueGigaEndpointWatermarkRxEvent.class);
@@ -191,10 +194,13 @@ class BlueGigaResponsePackets {
             return null;
         }
 
-        Constructor<?> ctor;
-
         try {
-            ctor = bleClass.getConstructor(int[].class);
+            // the constructor lookup is cached, it would otherwise be repeated for every received packet
+            Constructor<?> ctor = constructors.get(bleClass);
+            if (ctor == null) {
+                ctor = bleClass.getConstructor(int[].class);
+                constructors.put(bleClass, ctor);
+            }
             BlueGigaResponse bleFrame = (BlueGigaResponse) ctor.newInstance(data);
             return bleFrame;
         } catch (NoSuchMethodException | SecurityException | InstantiationException | IllegalAccessException
@@ -29,6 +29,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.bluetooth.bluegiga.internal.command.gap.BlueGigaScanResponseEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -65,6 +66,11 @@ public class BlueGigaTransactionManager implements BlueGigaSerialEventListener {
      */
     private final Set<BlueGigaEventListener> eventListeners = new CopyOnWriteArraySet<>();
 
+    /**
+     * The listener for scan response events, which are received for every device around.
+     */
+    private volatile @Nullable BlueGigaEventListener scanEventListener;
+
     private final Queue<BlueGigaUniqueCommand> sendQueue = new LinkedList<>();
     private final ScheduledExecutorService executor;
     private final BlueGigaSerialHandler serialHandler;
@@ -95,6 +101,7 @@ public class BlueGigaTransactionManager implements BlueGigaSerialEventListener {
         sendQueue.clear();
         transactionListeners.clear();
         eventListeners.clear();
+        scanEventListener = null;
         logger.debug("Closed");
     }
 
@@ -323,6 +330,16 @@ public class BlueGigaTransactionManager implements BlueGigaSerialEventListener {
         eventListeners.remove(listener);
     }
 
+    /**
+     * Sets the listener for scan response events. Scan response events are only passed to this listener and not to the
+     * other event listeners, the listener passes them on to the addressed device.
+     *
+     * @param listener the listener for scan response events or null to drop them
+     */
+    public void setScanEventListener(@Nullable BlueGigaEventListener listener) {
+        scanEventListener = listener;
+    }
+
     @Override
     public void bluegigaFrameReceived(BlueGigaResponse event) {
         if (event.isEvent()) {
@@ -340,6 +357,14 @@ public class BlueGigaTransactionManager implements BlueGigaSerialEventListener {
      * @return true if the response was processed
      */
     private void notifyEventListeners(final BlueGigaResponse response) {
+        if (response instanceof BlueGigaScanResponseEvent) {
+            final BlueGigaEventListener listener = scanEventListener;
+            if (listener != null) {
+                executor.submit(() -> listener.bluegigaEventReceived(response));
+            }
+            return;
+        }
+
         // Notify the listeners
         for (final BlueGigaEventListener listener : eventListeners) {
             executor.submit(() -> listener.bluegigaEventReceived(response));
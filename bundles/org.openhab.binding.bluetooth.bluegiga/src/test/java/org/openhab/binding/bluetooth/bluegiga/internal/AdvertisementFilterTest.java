@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.bluegiga.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.bluetooth.BluetoothAddress;
+
+/**
+ * @author agent - Initial contribution
+ *
+ */
+class AdvertisementFilterTest {
+
+    private static final BluetoothAddress ADDRESS = new BluetoothAddress("12:34:56:78:9A:BC");
+    private static final BluetoothAddress OTHER_ADDRESS = new BluetoothAddress("12:34:56:78:9A:BD");
+    private static final byte[] PAYLOAD = { 2, 1, 6 };
+    private static final byte[] OTHER_PAYLOAD = { 2, 1, 4 };
+
+    private long now = 0;
+
+    private AdvertisementFilter createFilter(int rssiDelta, long minIntervalMillis, long refreshIntervalMillis) {
+        return new AdvertisementFilter(rssiDelta, minIntervalMillis, refreshIntervalMillis, () -> now);
+    }
+
+    private void advance(long millis) {
+        now += TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    @Test
+    void identicalAdvertisementsAreDropped() {
+        AdvertisementFilter filter = createFilter(0, 0, 10000);
+
+        assertTrue(filter.accept(ADDRESS, 0, -60, PAYLOAD));
+        advance(100);
+        assertFalse(filter.accept(ADDRESS, 0, -60, PAYLOAD));
+        // other devices and packet types are filtered separately
+        assertTrue(filter.accept(OTHER_ADDRESS, 0, -60, PAYLOAD));
+        assertTrue(filter.accept(ADDRESS, 4, -60, PAYLOAD));
+
+        assertEquals(4, filter.getReceivedCount());
+        assertEquals(3, filter.getForwardedCount());
+    }
+
+    @Test
+    void changedPayloadIsForwarded() {
+        AdvertisementFilter filter = createFilter(10, 5000, 10000);
+
+        assertTrue(filter.accept(ADDRESS, 0, -60, PAYLOAD));
+        assertTrue(filter.accept(ADDRESS, 0, -60, OTHER_PAYLOAD));
+        assertFalse(filter.accept(ADDRESS, 0, -60, OTHER_PAYLOAD));
+    }
+
+    @Test
+    void payloadsWithTheSameHashAreCompared() {
+        AdvertisementFilter filter = createFilter(0, 0, 10000);
+        byte[] payload = { 0, 31 };
+        byte[] collision = { 1, 0 };
+        assertEquals(Arrays.hashCode(payload), Arrays.hashCode(collision));
+
+        assertTrue(filter.accept(ADDRESS, 0, -60, payload));
+        assertTrue(filter.accept(ADDRESS, 0, -60, collision));
+        assertFalse(filter.accept(ADDRESS, 0, -60, new byte[] { 1, 0 }));
+    }
+
+    @Test
+    void rssiChangesAreRateLimited() {
+        AdvertisementFilter filter = createFilter(5, 1000, 10000);
+
+        assertTrue(filter.accept(ADDRESS, 0, -60, PAYLOAD));
+        // RSSI change within the minimum interval
+        advance(500);
+        assertFalse(filter.accept(ADDRESS, 0, -70, PAYLOAD));
+        // RSSI change below the delta
+        advance(1000);
+        assertFalse(filter.accept(ADDRESS, 0, -63, PAYLOAD));
+        // RSSI change above the delta after the minimum interval
+        assertTrue(filter.accept(ADDRESS, 0, -70, PAYLOAD));
+    }
+
+    @Test
+    void unchangedAdvertisementsAreRefreshed() {
+        AdvertisementFilter filter = createFilter(0, 0, 10000);
+
+        assertTrue(filter.accept(ADDRESS, 0, -60, PAYLOAD));
+        advance(9999);
+        assertFalse(filter.accept(ADDRESS, 0, -60, PAYLOAD));
+        advance(1);
+        assertTrue(filter.accept(ADDRESS, 0, -60, PAYLOAD));
+    }
+
+    @Test
+    void removedDevicesAreForwardedAgain() {
+        AdvertisementFilter filter = createFilter(0, 0, 10000);
+
+        assertTrue(filter.accept(ADDRESS, 0, -60, PAYLOAD));
+        filter.remove(ADDRESS);
+        assertTrue(filter.accept(ADDRESS, 0, -60, PAYLOAD));
+    }
+
+    @Test
+    void disabledFilterForwardsEverything() {
+        AdvertisementFilter filter = createFilter(0, 0, 0);
+
+        assertTrue(filter.accept(ADDRESS, 0, -60, PAYLOAD));
+        assertTrue(filter.accept(ADDRESS, 0, -60, PAYLOAD));
+        assertEquals(2, filter.getForwardedCount());
+    }
+}
@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.bluegiga.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.bluetooth.bluegiga.internal.command.gap.BlueGigaEndProcedureResponse;
+import org.openhab.binding.bluetooth.bluegiga.internal.command.gap.BlueGigaScanResponseEvent;
+
+/**
+ * Tests {@link BlueGigaFrameReader}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class BlueGigaFrameReaderTest {
+
+    private static final int[] SCAN_RESPONSE = { 0x80, 0x0E, 0x06, 0x00, 0xC4, 0x00, 0x11, 0x22, 0x33, 0x44, 0x55,
+            0x66, 0x00, 0xFF, 0x03, 0x02, 0x01, 0x06 };
+    private static final int[] END_PROCEDURE_RESPONSE = { 0x00, 0x02, 0x06, 0x04, 0x00, 0x00 };
+
+    /**
+     * Returns at most the given number of bytes per read, like a serial port does.
+     */
+    private static class ChunkedInputStream extends ByteArrayInputStream {
+        private final int chunkSize;
+
+        ChunkedInputStream(byte[] data, int chunkSize) {
+            super(data);
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len) {
+            return super.read(b, off, Math.min(len, chunkSize));
+        }
+    }
+
+    private static byte[] stream(int[]... packets) {
+        int length = Arrays.stream(packets).mapToInt(packet -> packet.length).sum();
+        byte[] data = new byte[length];
+        int position = 0;
+        for (int[] packet : packets) {
+            for (int val : packet) {
+                data[position++] = (byte) val;
+            }
+        }
+        return data;
+    }
+
+    private static List<BlueGigaResponse> replay(InputStream inputStream, int maxReads) throws IOException {
+        BlueGigaFrameReader reader = new BlueGigaFrameReader(inputStream);
+        List<BlueGigaResponse> responses = new ArrayList<>();
+        for (int i = 0; i < maxReads; i++) {
+            int[] packet = reader.readPacket();
+            if (packet != null) {
+                BlueGigaResponse response = BlueGigaResponsePackets.getPacket(packet);
+                assertNotNull(response);
+                responses.add(response);
+            }
+        }
+        return responses;
+    }
+
+    @Test
+    public void testPacketsSplitAcrossReads() throws IOException {
+        byte[] data = stream(SCAN_RESPONSE, END_PROCEDURE_RESPONSE, SCAN_RESPONSE);
+
+        List<BlueGigaResponse> responses = replay(new ChunkedInputStream(data, 5), 20);
+
+        assertEquals(3, responses.size());
+        assertInstanceOf(BlueGigaScanResponseEvent.class, responses.get(0));
+        assertInstanceOf(BlueGigaEndProcedureResponse.class, responses.get(1));
+        assertInstanceOf(BlueGigaScanResponseEvent.class, responses.get(2));
+
+        BlueGigaScanResponseEvent event = (BlueGigaScanResponseEvent) responses.get(2);
+        assertEquals(-60, event.getRssi());
+        assertEquals("66:55:44:33:22:11", event.getSender());
+        assertArrayEquals(new int[] { 0x02, 0x01, 0x06 }, event.getData());
+    }
+
+    @Test
+    public void testManyPacketsInOneRead() throws IOException {
+        int[][] packets = new int[100][];
+        Arrays.fill(packets, SCAN_RESPONSE);
+        byte[] data = stream(packets);
+
+        List<BlueGigaResponse> responses = replay(new ChunkedInputStream(data, data.length), 200);
+
+        assertEquals(100, responses.size());
+    }
+
+    @Test
+    public void testResynchronisationAfterGarbage() throws IOException {
+        byte[] data = stream(new int[] { 0xFF, 0x45, 0x80 }, SCAN_RESPONSE, END_PROCEDURE_RESPONSE);
+
+        List<BlueGigaResponse> responses = replay(new ChunkedInputStream(data, 7), 20);
+
+        assertEquals(2, responses.size());
+        assertInstanceOf(BlueGigaScanResponseEvent.class, responses.get(0));
+        assertInstanceOf(BlueGigaEndProcedureResponse.class, responses.get(1));
+    }
+}
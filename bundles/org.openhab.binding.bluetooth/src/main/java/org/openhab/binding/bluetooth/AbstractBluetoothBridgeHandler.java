@@ -186,6 +186,11 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BaseBluetoothDev
 
     @Override
     public BD getDevice(BluetoothAddress address) {
+        // known devices are looked up without locking, as this is called for every received advertisement
+        BD device = devices.get(address);
+        if (device != null) {
+            return device;
+        }
         synchronized (devices) {
             return Objects.requireNonNull(devices.computeIfAbsent(address, this::createDevice));
         }
@@ -14,8 +14,10 @@ package org.openhab.binding.deconz.internal.netutils;
 
 import java.net.URI;
 import java.util.Map;
-import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -29,6 +31,7 @@ import org.eclipse.jetty.websocket.api.annotations.WebSocket;
 import org.eclipse.jetty.websocket.client.WebSocketClient;
 import org.openhab.binding.deconz.internal.dto.DeconzBaseMessage;
 import org.openhab.binding.deconz.internal.types.ResourceType;
+import org.openhab.core.common.NamedThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,17 +42,25 @@ import com.google.gson.Gson;
  *
  * The connection is closed by deCONZ now and then and needs to be re-established.
  *
+ * Received messages are routed by their resource type and id, which are read without decoding the whole message.
+ * Only messages with a registered listener are decoded, on a separate thread, so that the websocket thread is not
+ * blocked by the listeners.
+ *
  * @author David Graeff - Initial contribution
  */
 @WebSocket
 @NonNullByDefault
 public class WebSocketConnection {
     private static final AtomicInteger INSTANCE_COUNTER = new AtomicInteger();
+    // messages waiting for dispatch, if exceeded the websocket thread waits for free space
+    private static final int MAX_PENDING_MESSAGES = 500;
+
     private final Logger logger = LoggerFactory.getLogger(WebSocketConnection.class);
 
     private final WebSocketClient client;
     private final String socketName;
     private final Gson gson;
+    private final ThreadPoolExecutor dispatcher;
 
     private final WebSocketConnectionListener connectionListener;
     private final Map<String, WebSocketMessageListener> listeners = new ConcurrentHashMap<>();
@@ -63,6 +74,11 @@ public class WebSocketConnection {
         this.client.setMaxIdleTimeout(0);
         this.gson = gson;
         this.socketName = "Websocket$" + System.currentTimeMillis() + "-" + INSTANCE_COUNTER.incrementAndGet();
+        // a single thread keeps the order of the messages
+        this.dispatcher = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(MAX_PENDING_MESSAGES), new NamedThreadFactory(socketName, true),
+                this::waitForDispatcher);
+        this.dispatcher.allowCoreThreadTimeOut(true);
     }
 
     public void start(String ip) {
@@ -92,6 +108,7 @@ public class WebSocketConnection {
             logger.debug("{} encountered an error while closing connection", socketName, e);
         }
         client.destroy();
+        dispatcher.shutdownNow();
     }
 
     public void registerListener(ResourceType resourceType, String sensorID, WebSocketMessageListener listener) {
@@ -112,7 +129,7 @@ public class WebSocketConnection {
         this.session = session;
     }
 
-    @SuppressWarnings({ "null", "unused" })
+    @SuppressWarnings("unused")
     @OnWebSocketMessage
     public void onMessage(Session session, String message) {
         if (!session.equals(this.session)) {
@@ -121,36 +138,56 @@ public class WebSocketConnection {
         }
         logger.trace("{} received raw data: {}", socketName, message);
 
-        try {
-            DeconzBaseMessage changedMessage = Objects.requireNonNull(gson.fromJson(message, DeconzBaseMessage.class));
-            if (changedMessage.r == ResourceType.UNKNOWN) {
-                logger.trace("Received message has unknown resource type. Skipping message.");
-                return;
-            }
+        WebSocketMessageHeader header = WebSocketMessageHeader.parse(message);
+        if (header == null) {
+            logger.trace("Received message has no resource type or id. Skipping message.");
+            return;
+        }
+        if (header.r == ResourceType.UNKNOWN) {
+            logger.trace("Received message has unknown resource type. Skipping message.");
+            return;
+        }
 
-            WebSocketMessageListener listener = listeners.get(getListenerId(changedMessage.r, changedMessage.id));
-            if (listener == null) {
-                logger.trace(
-                        "Couldn't find listener for id {} with resource type {}. Either no thing for this id has been defined or this is a bug.",
-                        changedMessage.id, changedMessage.r);
-                return;
-            }
+        WebSocketMessageListener listener = listeners.get(getListenerId(header.r, header.id));
+        if (listener == null) {
+            logger.trace(
+                    "Couldn't find listener for id {} with resource type {}. Either no thing for this id has been defined or this is a bug.",
+                    header.id, header.r);
+            return;
+        }
 
-            Class<? extends DeconzBaseMessage> expectedMessageType = changedMessage.r.getExpectedMessageType();
-            if (expectedMessageType == null) {
-                logger.warn(
-                        "BUG! Could not get expected message type for resource type {}. Please report this incident.",
-                        changedMessage.r);
-                return;
-            }
+        Class<? extends DeconzBaseMessage> expectedMessageType = header.r.getExpectedMessageType();
+        if (expectedMessageType == null) {
+            logger.warn("BUG! Could not get expected message type for resource type {}. Please report this incident.",
+                    header.r);
+            return;
+        }
+
+        dispatcher.execute(() -> dispatch(header.id, message, expectedMessageType, listener));
+    }
+
+    private void waitForDispatcher(Runnable dispatch, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            logger.debug("{} discarded message after close", socketName);
+            return;
+        }
+        try {
+            // blocking instead of dispatching on the websocket thread keeps the order of the messages
+            executor.getQueue().put(dispatch);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 
+    private void dispatch(String id, String message, Class<? extends DeconzBaseMessage> expectedMessageType,
+            WebSocketMessageListener listener) {
+        try {
             DeconzBaseMessage deconzMessage = gson.fromJson(message, expectedMessageType);
             if (deconzMessage != null) {
-                listener.messageReceived(changedMessage.id, deconzMessage);
-
+                listener.messageReceived(id, deconzMessage);
             }
         } catch (RuntimeException e) {
-            // we need to catch all processing exceptions, otherwise they could affect the connection
+            // we need to catch all processing exceptions, otherwise they could affect the dispatcher
             logger.warn("{} encountered an error while processing the message {}: {}", socketName, message,
                     e.getMessage());
         }
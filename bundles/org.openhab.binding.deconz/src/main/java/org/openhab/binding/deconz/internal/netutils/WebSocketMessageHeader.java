@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.deconz.internal.netutils;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.deconz.internal.types.ResourceType;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * The {@link WebSocketMessageHeader} holds the resource type and id of a websocket message, which are needed to find
+ * the listener of the message. They are read from the top level of the message without decoding the nested objects.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class WebSocketMessageHeader {
+    public final ResourceType r;
+    public final String id;
+
+    private WebSocketMessageHeader(ResourceType r, String id) {
+        this.r = r;
+        this.id = id;
+    }
+
+    /**
+     * Read the header of a websocket message. Reading stops as soon as the resource type and id are found, all other
+     * values before them are skipped.
+     *
+     * @param message the raw websocket message
+     * @return the header or null if the message is not a JSON object or has no resource type or id
+     */
+    public static @Nullable WebSocketMessageHeader parse(String message) {
+        String r = null;
+        String id = null;
+        try (JsonReader reader = new JsonReader(new StringReader(message))) {
+            reader.beginObject();
+            while (reader.hasNext() && (r == null || id == null)) {
+                String name = reader.nextName();
+                JsonToken token = reader.peek();
+                if ("r".equals(name) && token == JsonToken.STRING) {
+                    r = reader.nextString();
+                } else if ("id".equals(name) && (token == JsonToken.STRING || token == JsonToken.NUMBER)) {
+                    id = reader.nextString();
+                } else {
+                    reader.skipValue();
+                }
+            }
+        } catch (IOException | IllegalStateException | JsonParseException e) {
+            return null;
+        }
+        if (r == null || id == null) {
+            return null;
+        }
+        return new WebSocketMessageHeader(ResourceType.fromString(r), id);
+    }
+}
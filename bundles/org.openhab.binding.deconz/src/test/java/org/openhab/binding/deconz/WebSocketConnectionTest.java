@@ -0,0 +1,160 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.deconz;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jetty.websocket.api.Session;
+import org.eclipse.jetty.websocket.client.WebSocketClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.binding.deconz.internal.dto.DeconzBaseMessage;
+import org.openhab.binding.deconz.internal.dto.GroupMessage;
+import org.openhab.binding.deconz.internal.dto.LightMessage;
+import org.openhab.binding.deconz.internal.dto.SensorMessage;
+import org.openhab.binding.deconz.internal.netutils.WebSocketConnection;
+import org.openhab.binding.deconz.internal.netutils.WebSocketConnectionListener;
+import org.openhab.binding.deconz.internal.netutils.WebSocketMessageHeader;
+import org.openhab.binding.deconz.internal.netutils.WebSocketMessageListener;
+import org.openhab.binding.deconz.internal.types.GroupType;
+import org.openhab.binding.deconz.internal.types.GroupTypeDeserializer;
+import org.openhab.binding.deconz.internal.types.LightType;
+import org.openhab.binding.deconz.internal.types.LightTypeDeserializer;
+import org.openhab.binding.deconz.internal.types.ResourceType;
+import org.openhab.binding.deconz.internal.types.ResourceTypeDeserializer;
+import org.openhab.binding.deconz.internal.types.ThermostatMode;
+import org.openhab.binding.deconz.internal.types.ThermostatModeGsonTypeAdapter;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * This class provides tests for the message routing of the websocket connection
+ *
+ * @author agent - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@NonNullByDefault
+public class WebSocketConnectionTest {
+    private static final long TIMEOUT_MS = 2000;
+
+    private @Mock @NonNullByDefault({}) WebSocketConnectionListener connectionListener;
+    private @Mock @NonNullByDefault({}) WebSocketClient client;
+    private @Mock @NonNullByDefault({}) Session session;
+    private @Mock @NonNullByDefault({}) WebSocketMessageListener sensorListener;
+    private @Mock @NonNullByDefault({}) WebSocketMessageListener lightListener;
+    private @Mock @NonNullByDefault({}) WebSocketMessageListener groupListener;
+
+    private @NonNullByDefault({}) WebSocketConnection connection;
+
+    @BeforeEach
+    public void initialize() {
+        GsonBuilder gsonBuilder = new GsonBuilder();
+        gsonBuilder.registerTypeAdapter(LightType.class, new LightTypeDeserializer());
+        gsonBuilder.registerTypeAdapter(GroupType.class, new GroupTypeDeserializer());
+        gsonBuilder.registerTypeAdapter(ResourceType.class, new ResourceTypeDeserializer());
+        gsonBuilder.registerTypeAdapter(ThermostatMode.class, new ThermostatModeGsonTypeAdapter());
+        Gson gson = gsonBuilder.create();
+
+        doReturn(new InetSocketAddress("127.0.0.1", 443)).when(session).getRemoteAddress();
+
+        connection = new WebSocketConnection(connectionListener, client, gson);
+        connection.registerListener(ResourceType.SENSORS, "5", sensorListener);
+        connection.registerListener(ResourceType.LIGHTS, "3", lightListener);
+        connection.registerListener(ResourceType.GROUPS, "2", groupListener);
+        connection.onConnect(session);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        connection.close();
+    }
+
+    @Test
+    public void messagesAreRoutedToListeners() throws IOException {
+        for (String message : getMessages("websocket_messages.txt")) {
+            connection.onMessage(session, message);
+        }
+
+        ArgumentCaptor<DeconzBaseMessage> sensorMessages = ArgumentCaptor.forClass(DeconzBaseMessage.class);
+        verify(sensorListener, timeout(TIMEOUT_MS).times(3)).messageReceived(eq("5"), sensorMessages.capture());
+        List<DeconzBaseMessage> received = sensorMessages.getAllValues();
+        assertEquals(Boolean.TRUE, Objects.requireNonNull(((SensorMessage) received.get(0)).state).presence);
+        assertNull(((SensorMessage) received.get(1)).state);
+        assertEquals(98, Objects.requireNonNull(((SensorMessage) received.get(1)).config).battery);
+        assertEquals(Boolean.FALSE, Objects.requireNonNull(((SensorMessage) received.get(2)).state).presence);
+
+        ArgumentCaptor<DeconzBaseMessage> lightMessage = ArgumentCaptor.forClass(DeconzBaseMessage.class);
+        verify(lightListener, timeout(TIMEOUT_MS)).messageReceived(eq("3"), lightMessage.capture());
+        assertEquals(154, Objects.requireNonNull(((LightMessage) lightMessage.getValue()).state).bri);
+
+        ArgumentCaptor<DeconzBaseMessage> groupMessage = ArgumentCaptor.forClass(DeconzBaseMessage.class);
+        verify(groupListener, timeout(TIMEOUT_MS)).messageReceived(eq("2"), groupMessage.capture());
+        assertTrue(Objects.requireNonNull(((GroupMessage) groupMessage.getValue()).state).any_on);
+    }
+
+    @Test
+    public void invalidMessagesAreSkipped() {
+        connection.onMessage(session, "{\"e\":\"changed\",\"id\":\"5\",\"r\":\"sensors\",\"state\":");
+        connection.onMessage(session, "[]");
+        connection.onMessage(session, "{\"e\":\"changed\",\"id\":\"5\",\"r\":\"sensors\",\"state\":[1]}");
+        connection.onMessage(session,
+                "{\"e\":\"changed\",\"id\":\"5\",\"r\":\"sensors\",\"state\":{\"presence\":true}}");
+
+        // the last message must be processed, even if the previous one failed to decode
+        verify(sensorListener, timeout(TIMEOUT_MS)).messageReceived(eq("5"), any(SensorMessage.class));
+        verify(lightListener, never()).messageReceived(anyString(), any());
+    }
+
+    @Test
+    public void headerIsReadBeforeNestedValues() {
+        WebSocketMessageHeader header = WebSocketMessageHeader
+                .parse("{\"state\":{\"id\":\"1\",\"r\":\"lights\"},\"r\":\"sensors\",\"e\":\"changed\",\"id\":7}");
+        assertNotNull(header);
+        assertEquals(ResourceType.SENSORS, header.r);
+        assertEquals("7", header.id);
+
+        assertNull(WebSocketMessageHeader.parse("{\"e\":\"scene-called\",\"gid\":\"2\",\"r\":\"scenes\"}"));
+        assertNull(WebSocketMessageHeader.parse("not json"));
+    }
+
+    private static List<String> getMessages(String filename) throws IOException {
+        try (InputStream inputStream = WebSocketConnectionTest.class.getResourceAsStream(filename)) {
+            if (inputStream == null) {
+                throw new IOException("inputstream is null");
+            }
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8).lines()
+                    .collect(Collectors.toList());
+        }
+    }
+}
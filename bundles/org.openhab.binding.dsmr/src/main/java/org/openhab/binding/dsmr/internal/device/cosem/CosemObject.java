@@ -16,8 +16,6 @@ import java.text.ParseException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.core.types.State;
@@ -32,11 +30,6 @@ import org.slf4j.LoggerFactory;
 @NonNullByDefault
 public class CosemObject {
 
-    /**
-     * Regular expression for finding CosemValues
-     */
-    private static final Pattern COSEM_VALUES_PATTERN = Pattern.compile("(\\(([^\\(\\)]*)\\))");
-
     private final Logger logger = LoggerFactory.getLogger(CosemObject.class);
 
     /**
@@ -115,16 +108,18 @@ public class CosemObject {
     public void parseCosemValues(String cosemValueString) throws ParseException {
         logger.trace("Parsing CosemValue string {}", cosemValueString);
 
-        Matcher cosemValueMatcher = COSEM_VALUES_PATTERN.matcher(cosemValueString);
-        int nrOfCosemValues = countCosemValues(cosemValueMatcher);
+        int nrOfCosemValues = countCosemValues(cosemValueString);
 
         if (type.supportsNrOfValues(nrOfCosemValues)) {
             logger.trace("Received items: {} is supported", nrOfCosemValues);
 
             int cosemValueItr = 0;
-            while (cosemValueMatcher.find()) {
+            int start = findCosemValue(cosemValueString, 0);
+            while (start >= 0) {
+                final int end = cosemValueString.indexOf(')', start);
                 final Entry<String, CosemValueDescriptor<?>> valueDescriptorEntry = type.getDescriptor(cosemValueItr);
-                final State cosemValue = valueDescriptorEntry.getValue().getStateValue(cosemValueMatcher.group(2));
+                final State cosemValue = valueDescriptorEntry.getValue()
+                        .getStateValue(cosemValueString.substring(start + 1, end));
 
                 if (!cosemValues.containsKey(valueDescriptorEntry.getKey())) {
                     cosemValues.put(valueDescriptorEntry.getKey(), cosemValue);
@@ -133,20 +128,43 @@ public class CosemObject {
                             cosemValue);
                 }
                 cosemValueItr++;
+                start = findCosemValue(cosemValueString, end + 1);
             }
         } else {
             throw new ParseException(type + " does not support " + nrOfCosemValues + " items", 0);
         }
     }
 
-    private int countCosemValues(Matcher cosemValueMatcher) {
+    private static int countCosemValues(String cosemValueString) {
         int nrOfCosemValues = 0;
+        int start = findCosemValue(cosemValueString, 0);
 
-        while (cosemValueMatcher.find()) {
+        while (start >= 0) {
             nrOfCosemValues++;
+            start = findCosemValue(cosemValueString, cosemValueString.indexOf(')', start) + 1);
         }
-        // We need the matcher again, reset to initial state
-        cosemValueMatcher.reset();
         return nrOfCosemValues;
     }
+
+    /**
+     * Finds the next value enclosed in parentheses. A value can't contain parentheses itself.
+     *
+     * @param cosemValueString the List of COSEM String values
+     * @param fromIndex the index to start the search from
+     * @return the index of the opening parenthesis of the next value or -1 if there are no more values
+     */
+    private static int findCosemValue(String cosemValueString, int fromIndex) {
+        int start = -1;
+
+        for (int i = fromIndex; i < cosemValueString.length(); i++) {
+            final char c = cosemValueString.charAt(i);
+
+            if (c == '(') {
+                start = i;
+            } else if (c == ')' && start >= 0) {
+                return start;
+            }
+        }
+        return -1;
+    }
 }
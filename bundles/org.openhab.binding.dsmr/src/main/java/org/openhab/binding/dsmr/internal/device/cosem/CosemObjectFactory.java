@@ -14,9 +14,8 @@ package org.openhab.binding.dsmr.internal.device.cosem;
 
 import java.text.ParseException;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -33,94 +32,136 @@ public class CosemObjectFactory {
     private final Logger logger = LoggerFactory.getLogger(CosemObjectFactory.class);
 
     /**
-     * Lookup cache for fixed OBIS Identifiers
+     * Lookup tree of the OBIS Identifiers of all CosemObjectTypes. The levels of the tree are the groups A, C, D and E
+     * of the OBIS Identifier.
      */
-    private final Map<OBISIdentifier, CosemObjectType> obisLookupTableFixed = new HashMap<>();
+    private final OBISNode lookupTree = new OBISNode();
 
     /**
-     * Lookup cache for fixed OBIS Identifiers that has the same id for different data types
+     * Group values of the OBIS Identifier currently looked up, reused for every lookup
      */
-    private final Map<OBISIdentifier, List<CosemObjectType>> obisLookupTableMultipleFixed = new HashMap<>();
+    private final int[] groups = new int[OBISIdentifier.NR_OF_GROUPS];
+
+    /**
+     * Node of the lookup tree. The children are kept in a small array as the number of different values per group is
+     * small. Nodes on the E level hold the CosemObjectTypes.
+     */
+    private static class OBISNode {
+        private int[] keys = new int[0];
+        private OBISNode[] children = new OBISNode[0];
+
+        /**
+         * CosemObjectType with a unique OBIS Identifier
+         */
+        private @Nullable CosemObjectType fixedType;
+
+        /**
+         * CosemObjectTypes that have the same OBIS Identifier for different data types
+         */
+        private final List<CosemObjectType> multipleFixedTypes = new ArrayList<>();
+
+        private @Nullable OBISNode get(int key) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == key) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private OBISNode getOrAdd(int key) {
+            OBISNode child = get(key);
+            if (child == null) {
+                child = new OBISNode();
+                keys = Arrays.copyOf(keys, keys.length + 1);
+                children = Arrays.copyOf(children, children.length + 1);
+                keys[keys.length - 1] = key;
+                children[children.length - 1] = child;
+            }
+            return child;
+        }
+    }
 
     /**
      * Creates a new CosemObjectFactory
      */
     public CosemObjectFactory() {
         /*
-         * Fill lookup tables. There are 3 entities:
-         * - obisLookupTableFixed. This lookup table contains all CosemObjectType with a fixed OBISIdentifier
-         * (i.e. groupA != null && groupB != null && groupC != null).
-         * - obisLookupTableDynamic. This lookup table contains all CosemObjectType with a wildcard OBISIdentifier
-         * (i.e. groupA == null || groupB == null || groupC == null). This lookuptable will be filled
-         * dynamically with unique wildcard OBISIdentifiers when values are received and matches a particular real
-         * device (if the device is changed, this lookupTable must be cleared by removing the corresponding DSMRDevice
-         * Thing from the configuration.)
-         * - obisWildCardCosemTypeList. This is the list of all wild card Cosem Object types. Multiple Cosem Object
-         * Types can have the same wild card OBISIdentifer.
-         *
-         * To facilitate autodiscovery the list has all supported CosemObjectTypes. To improve performance once the
-         * correct OBISIdentifier is discovered for a certain OBISMsgType this is added to the obisLookupTableDynamic.
+         * Fill the lookup tree with all CosemObjectTypes. Types with an OBIS Identifier that is used for different
+         * data types (conflict) are stored in a list and are tried one after another. A CosemObjectType with a group E
+         * of null matches every group E value of a received OBIS Identifier, which isn't found with its group E value.
          */
         for (CosemObjectType msgType : CosemObjectType.values()) {
-            if (msgType.obisId.isConflict()) {
-                obisLookupTableMultipleFixed.computeIfAbsent(msgType.obisId, r -> new ArrayList<>()).add(msgType);
+            OBISIdentifier obisId = msgType.obisId;
+            Integer groupE = obisId.getGroupE();
+            OBISNode node = lookupTree.getOrAdd(obisId.getGroupA()).getOrAdd(obisId.getGroupC())
+                    .getOrAdd(obisId.getGroupD()).getOrAdd(groupE == null ? OBISIdentifier.NOT_PRESENT : groupE);
+
+            if (obisId.isConflict()) {
+                node.multipleFixedTypes.add(msgType);
             } else {
-                obisLookupTableFixed.put(msgType.obisId, msgType);
+                node.fixedType = msgType;
             }
         }
     }
 
     /**
      * Return Cosem Object from specified string or null if string couldn't be
-     * parsed correctly or no corresponding Cosem Object was found
+     * parsed correctly or no corresponding Cosem Object was found.
+     *
+     * This method is not thread-safe, the OBIS Identifier is parsed into a buffer that is reused for every call.
      *
      * @param obisIdString String containing the OBIS message identifier
      * @param cosemStringValues String containing Cosem values
      * @return CosemObject or null if parsing failed
      */
-    public @Nullable CosemObject getCosemObject(String obisIdString, String cosemStringValues) {
-        OBISIdentifier obisId;
-        OBISIdentifier reducedObisId;
-        OBISIdentifier reducedObisIdGroupE;
-
-        try {
-            obisId = new OBISIdentifier(obisIdString);
-            reducedObisId = obisId.getReducedOBISIdentifier();
-            reducedObisIdGroupE = obisId.getReducedOBISIdentifierGroupE();
-        } catch (final ParseException pe) {
+    public @Nullable CosemObject getCosemObject(CharSequence obisIdString, CharSequence cosemStringValues) {
+        if (!OBISIdentifier.parse(obisIdString, groups)) {
             logger.debug("Received invalid OBIS identifier: {}", obisIdString);
             return null;
         }
 
-        logger.trace("Received obisIdString {}, obisId: {}, values: {}", obisIdString, obisId, cosemStringValues);
+        OBISNode groupDNode = lookup(groups[OBISIdentifier.GROUP_A], groups[OBISIdentifier.GROUP_C],
+                groups[OBISIdentifier.GROUP_D]);
+        OBISNode node = groupDNode == null ? null : groupDNode.get(groups[OBISIdentifier.GROUP_E]);
 
-        CosemObjectType objectType = obisLookupTableFixed.get(reducedObisId);
-        if (objectType != null) {
-            logger.trace("Found obisId {} in the fixed lookup table", reducedObisId);
-            return getCosemObjectInternal(objectType, obisId, cosemStringValues);
-        }
+        if (node != null) {
+            CosemObjectType objectType = node.fixedType;
+            if (objectType != null) {
+                logger.trace("Found obisId {} in the fixed lookup table", obisIdString);
+                return getCosemObjectInternal(objectType, new OBISIdentifier(groups), cosemStringValues.toString());
+            }
 
-        List<CosemObjectType> objectTypeList = obisLookupTableMultipleFixed.get(reducedObisId);
-        if (objectTypeList != null) {
-            for (CosemObjectType cosemObjectType : objectTypeList) {
-                CosemObject cosemObject = getCosemObjectInternal(cosemObjectType, obisId, cosemStringValues);
-                if (cosemObject != null) {
-                    logger.trace("Found obisId {} in the fixed lookup table", reducedObisId);
-                    return cosemObject;
+            if (!node.multipleFixedTypes.isEmpty()) {
+                OBISIdentifier obisId = new OBISIdentifier(groups);
+                String values = cosemStringValues.toString();
+                for (CosemObjectType cosemObjectType : node.multipleFixedTypes) {
+                    CosemObject cosemObject = getCosemObjectInternal(cosemObjectType, obisId, values);
+                    if (cosemObject != null) {
+                        logger.trace("Found obisId {} in the fixed lookup table", obisIdString);
+                        return cosemObject;
+                    }
                 }
             }
         }
 
-        objectType = obisLookupTableFixed.get(reducedObisIdGroupE);
+        node = groupDNode == null ? null : groupDNode.get(OBISIdentifier.NOT_PRESENT);
+        CosemObjectType objectType = node == null ? null : node.fixedType;
         if (objectType != null) {
-            return getCosemObjectInternal(objectType, obisId, cosemStringValues);
+            return getCosemObjectInternal(objectType, new OBISIdentifier(groups), cosemStringValues.toString());
         }
 
-        logger.debug("Received unknown Cosem Object(OBIS id: {})", obisId);
+        logger.debug("Received unknown Cosem Object(OBIS id: {})", obisIdString);
 
         return null;
     }
 
+    private @Nullable OBISNode lookup(int groupA, int groupC, int groupD) {
+        OBISNode node = lookupTree.get(groupA);
+        node = node == null ? null : node.get(groupC);
+        return node == null ? null : node.get(groupD);
+    }
+
     /**
      * Constructs a CosemObject from the given type, OBISIdentifier and the values
      *
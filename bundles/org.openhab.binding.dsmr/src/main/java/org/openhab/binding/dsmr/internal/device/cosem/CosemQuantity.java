@@ -12,6 +12,7 @@
  */
 package org.openhab.binding.dsmr.internal.device.cosem;
 
+import java.math.BigDecimal;
 import java.text.ParseException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -71,6 +72,11 @@ class CosemQuantity<Q extends @Nullable Quantity<Q>> extends CosemValueDescripto
      */
     private final Unit<Q> unit;
 
+    /**
+     * Symbol of the unit as used in the telegrams
+     */
+    private final String unitSymbol;
+
     /**
      * Creates a new {@link CosemDouble}.
      *
@@ -89,6 +95,7 @@ class CosemQuantity<Q extends @Nullable Quantity<Q>> extends CosemValueDescripto
     public CosemQuantity(Unit<Q> unit, String channelId) {
         super(channelId);
         this.unit = unit;
+        this.unitSymbol = unit.toString().replace("m³", "m3");
     }
 
     /**
@@ -100,6 +107,10 @@ class CosemQuantity<Q extends @Nullable Quantity<Q>> extends CosemValueDescripto
      */
     @Override
     protected QuantityType<Q> getStateValue(String cosemValue) throws ParseException {
+        final @Nullable QuantityType<Q> value = parseWithExpectedUnit(cosemValue);
+        if (value != null) {
+            return value;
+        }
         try {
             final QuantityType<Q> it = new QuantityType<>(prepare(cosemValue));
             final @Nullable QuantityType<Q> qt = it.toUnit(unit);
@@ -113,6 +124,38 @@ class CosemQuantity<Q extends @Nullable Quantity<Q>> extends CosemValueDescripto
         }
     }
 
+    /**
+     * Parses the value directly if it is a number followed by the unit of this CosemQuantity, which is the case for
+     * almost all values. Other values are parsed by {@link QuantityType}.
+     *
+     * @param cosemValue the value to parse
+     * @return {@link QuantityType} or null if the value doesn't have the expected format
+     */
+    private @Nullable QuantityType<Q> parseWithExpectedUnit(String cosemValue) {
+        final int length = cosemValue.length();
+        int numberEnd = 0;
+
+        while (numberEnd < length
+                && (Character.isDigit(cosemValue.charAt(numberEnd)) || cosemValue.charAt(numberEnd) == '.')) {
+            numberEnd++;
+        }
+        if (numberEnd == 0 || numberEnd == length) {
+            return null;
+        }
+        final char separator = cosemValue.charAt(numberEnd);
+        final int unitStart = separator == '*' || separator == '_' ? numberEnd + 1 : numberEnd;
+
+        if (length - unitStart != unitSymbol.length()
+                || !cosemValue.regionMatches(true, unitStart, unitSymbol, 0, unitSymbol.length())) {
+            return null;
+        }
+        try {
+            return new QuantityType<>(new BigDecimal(cosemValue.substring(0, numberEnd)), unit);
+        } catch (final NumberFormatException e) {
+            return null;
+        }
+    }
+
     /**
      * Check if COSEM value has a unit, check and parse the value. We assume here numbers (float or integers)
      * The specification states that the delimiter between the value and the unit is a '*'-character.
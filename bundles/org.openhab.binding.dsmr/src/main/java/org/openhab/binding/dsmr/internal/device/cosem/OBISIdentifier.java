@@ -13,9 +13,8 @@
 package org.openhab.binding.dsmr.internal.device.cosem;
 
 import java.text.ParseException;
+import java.util.Arrays;
 import java.util.Objects;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -29,14 +28,25 @@ import org.eclipse.jdt.annotation.Nullable;
 @NonNullByDefault
 public class OBISIdentifier {
     /**
-     * String representing a-channel:c.d.e.f OBIS ID
+     * Index of the groups in the array filled by {@link #parse(CharSequence, int[])}
      */
-    private static final String OBISID_REGEX = "((\\d+)\\-)?((\\d+):)?((\\d+)\\.)(\\d+)(\\.(\\d+))?(.(\\d+))?";
+    static final int GROUP_A = 0;
+    static final int CHANNEL = 1;
+    static final int GROUP_C = 2;
+    static final int GROUP_D = 3;
+    static final int GROUP_E = 4;
+    static final int GROUP_F = 5;
+    static final int NR_OF_GROUPS = 6;
 
     /**
-     * OBIS ID pattern
+     * Value in the array filled by {@link #parse(CharSequence, int[])} for a group that is not present
      */
-    private static final Pattern OBIS_ID_PATTERN = Pattern.compile(OBISID_REGEX);
+    static final int NOT_PRESENT = -1;
+
+    /**
+     * Maximum number of digits of a group value, longer values are not valid
+     */
+    private static final int MAX_GROUP_DIGITS = 6;
 
     /* the six individual group values of the OBIS ID */
     private final int groupA;
@@ -48,6 +58,8 @@ public class OBISIdentifier {
 
     private boolean conflict;
 
+    private @Nullable OBISIdentifier reducedOBISIdentifier;
+
     /**
      * Constructs a new OBIS Identifier (A-x:C.D.E.x)
      *
@@ -80,6 +92,20 @@ public class OBISIdentifier {
         this.conflict = conflict;
     }
 
+    /**
+     * Constructs a new OBIS Identifier from the groups filled by {@link #parse(CharSequence, int[])}
+     *
+     * @param groups the group values, {@link #NOT_PRESENT} for the optional groups that are not present
+     */
+    OBISIdentifier(final int[] groups) {
+        this.groupA = groups[GROUP_A];
+        this.channel = groups[CHANNEL] == NOT_PRESENT ? null : Integer.valueOf(groups[CHANNEL]);
+        this.groupC = groups[GROUP_C];
+        this.groupD = groups[GROUP_D];
+        this.groupE = groups[GROUP_E] == NOT_PRESENT ? null : Integer.valueOf(groups[GROUP_E]);
+        this.groupF = groups[GROUP_F] == NOT_PRESENT ? null : Integer.valueOf(groups[GROUP_F]);
+    }
+
     /**
      * Creates a new {@link OBISIdentifier} of the specified String
      *
@@ -87,27 +113,78 @@ public class OBISIdentifier {
      * @throws ParseException if obisIDString is not a valid OBIS Identifier
      */
     public OBISIdentifier(final String obisIDString) throws ParseException {
-        final Matcher m = OBIS_ID_PATTERN.matcher(obisIDString);
+        this(parseGroups(obisIDString));
+    }
 
-        if (m.matches()) {
-            // Optional value A
-            this.groupA = m.group(2) == null ? null : Integer.parseInt(m.group(2));
+    private static int[] parseGroups(final String obisIDString) throws ParseException {
+        final int[] groups = new int[NR_OF_GROUPS];
 
-            // Optional value B
-            this.channel = m.group(4) == null ? null : Integer.valueOf(m.group(4));
+        if (!parse(obisIDString, groups)) {
+            throw new ParseException("Invalid OBIS identifier:" + obisIDString, 0);
+        }
+        return groups;
+    }
 
-            // Required value C & D
-            this.groupC = Integer.parseInt(m.group(6));
-            this.groupD = Integer.parseInt(m.group(7));
+    /**
+     * Parses an OBIS identifier of the form a-channel:c.d.e*f, where a, channel, e and f are optional, without
+     * creating objects. Any character is accepted as separator before f.
+     *
+     * @param obisId the OBIS identifier to parse
+     * @param groups array of {@link #NR_OF_GROUPS} receiving the group values, {@link #NOT_PRESENT} for optional
+     *            groups that are not present
+     * @return true if obisId is a valid OBIS identifier
+     */
+    static boolean parse(final CharSequence obisId, final int[] groups) {
+        Arrays.fill(groups, NOT_PRESENT);
+        final int length = obisId.length();
+        int i = 0;
+        int group = GROUP_A;
 
-            // Optional value E
-            this.groupE = m.group(9) == null ? null : Integer.valueOf(m.group(9));
+        while (i < length) {
+            // read the value
+            int value = 0;
+            int digits = 0;
+            while (i < length && Character.isDigit(obisId.charAt(i))) {
+                value = value * 10 + (obisId.charAt(i) - '0');
+                digits++;
+                i++;
+            }
+            if (digits == 0 || digits > MAX_GROUP_DIGITS) {
+                return false;
+            }
+            final char separator = i < length ? obisId.charAt(i++) : 0;
+            if (separator != 0 && i == length) {
+                // the identifier must end with a value
+                return false;
+            }
 
-            // Optional value F
-            this.groupF = m.group(11) == null ? null : Integer.valueOf(m.group(11));
-        } else {
-            throw new ParseException("Invalid OBIS identifier:" + obisIDString, 0);
+            // the separator following the value determines the group of the value
+            if (group == GROUP_A && separator == '-') {
+                groups[GROUP_A] = value;
+                group = CHANNEL;
+            } else if (group <= CHANNEL && separator == ':') {
+                groups[CHANNEL] = value;
+                group = GROUP_C;
+            } else if (group <= GROUP_C) {
+                if (separator != '.') {
+                    return false;
+                }
+                groups[GROUP_C] = value;
+                group = GROUP_D;
+            } else if (group == GROUP_D) {
+                groups[GROUP_D] = value;
+                group = separator == '.' ? GROUP_E : GROUP_F;
+            } else if (group == GROUP_E) {
+                groups[GROUP_E] = value;
+                group = GROUP_F;
+            } else if (group == GROUP_F && separator == 0) {
+                groups[GROUP_F] = value;
+            } else {
+                return false;
+            }
         }
+        // group A is not optional for this binding, group C and D are required
+        return groups[GROUP_A] != NOT_PRESENT && groups[GROUP_D] != NOT_PRESENT;
     }
 
     public boolean isConflict() {
@@ -240,7 +317,12 @@ public class OBISIdentifier {
      * @return reduced OBIS Identifier
      */
     public OBISIdentifier getReducedOBISIdentifier() {
-        return new OBISIdentifier(groupA, groupC, groupD, groupE);
+        OBISIdentifier reduced = reducedOBISIdentifier;
+        if (reduced == null) {
+            reduced = new OBISIdentifier(groupA, groupC, groupD, groupE);
+            reducedOBISIdentifier = reduced;
+        }
+        return reduced;
     }
 
     /**
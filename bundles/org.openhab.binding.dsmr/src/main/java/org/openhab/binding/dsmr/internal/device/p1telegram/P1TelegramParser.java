@@ -18,7 +18,6 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map.Entry;
-import java.util.regex.Pattern;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.binding.dsmr.internal.device.cosem.CosemObject;
@@ -60,9 +59,9 @@ public class P1TelegramParser implements TelegramParser {
     }
 
     /**
-     * Pattern for the CRC-code
+     * Number of hexadecimal digits of the CRC-code
      */
-    private static final String CRC_PATTERN = "[0-9A-Z]{4}";
+    private static final int CRC_LENGTH = 4;
 
     private final Logger logger = LoggerFactory.getLogger(P1TelegramParser.class);
 
@@ -160,19 +159,18 @@ public class P1TelegramParser implements TelegramParser {
      */
     @Override
     public void parse(byte[] data, int length) {
-        if (lenientMode || logger.isTraceEnabled()) {
-            final String rawBlock = new String(data, 0, length, StandardCharsets.UTF_8);
-
-            if (lenientMode) {
-                rawData.append(rawBlock);
-            }
-            if (logger.isTraceEnabled()) {
-                logger.trace("Raw data: {}, Parser state entering parseData: {}", rawBlock, state);
-            }
+        if (logger.isTraceEnabled()) {
+            logger.trace("Raw data: {}, Parser state entering parseData: {}",
+                    new String(data, 0, length, StandardCharsets.UTF_8), state);
         }
         for (int i = 0; i < length; i++) {
             final char c = (char) data[i];
 
+            if (lenientMode) {
+                // P1 telegrams only contain ASCII characters
+                rawData.append(c);
+            }
+
             switch (state) {
                 case WAIT_FOR_START:
                     if (c == '/') {
@@ -278,8 +276,9 @@ public class P1TelegramParser implements TelegramParser {
     private TelegramState checkCRC(TelegramState currentState) {
         final TelegramState telegramState;
 
-        if (Pattern.matches(CRC_PATTERN, crcValue)) {
-            final int crcP1Telegram = Integer.parseInt(crcValue.toString(), 16);
+        final int crcP1Telegram = parseCRC();
+
+        if (crcP1Telegram >= 0) {
             final int calculatedCRC = crc.getCurrentCRCCode();
 
             if (logger.isDebugEnabled()) {
@@ -303,6 +302,25 @@ public class P1TelegramParser implements TelegramParser {
         return telegramState;
     }
 
+    /**
+     * @return the received CRC value or -1 if it isn't a valid CRC value of 4 hexadecimal digits
+     */
+    private int parseCRC() {
+        if (crcValue.length() != CRC_LENGTH) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = 0; i < CRC_LENGTH; i++) {
+            final int digit = Character.digit(crcValue.charAt(i), 16);
+
+            if (digit < 0 || Character.isLowerCase(crcValue.charAt(i))) {
+                return -1;
+            }
+            value = (value << 4) | digit;
+        }
+        return value;
+    }
+
     private P1Telegram constructTelegram() {
         final List<CosemObject> cosemObjectsCopy = new ArrayList<>(cosemObjects);
 
@@ -398,15 +416,12 @@ public class P1TelegramParser implements TelegramParser {
      * Store the current CosemObject in the list of received cosem Objects
      */
     private void storeCurrentCosemObject() {
-        final String obisIdString = obisId.toString();
-
-        if (!obisIdString.isEmpty()) {
-            final String obisValueString = obisValue.toString();
-            final CosemObject cosemObject = factory.getCosemObject(obisIdString, obisValueString);
+        if (obisId.length() > 0) {
+            final CosemObject cosemObject = factory.getCosemObject(obisId, obisValue);
 
             if (cosemObject == null) {
                 if (lenientMode) {
-                    unknownCosemObjects.add(new SimpleEntry<>(obisIdString, obisValueString));
+                    unknownCosemObjects.add(new SimpleEntry<>(obisId.toString(), obisValue.toString()));
                 }
             } else {
                 logger.trace("Adding {} to list of Cosem Objects", cosemObject);
@@ -0,0 +1,62 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.dsmr.internal.device.cosem;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.text.ParseException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test class for {@link OBISIdentifier}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class OBISIdentifierTest {
+
+    @Test
+    public void testParseFullIdentifier() throws ParseException {
+        final OBISIdentifier obisId = new OBISIdentifier("0-1:24.2.1*255");
+
+        assertEquals(0, obisId.getGroupA());
+        assertEquals(1, obisId.getChannel());
+        assertEquals(24, obisId.getGroupC());
+        assertEquals(2, obisId.getGroupD());
+        assertEquals(1, obisId.getGroupE());
+        assertEquals(new OBISIdentifier(0, 24, 2, 1), obisId.getReducedOBISIdentifier());
+    }
+
+    @Test
+    public void testParseOptionalGroups() throws ParseException {
+        final OBISIdentifier obisId = new OBISIdentifier("1-3:0.2");
+
+        assertEquals(1, obisId.getGroupA());
+        assertEquals(3, obisId.getChannel());
+        assertEquals(0, obisId.getGroupC());
+        assertEquals(2, obisId.getGroupD());
+        assertNull(obisId.getGroupE());
+        assertEquals(new OBISIdentifier(1, 0, 2, null), new OBISIdentifier("1-0.2"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "", "1-0:1", "1-0:1.", "1-0:1.8.", "1.8.0", "1-0:a.8.0", "1-0:1.8.0*255*1",
+            "1-0:1.8.1234567" })
+    public void testInvalidIdentifiers(final String obisIdString) {
+        assertThrows(ParseException.class, () -> new OBISIdentifier(obisIdString));
+    }
+}
@@ -14,16 +14,23 @@ package org.openhab.binding.http.internal;
 
 import static org.openhab.binding.http.internal.HttpBindingConstants.THING_TYPE_URL;
 
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.openhab.binding.http.internal.config.HttpBindingConfig;
+import org.openhab.binding.http.internal.http.HostRateLimiter;
+import org.openhab.binding.http.internal.http.RefreshingUrlCacheRegistry;
 import org.openhab.binding.http.internal.transform.CascadedValueTransformationImpl;
 import org.openhab.binding.http.internal.transform.NoOpValueTransformation;
 import org.openhab.binding.http.internal.transform.ValueTransformation;
 import org.openhab.binding.http.internal.transform.ValueTransformationProvider;
+import org.openhab.core.common.ThreadPoolManager;
+import org.openhab.core.config.core.Configuration;
 import org.openhab.core.io.net.http.HttpClientFactory;
 import org.openhab.core.thing.Thing;
 import org.openhab.core.thing.ThingTypeUID;
@@ -34,6 +41,7 @@ import org.openhab.core.transform.TransformationHelper;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,16 +57,24 @@ import org.slf4j.LoggerFactory;
 public class HttpHandlerFactory extends BaseThingHandlerFactory
         implements ValueTransformationProvider, HttpClientProvider {
     private static final Set<ThingTypeUID> SUPPORTED_THING_TYPES_UIDS = Set.of(THING_TYPE_URL);
+    private static final String THING_HANDLER_THREADPOOL_NAME = "thingHandler";
     private final Logger logger = LoggerFactory.getLogger(HttpHandlerFactory.class);
 
     private final HttpClient secureClient;
     private final HttpClient insecureClient;
 
     private final HttpDynamicStateDescriptionProvider httpDynamicStateDescriptionProvider;
+    private final ScheduledExecutorService scheduler = ThreadPoolManager
+            .getScheduledPool(THING_HANDLER_THREADPOOL_NAME);
+    private final RefreshingUrlCacheRegistry urlCacheRegistry = new RefreshingUrlCacheRegistry(scheduler);
+    private final HostRateLimiter rateLimiter;
 
     @Activate
     public HttpHandlerFactory(@Reference HttpClientFactory httpClientFactory,
-            @Reference HttpDynamicStateDescriptionProvider httpDynamicStateDescriptionProvider) {
+            @Reference HttpDynamicStateDescriptionProvider httpDynamicStateDescriptionProvider,
+            Map<String, Object> config) {
+        this.rateLimiter = new HostRateLimiter(scheduler,
+                new Configuration(config).as(HttpBindingConfig.class).maxConcurrentRequestsPerHost);
         this.secureClient = new HttpClient(new SslContextFactory.Client());
         this.insecureClient = new HttpClient(new SslContextFactory.Client(true));
         try {
@@ -72,8 +88,15 @@ public class HttpHandlerFactory extends BaseThingHandlerFactory
         this.httpDynamicStateDescriptionProvider = httpDynamicStateDescriptionProvider;
     }
 
+    @Modified
+    public void modified(Map<String, Object> config) {
+        rateLimiter.setMaxConcurrentRequests(
+                new Configuration(config).as(HttpBindingConfig.class).maxConcurrentRequestsPerHost);
+    }
+
     @Deactivate
     public void deactivate() {
+        urlCacheRegistry.stop();
         try {
             secureClient.stop();
             insecureClient.stop();
@@ -93,7 +116,8 @@ public class HttpHandlerFactory extends BaseThingHandlerFactory
         ThingTypeUID thingTypeUID = thing.getThingTypeUID();
 
         if (THING_TYPE_URL.equals(thingTypeUID)) {
-            return new HttpThingHandler(thing, this, this, httpDynamicStateDescriptionProvider);
+            return new HttpThingHandler(thing, this, this, httpDynamicStateDescriptionProvider, urlCacheRegistry,
+                    rateLimiter);
         }
 
         return null;
@@ -28,10 +28,26 @@ public class Content {
     private final byte[] rawContent;
     private final Charset encoding;
     private final @Nullable String mediaType;
+    private final @Nullable String eTag;
+    private final @Nullable String lastModified;
+    private final boolean notModified;
 
     public Content(byte[] rawContent, String encoding, @Nullable String mediaType) {
+        this(rawContent, encoding, mediaType, null, null, false);
+    }
+
+    public Content(byte[] rawContent, String encoding, @Nullable String mediaType, @Nullable String eTag,
+            @Nullable String lastModified) {
+        this(rawContent, encoding, mediaType, eTag, lastModified, false);
+    }
+
+    private Content(byte[] rawContent, String encoding, @Nullable String mediaType, @Nullable String eTag,
+            @Nullable String lastModified, boolean notModified) {
         this.rawContent = rawContent;
         this.mediaType = mediaType;
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+        this.notModified = notModified;
 
         Charset finalEncoding = StandardCharsets.UTF_8;
         try {
@@ -52,4 +68,30 @@ public class Content {
     public @Nullable String getMediaType() {
         return mediaType;
     }
+
+    public @Nullable String getETag() {
+        return eTag;
+    }
+
+    public @Nullable String getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Check if this is the response to a conditional request for a resource that has not been modified
+     *
+     * @return true if the server responded with 304 (Not Modified), the content is empty in that case
+     */
+    public boolean isNotModified() {
+        return notModified;
+    }
+
+    /**
+     * Create the content for a 304 (Not Modified) response
+     *
+     * @return an empty content that is marked as not modified
+     */
+    public static Content notModified() {
+        return new Content(new byte[0], StandardCharsets.UTF_8.name(), null, null, null, true);
+    }
 }
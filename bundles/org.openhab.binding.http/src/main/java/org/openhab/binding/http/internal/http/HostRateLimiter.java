@@ -0,0 +1,288 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http.internal.http;
+
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link HostRateLimiter} limits the requests of all things to a host. Requests to a host are started with at
+ * least the largest delay configured by the things requesting this host and only a limited number of requests to a
+ * host may run at the same time. Waiting requests are queued per thing and started round-robin, so a thing with many
+ * requests cannot block the requests of other things. Requests to a host without a delay or a limit of concurrent
+ * requests are started directly.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class HostRateLimiter {
+    static final int MAX_QUEUE_SIZE = 1000; // maximum queue size per thing and host
+
+    private final Logger logger = LoggerFactory.getLogger(HostRateLimiter.class);
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, Host> hosts = new HashMap<>();
+    private int maxConcurrentRequests;
+
+    public HostRateLimiter(ScheduledExecutorService scheduler, int maxConcurrentRequests) {
+        this.scheduler = scheduler;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    /**
+     * Set the maximum number of concurrent requests per host
+     *
+     * @param maxConcurrentRequests the maximum number, 0 for no limit
+     */
+    public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+        synchronized (hosts) {
+            this.maxConcurrentRequests = maxConcurrentRequests;
+            hosts.values().forEach(this::scheduleDispatch);
+        }
+    }
+
+    /**
+     * Wait for a permit to send a request. The permit has to be returned with {@link #release(URI)} when the request
+     * is complete. If the future is cancelled by the caller before it completes, no permit is taken.
+     *
+     * @param owner the owner of the request (e.g. the thing UID)
+     * @param uri the URI of the request
+     * @param delay the minimum delay in ms between two requests to the host requested by the owner
+     * @return a future that completes when the request may be sent
+     */
+    public CompletableFuture<@Nullable Void> acquire(Object owner, URI uri, int delay) {
+        CompletableFuture<@Nullable Void> future = new CompletableFuture<>();
+        synchronized (hosts) {
+            String hostKey = getHostKey(uri);
+            Host host = hosts.computeIfAbsent(hostKey, Host::new);
+            OwnerQueue queue = host.queues.get(owner);
+            if (queue == null) {
+                queue = new OwnerQueue();
+                host.queues.put(owner, queue);
+                // the owner that was served last is at the end of the ring, a new owner is served next
+                host.ring.addFirst(queue);
+            }
+            queue.delay = delay;
+            if (queue.requests.size() >= MAX_QUEUE_SIZE) {
+                host.rejected++;
+                logger.debug("Rejected request to {}, {} requests rejected in total", hostKey, host.rejected);
+                future.completeExceptionally(new RejectedExecutionException("Maximum queue size exceeded."));
+                return future;
+            }
+            long now = System.nanoTime();
+            if (maxConcurrentRequests <= 0 && host.getDelay() == 0 && now >= host.nextRequestTime
+                    && !host.hasWaitingRequests()) {
+                // the host has no limit, the request is started directly instead of handing it over to the scheduler
+                host.nextRequestTime = now;
+                host.running++;
+                host.started++;
+            } else {
+                queue.requests.add(new QueueEntry(future, queue));
+                dispatch(host);
+                return future;
+            }
+        }
+        // complete outside of the lock, so the request is not sent while holding it
+        future.complete(null);
+        return future;
+    }
+
+    /**
+     * Return the permit of a completed request
+     *
+     * @param uri the URI of the request
+     */
+    public void release(URI uri) {
+        release(getHostKey(uri));
+    }
+
+    private void release(String hostKey) {
+        synchronized (hosts) {
+            Host host = hosts.get(hostKey);
+            if (host != null) {
+                host.running = Math.max(0, host.running - 1);
+                dispatch(host);
+            }
+        }
+    }
+
+    /**
+     * Cancel all waiting requests of an owner
+     *
+     * @param owner the owner of the requests
+     */
+    public void cancel(Object owner) {
+        synchronized (hosts) {
+            Iterator<Host> iterator = hosts.values().iterator();
+            while (iterator.hasNext()) {
+                Host host = iterator.next();
+                OwnerQueue queue = host.queues.remove(owner);
+                if (queue != null) {
+                    // requests of the owner that were already taken from the queue are not started either
+                    queue.cancelled = true;
+                    host.ring.remove(queue);
+                    queue.requests.forEach(entry -> entry.future.completeExceptionally(new CancellationException()));
+                }
+                if (host.queues.isEmpty() && host.running == 0) {
+                    stopDispatchJob(host);
+                    iterator.remove();
+                } else {
+                    dispatch(host);
+                }
+            }
+        }
+    }
+
+    private void dispatch(Host host) {
+        while ((maxConcurrentRequests <= 0 || host.running < maxConcurrentRequests) && host.hasWaitingRequests()) {
+            long now = System.nanoTime();
+            if (now < host.nextRequestTime) {
+                scheduleDispatch(host);
+                return;
+            }
+            QueueEntry entry = host.poll();
+            if (entry == null) {
+                return;
+            }
+            if (entry.future.isDone()) {
+                // cancelled by the caller while waiting
+                continue;
+            }
+            host.nextRequestTime = now + TimeUnit.MILLISECONDS.toNanos(host.getDelay());
+            host.running++;
+            host.waitTime += now - entry.queuedTime;
+            host.started++;
+            if (logger.isTraceEnabled()) {
+                logger.trace("Starting request to {} after {} ms (average wait {} ms, {} running)", host.key,
+                        TimeUnit.NANOSECONDS.toMillis(now - entry.queuedTime),
+                        TimeUnit.NANOSECONDS.toMillis(host.waitTime / host.started), host.running);
+            }
+            // complete asynchronously, so the request is not sent while holding the lock
+            try {
+                scheduler.execute(() -> {
+                    if (entry.queue.cancelled) {
+                        entry.future.completeExceptionally(new CancellationException());
+                    }
+                    if (!entry.future.complete(null)) {
+                        // cancelled in the meantime, the permit is not used
+                        release(host.key);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                host.running--;
+                entry.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    private void scheduleDispatch(Host host) {
+        ScheduledFuture<?> dispatchJob = host.dispatchJob;
+        if (dispatchJob == null || dispatchJob.isDone()) {
+            long delay = Math.max(0, host.nextRequestTime - System.nanoTime());
+            host.dispatchJob = scheduler.schedule(() -> {
+                synchronized (hosts) {
+                    dispatch(host);
+                }
+            }, delay, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void stopDispatchJob(Host host) {
+        ScheduledFuture<?> dispatchJob = host.dispatchJob;
+        if (dispatchJob != null) {
+            dispatchJob.cancel(false);
+            host.dispatchJob = null;
+        }
+    }
+
+    private String getHostKey(URI uri) {
+        return uri.getHost() + ":" + uri.getPort();
+    }
+
+    private static class Host {
+        private final String key;
+        private final Map<Object, OwnerQueue> queues = new HashMap<>();
+        private final Deque<OwnerQueue> ring = new ArrayDeque<>();
+        private @Nullable ScheduledFuture<?> dispatchJob;
+        private long nextRequestTime = System.nanoTime();
+        private int running;
+        private long started;
+        private long waitTime;
+        private long rejected;
+
+        public Host(String key) {
+            this.key = key;
+        }
+
+        /**
+         * Get the largest delay of the owners requesting this host
+         */
+        public long getDelay() {
+            return queues.values().stream().mapToLong(q -> q.delay).max().orElse(0);
+        }
+
+        public boolean hasWaitingRequests() {
+            return queues.values().stream().anyMatch(queue -> !queue.requests.isEmpty());
+        }
+
+        /**
+         * Get the next waiting request, taking turns between the owners
+         */
+        public @Nullable QueueEntry poll() {
+            for (int i = 0; i < ring.size(); i++) {
+                OwnerQueue queue = ring.poll();
+                if (queue == null) {
+                    return null;
+                }
+                ring.add(queue);
+                QueueEntry entry = queue.requests.poll();
+                if (entry != null) {
+                    return entry;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static class OwnerQueue {
+        private final Queue<QueueEntry> requests = new ArrayDeque<>();
+        private int delay;
+        private volatile boolean cancelled;
+    }
+
+    private static class QueueEntry {
+        private final CompletableFuture<@Nullable Void> future;
+        private final OwnerQueue queue;
+        private final long queuedTime = System.nanoTime();
+
+        public QueueEntry(CompletableFuture<@Nullable Void> future, OwnerQueue queue) {
+            this.future = future;
+            this.queue = queue;
+        }
+    }
+}
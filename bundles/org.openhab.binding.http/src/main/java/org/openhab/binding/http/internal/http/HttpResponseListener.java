@@ -24,6 +24,8 @@ import org.eclipse.jetty.client.api.Response;
 import org.eclipse.jetty.client.api.Result;
 import org.eclipse.jetty.client.util.BufferingResponseListener;
 import org.eclipse.jetty.http.HttpField;
+import org.eclipse.jetty.http.HttpFields;
+import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -66,9 +68,16 @@ public class HttpResponseListener extends BufferingResponseListener {
             future.complete(null);
         } else if (HttpStatus.isSuccess(response.getStatus())) {
             String encoding = Objects.requireNonNullElse(getEncoding(), fallbackEncoding);
-            future.complete(new Content(getContent(), encoding, getMediaType()));
+            HttpFields headers = response.getHeaders();
+            future.complete(new Content(getContent(), encoding, getMediaType(), headers.get(HttpHeader.ETAG),
+                    headers.get(HttpHeader.LAST_MODIFIED)));
         } else {
             switch (response.getStatus()) {
+                case HttpStatus.NOT_MODIFIED_304:
+                    logger.trace("Requesting '{}' (method='{}', content='{}'): not modified", request.getURI(),
+                            request.getMethod(), request.getContent());
+                    future.complete(Content.notModified());
+                    break;
                 case HttpStatus.UNAUTHORIZED_401:
                     logger.debug("Requesting '{}' (method='{}', content='{}') failed: Authorization error",
                             request.getURI(), request.getMethod(), request.getContent());
@@ -15,47 +15,44 @@ package org.openhab.binding.http.internal.http;
 import java.net.URI;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.RejectedExecutionException;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.client.api.AuthenticationStore;
 import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.client.api.Response;
 import org.eclipse.jetty.client.util.StringContentProvider;
 import org.eclipse.jetty.http.HttpMethod;
 
 /**
  * The {@link RateLimitedHttpClient} is a wrapper for a Jetty HTTP client that limits the number of requests by delaying
- * the request creation
+ * sending the requests. The limits are applied per host by the {@link HostRateLimiter} shared by all things.
  *
  * @author Jan N. Klug - Initial contribution
  */
 @NonNullByDefault
 public class RateLimitedHttpClient {
-    private static final int MAX_QUEUE_SIZE = 1000; // maximum queue size
     private HttpClient httpClient;
     private int delay = 0; // in ms
-    private final ScheduledExecutorService scheduler;
-    private final LinkedBlockingQueue<RequestQueueEntry> requestQueue = new LinkedBlockingQueue<>(MAX_QUEUE_SIZE);
+    private final HostRateLimiter rateLimiter;
+    private final Object owner;
+    // incremented on shutdown, requests of an earlier generation are not sent anymore
+    private volatile int generation = 0;
 
-    private @Nullable ScheduledFuture<?> processJob;
-
-    public RateLimitedHttpClient(HttpClient httpClient, ScheduledExecutorService scheduler) {
+    public RateLimitedHttpClient(HttpClient httpClient, HostRateLimiter rateLimiter, Object owner) {
         this.httpClient = httpClient;
-        this.scheduler = scheduler;
+        this.rateLimiter = rateLimiter;
+        this.owner = owner;
     }
 
     /**
-     * Stop processing the queue and clear it
+     * Cancel all waiting requests
      */
     public void shutdown() {
-        stopProcessJob();
-        requestQueue.forEach(queueEntry -> queueEntry.future.completeExceptionally(new CancellationException()));
+        generation++;
+        rateLimiter.cancel(owner);
     }
 
     /**
@@ -68,10 +65,15 @@ public class RateLimitedHttpClient {
             throw new IllegalArgumentException("Delay needs to be larger or equal to zero");
         }
         this.delay = delay;
-        stopProcessJob();
-        if (delay != 0) {
-            processJob = scheduler.scheduleWithFixedDelay(this::processQueue, 0, delay, TimeUnit.MILLISECONDS);
-        }
+    }
+
+    /**
+     * Get the delay
+     *
+     * @return delay in ms between to requests
+     */
+    public int getDelay() {
+        return delay;
     }
 
     /**
@@ -84,25 +86,53 @@ public class RateLimitedHttpClient {
     }
 
     /**
-     * Create a new request to the given URL respecting rate-limits
+     * Create a new request to the given URL. The rate-limits are applied when the request is sent with
+     * {@link #send(Request, Response.CompleteListener)}.
      *
      * @param finalUrl the request URL
      * @param method http request method GET/PUT/POST
      * @param content the content (if method PUT/POST)
-     * @return a CompletableFuture that completes with the request
+     * @return the request
      */
-    public CompletableFuture<Request> newRequest(URI finalUrl, HttpMethod method, String content) {
-        // if no delay is set, return a completed CompletableFuture
-        CompletableFuture<Request> future = new CompletableFuture<>();
-        RequestQueueEntry queueEntry = new RequestQueueEntry(finalUrl, method, content, future);
-        if (delay == 0) {
-            queueEntry.completeFuture(httpClient);
-        } else {
-            if (!requestQueue.offer(queueEntry)) {
-                future.completeExceptionally(new RejectedExecutionException("Maximum queue size exceeded."));
-            }
+    public Request newRequest(URI finalUrl, HttpMethod method, String content) {
+        Request request = httpClient.newRequest(finalUrl).method(method);
+        if (method != HttpMethod.GET && !content.isEmpty()) {
+            request.content(new StringContentProvider(content));
         }
-        return future;
+        return request;
+    }
+
+    /**
+     * Send a request respecting rate-limits. The permit of the rate limiter is taken right before the request is sent
+     * and returned when the request is complete, so requests that are never sent don't hold a permit.
+     *
+     * @param request the request
+     * @param listener the listener for the response
+     * @return a CompletableFuture that completes when the request was sent
+     */
+    public CompletableFuture<@Nullable Void> send(Request request, Response.CompleteListener listener) {
+        URI uri = request.getURI();
+        int requestGeneration = generation;
+        return rateLimiter.acquire(owner, uri, delay).thenAccept(v -> {
+            AtomicBoolean released = new AtomicBoolean();
+            Runnable release = () -> {
+                if (released.compareAndSet(false, true)) {
+                    rateLimiter.release(uri);
+                }
+            };
+            if (requestGeneration != generation) {
+                // shut down after the permit was handed over
+                release.run();
+                throw new CancellationException();
+            }
+            try {
+                request.onComplete(result -> release.run());
+                request.send(listener);
+            } catch (RuntimeException e) {
+                release.run();
+                throw e;
+            }
+        });
     }
 
     /**
@@ -113,46 +143,4 @@ public class RateLimitedHttpClient {
     public AuthenticationStore getAuthenticationStore() {
         return httpClient.getAuthenticationStore();
     }
-
-    private void stopProcessJob() {
-        ScheduledFuture<?> processJob = this.processJob;
-        if (processJob != null) {
-            processJob.cancel(false);
-            this.processJob = null;
-        }
-    }
-
-    private void processQueue() {
-        RequestQueueEntry queueEntry = requestQueue.poll();
-        if (queueEntry != null) {
-            queueEntry.completeFuture(httpClient);
-        }
-    }
-
-    private static class RequestQueueEntry {
-        private URI finalUrl;
-        private HttpMethod method;
-        private String content;
-        private CompletableFuture<Request> future;
-
-        public RequestQueueEntry(URI finalUrl, HttpMethod method, String content, CompletableFuture<Request> future) {
-            this.finalUrl = finalUrl;
-            this.method = method;
-            this.content = content;
-            this.future = future;
-        }
-
-        /**
-         * complete the future with a request
-         *
-         * @param httpClient the client to create the request
-         */
-        public void completeFuture(HttpClient httpClient) {
-            Request request = httpClient.newRequest(finalUrl).method(method);
-            if (method != HttpMethod.GET && !content.isEmpty()) {
-                request.content(new StringContentProvider(content));
-            }
-            future.complete(request);
-        }
-    }
 }
@@ -15,13 +15,17 @@ package org.openhab.binding.http.internal.http;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -31,6 +35,8 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.api.Authentication;
 import org.eclipse.jetty.client.api.AuthenticationStore;
+import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpMethod;
 import org.openhab.binding.http.internal.Util;
 import org.openhab.binding.http.internal.config.HttpThingConfig;
@@ -39,7 +45,11 @@ import org.slf4j.LoggerFactory;
 
 /**
  * The {@link RefreshingUrlCache} is responsible for requesting from a single URL and passing the content to the
- * channels
+ * channels. It is shared by all things requesting the same URL with the same request configuration and refreshes
+ * with the shortest refresh interval of these things.
+ *
+ * The URL is requested conditionally (If-None-Match/If-Modified-Since) if the server provided an ETag or
+ * Last-Modified header. Consumers are only called if the content has changed.
  *
  * @author Jan N. Klug - Initial contribution
  */
@@ -47,34 +57,35 @@ import org.slf4j.LoggerFactory;
 public class RefreshingUrlCache {
     private final Logger logger = LoggerFactory.getLogger(RefreshingUrlCache.class);
 
+    private final ScheduledExecutorService executor;
     private final String url;
     private final boolean escapedUrl;
-    private final RateLimitedHttpClient httpClient;
     private final int timeout;
     private final int bufferSize;
     private final @Nullable String fallbackEncoding;
-    private final Set<Consumer<Content>> consumers = ConcurrentHashMap.newKeySet();
+    private final Map<Object, Subscription> subscriptions = new ConcurrentHashMap<>();
+    private final Set<Consumer<Content>> newConsumers = ConcurrentHashMap.newKeySet();
     private final List<String> headers;
     private final HttpMethod httpMethod;
     private final String httpContent;
 
-    private final ScheduledFuture<?> future;
-    private @Nullable Content lastContent;
+    private @Nullable ScheduledFuture<?> future;
+    private int refreshInterval = 0;
+    // written by the response thread and read by the refresh thread
+    private volatile @Nullable Content lastContent;
+    private volatile @Nullable URI lastUri;
 
-    public RefreshingUrlCache(ScheduledExecutorService executor, RateLimitedHttpClient httpClient, String url,
-            boolean escapedUrl, HttpThingConfig thingConfig, String httpContent) {
-        this.httpClient = httpClient;
+    public RefreshingUrlCache(ScheduledExecutorService executor, String url, boolean escapedUrl,
+            HttpThingConfig thingConfig, String httpContent) {
+        this.executor = executor;
         this.url = url;
         this.escapedUrl = escapedUrl;
         this.timeout = thingConfig.timeout;
         this.bufferSize = thingConfig.bufferSize;
-        this.headers = thingConfig.headers;
+        this.headers = List.copyOf(thingConfig.headers);
         this.httpMethod = thingConfig.stateMethod;
         this.httpContent = httpContent;
         fallbackEncoding = thingConfig.encoding;
-
-        future = executor.scheduleWithFixedDelay(this::refresh, 1, thingConfig.refresh, TimeUnit.SECONDS);
-        logger.trace("Started refresh task for URL '{}' with interval {}s", url, thingConfig.refresh);
     }
 
     private void refresh() {
@@ -82,10 +93,12 @@ public class RefreshingUrlCache {
     }
 
     private void refresh(boolean isRetry) {
-        if (consumers.isEmpty()) {
+        Subscription subscription = subscriptions.values().stream().findFirst().orElse(null);
+        if (subscription == null) {
             // do not refresh if we don't have listeners
             return;
         }
+        RateLimitedHttpClient httpClient = subscription.httpClient;
 
         // format URL
         try {
@@ -93,65 +106,132 @@ public class RefreshingUrlCache {
             URI uri = escapedUrl ? new URI(url) : Util.uriFromString(url);
             logger.trace("Requesting refresh (retry={}) from '{}' with timeout {}ms", isRetry, uri, timeout);
 
-            httpClient.newRequest(uri, httpMethod, httpContent).thenAccept(request -> {
-                request.timeout(timeout, TimeUnit.MILLISECONDS);
+            Request request = httpClient.newRequest(uri, httpMethod, httpContent);
+            request.timeout(timeout, TimeUnit.MILLISECONDS);
 
-                headers.forEach(header -> {
-                    String[] keyValuePair = header.split("=", 2);
-                    if (keyValuePair.length == 2) {
-                        request.header(keyValuePair[0].trim(), keyValuePair[1].trim());
-                    } else {
-                        logger.warn("Splitting header '{}' failed. No '=' was found. Ignoring", header);
-                    }
-                });
+            headers.forEach(header -> {
+                String[] keyValuePair = header.split("=", 2);
+                if (keyValuePair.length == 2) {
+                    request.header(keyValuePair[0].trim(), keyValuePair[1].trim());
+                } else {
+                    logger.warn("Splitting header '{}' failed. No '=' was found. Ignoring", header);
+                }
+            });
 
-                CompletableFuture<@Nullable Content> response = new CompletableFuture<>();
-                response.exceptionally(e -> {
-                    if (e instanceof HttpAuthException) {
-                        if (isRetry) {
-                            logger.warn("Retry after authentication failure failed again for '{}', failing here", uri);
+            // only request conditionally if the URL did not change (e.g. by a date in the URL)
+            Content lastContent = this.lastContent;
+            if (lastContent != null && uri.equals(lastUri)) {
+                String eTag = lastContent.getETag();
+                if (eTag != null) {
+                    request.header(HttpHeader.IF_NONE_MATCH, eTag);
+                }
+                String lastModified = lastContent.getLastModified();
+                if (lastModified != null) {
+                    request.header(HttpHeader.IF_MODIFIED_SINCE, lastModified);
+                }
+            }
+
+            CompletableFuture<@Nullable Content> response = new CompletableFuture<>();
+            response.exceptionally(e -> {
+                if (e instanceof HttpAuthException) {
+                    if (isRetry) {
+                        logger.warn("Retry after authentication failure failed again for '{}', failing here", uri);
+                    } else {
+                        AuthenticationStore authStore = httpClient.getAuthenticationStore();
+                        Authentication.Result authResult = authStore.findAuthenticationResult(uri);
+                        if (authResult != null) {
+                            authStore.removeAuthenticationResult(authResult);
+                            logger.debug("Cleared authentication result for '{}', retrying immediately", uri);
+                            refresh(true);
                         } else {
-                            AuthenticationStore authStore = httpClient.getAuthenticationStore();
-                            Authentication.Result authResult = authStore.findAuthenticationResult(uri);
-                            if (authResult != null) {
-                                authStore.removeAuthenticationResult(authResult);
-                                logger.debug("Cleared authentication result for '{}', retrying immediately", uri);
-                                refresh(true);
-                            } else {
-                                logger.warn("Could not find authentication result for '{}', failing here", uri);
-                            }
+                            logger.warn("Could not find authentication result for '{}', failing here", uri);
                         }
                     }
-                    return null;
-                }).thenAccept(this::processResult);
-
-                if (logger.isTraceEnabled()) {
-                    logger.trace("Sending to '{}': {}", uri, Util.requestToLogString(request));
-                }
-
-                request.send(new HttpResponseListener(response, fallbackEncoding, bufferSize));
-            }).exceptionally(e -> {
-                if (e instanceof CancellationException) {
-                    logger.debug("Request to URL {} was cancelled by thing handler.", uri);
-                } else {
-                    logger.warn("Request to URL {} failed: {}", uri, e.getMessage());
                 }
                 return null;
-            });
+            }).thenAccept(content -> processResult(uri, content));
+
+            if (logger.isTraceEnabled()) {
+                logger.trace("Sending to '{}': {}", uri, Util.requestToLogString(request));
+            }
+
+            httpClient.send(request, new HttpResponseListener(response, fallbackEncoding, bufferSize))
+                    .exceptionally(e -> {
+                        Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+                        if (cause instanceof CancellationException) {
+                            logger.debug("Request to URL {} was cancelled by thing handler.", uri);
+                        } else {
+                            logger.warn("Request to URL {} failed: {}", uri, cause.getMessage());
+                        }
+                        return null;
+                    });
         } catch (IllegalArgumentException | URISyntaxException | MalformedURLException e) {
             logger.warn("Creating request for '{}' failed: {}", url, e.getMessage());
         }
     }
 
-    public void stop() {
-        // clearing all listeners to prevent further updates
-        consumers.clear();
-        future.cancel(false);
-        logger.trace("Stopped refresh task for URL '{}'", url);
+    /**
+     * Add a consumer for the content of this URL
+     *
+     * @param owner the owner of the consumer (e.g. the thing UID)
+     * @param httpClient the client of the owner, used for requests while the owner is subscribed
+     * @param refresh the refresh interval of the owner in s
+     * @param consumer the consumer
+     */
+    public synchronized void addConsumer(Object owner, RateLimitedHttpClient httpClient, int refresh,
+            Consumer<Content> consumer) {
+        subscriptions.computeIfAbsent(owner, o -> new Subscription(httpClient, refresh)).consumers.add(consumer);
+        // new consumers get the current content with the next refresh, even if it is unchanged
+        newConsumers.add(consumer);
+        reschedule();
     }
 
-    public void addConsumer(Consumer<Content> consumer) {
-        consumers.add(consumer);
+    /**
+     * Remove all consumers of an owner
+     *
+     * @param owner the owner of the consumers
+     * @return true if there are consumers of other owners left
+     */
+    public synchronized boolean removeConsumers(Object owner) {
+        Subscription subscription = subscriptions.remove(owner);
+        if (subscription != null) {
+            newConsumers.removeAll(subscription.consumers);
+        }
+        if (subscriptions.isEmpty()) {
+            stop();
+            return false;
+        }
+        reschedule();
+        return true;
+    }
+
+    private void reschedule() {
+        int refresh = subscriptions.values().stream().mapToInt(s -> s.refresh).min().orElse(0);
+        if (refresh == refreshInterval) {
+            return;
+        }
+        ScheduledFuture<?> future = this.future;
+        long initialDelay = 1;
+        if (future != null) {
+            future.cancel(false);
+            initialDelay = Math.max(0, Math.min(refresh, future.getDelay(TimeUnit.SECONDS)));
+        }
+        refreshInterval = refresh;
+        this.future = executor.scheduleWithFixedDelay(this::refresh, initialDelay, refresh, TimeUnit.SECONDS);
+        logger.trace("Started refresh task for URL '{}' with interval {}s", url, refresh);
+    }
+
+    public synchronized void stop() {
+        // clearing all listeners to prevent further updates
+        subscriptions.clear();
+        newConsumers.clear();
+        ScheduledFuture<?> future = this.future;
+        if (future != null) {
+            future.cancel(false);
+            this.future = null;
+        }
+        refreshInterval = 0;
+        logger.trace("Stopped refresh task for URL '{}'", url);
     }
 
     public Optional<Content> get() {
@@ -163,16 +243,57 @@ public class RefreshingUrlCache {
         }
     }
 
-    private void processResult(@Nullable Content content) {
-        if (content != null) {
-            for (Consumer<Content> consumer : consumers) {
-                try {
-                    consumer.accept(content);
-                } catch (IllegalArgumentException | IllegalStateException e) {
-                    logger.warn("Failed processing result for URL {}: {}", url, e.getMessage());
-                }
+    private void processResult(URI uri, @Nullable Content content) {
+        Content lastContent = this.lastContent;
+        if (content == null) {
+            this.lastContent = null;
+            return;
+        }
+        if (content.isNotModified()) {
+            if (lastContent != null) {
+                processUnchanged(uri, lastContent);
+            }
+        } else if (lastContent != null && Arrays.equals(lastContent.getRawContent(), content.getRawContent())) {
+            this.lastContent = content;
+            lastUri = uri;
+            processUnchanged(uri, content);
+        } else {
+            this.lastContent = content;
+            lastUri = uri;
+            newConsumers.clear();
+            for (Subscription subscription : subscriptions.values()) {
+                subscription.consumers.forEach(consumer -> process(consumer, content));
             }
         }
-        lastContent = content;
+    }
+
+    private void processUnchanged(URI uri, Content content) {
+        if (newConsumers.isEmpty()) {
+            logger.trace("Content of URL '{}' unchanged, skipping update", uri);
+            return;
+        }
+        for (Consumer<Content> consumer : newConsumers) {
+            newConsumers.remove(consumer);
+            process(consumer, content);
+        }
+    }
+
+    private void process(Consumer<Content> consumer, Content content) {
+        try {
+            consumer.accept(content);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            logger.warn("Failed processing result for URL {}: {}", url, e.getMessage());
+        }
+    }
+
+    private static class Subscription {
+        private final RateLimitedHttpClient httpClient;
+        private final int refresh;
+        private final List<Consumer<Content>> consumers = new CopyOnWriteArrayList<>();
+
+        public Subscription(RateLimitedHttpClient httpClient, int refresh) {
+            this.httpClient = httpClient;
+            this.refresh = refresh;
+        }
     }
 }
@@ -0,0 +1,83 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http.internal.http;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.http.internal.config.HttpThingConfig;
+
+/**
+ * The {@link RefreshingUrlCacheRegistry} holds the {@link RefreshingUrlCache}s of all things, so things requesting
+ * the same URL with the same request configuration share a single cache.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class RefreshingUrlCacheRegistry {
+    private final ScheduledExecutorService executor;
+    private final Map<String, RefreshingUrlCache> caches = new HashMap<>();
+
+    public RefreshingUrlCacheRegistry(ScheduledExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Add a consumer for the content of an URL
+     *
+     * @param owner the owner of the consumer (e.g. the thing UID)
+     * @param httpClient the client of the owner
+     * @param url the URL
+     * @param escapedUrl true if the URL is already escaped
+     * @param thingConfig the configuration of the owner
+     * @param httpContent the content of the request
+     * @param consumer the consumer
+     * @return the cache for the URL
+     */
+    public synchronized RefreshingUrlCache addConsumer(Object owner, RateLimitedHttpClient httpClient, String url,
+            boolean escapedUrl, HttpThingConfig thingConfig, String httpContent, Consumer<Content> consumer) {
+        String key = getKey(url, escapedUrl, thingConfig, httpContent, httpClient);
+        RefreshingUrlCache cache = caches.computeIfAbsent(key,
+                k -> new RefreshingUrlCache(executor, url, escapedUrl, thingConfig, httpContent));
+        cache.addConsumer(owner, httpClient, thingConfig.refresh, consumer);
+        return cache;
+    }
+
+    /**
+     * Remove all consumers of an owner, caches without consumers are stopped
+     *
+     * @param owner the owner of the consumers
+     */
+    public synchronized void removeConsumers(Object owner) {
+        caches.values().removeIf(cache -> !cache.removeConsumers(owner));
+    }
+
+    public synchronized void stop() {
+        caches.values().forEach(RefreshingUrlCache::stop);
+        caches.clear();
+    }
+
+    private String getKey(String url, boolean escapedUrl, HttpThingConfig thingConfig, String httpContent,
+            RateLimitedHttpClient httpClient) {
+        // everything that changes the request or the processing of the response has to be part of the key, including
+        // the settings of the client, as the cache sends its requests with the client of any of its things
+        return String.join("\n", url, String.valueOf(escapedUrl), thingConfig.stateMethod.asString(), httpContent,
+                String.join("\n", thingConfig.headers), String.valueOf(thingConfig.encoding),
+                String.valueOf(thingConfig.bufferSize), String.valueOf(thingConfig.timeout),
+                String.valueOf(thingConfig.ignoreSSLErrors), thingConfig.authMode.name(), thingConfig.username,
+                thingConfig.password, String.valueOf(httpClient.getDelay()));
+    }
+}
@@ -0,0 +1,200 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http.internal.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.client.api.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+/**
+ * Unit tests for {@link HostRateLimiter}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class HostRateLimiterTest {
+    private static final URI URI_1 = URI.create("http://example.org/1");
+    private static final URI URI_2 = URI.create("http://example.org/2");
+    private static final String OWNER_A = "a";
+    private static final String OWNER_B = "b";
+
+    private ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+
+    @BeforeEach
+    public void setUp() {
+        // run the permit hand-over immediately
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(scheduler).execute(any(Runnable.class));
+    }
+
+    @Test
+    public void requestsAreDelayedByTheLargestDelayOfTheOwners() throws InterruptedException {
+        HostRateLimiter rateLimiter = new HostRateLimiter(scheduler, 0);
+
+        CompletableFuture<@Nullable Void> first = rateLimiter.acquire(OWNER_A, URI_1, 0);
+        CompletableFuture<@Nullable Void> second = rateLimiter.acquire(OWNER_B, URI_2, 100);
+        CompletableFuture<@Nullable Void> third = rateLimiter.acquire(OWNER_A, URI_1, 0);
+
+        assertTrue(first.isDone());
+        assertTrue(second.isDone());
+        // owner B requested a delay of 100 ms for the host, this also applies to owner A
+        assertFalse(third.isDone());
+        ArgumentCaptor<Runnable> dispatch = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).schedule(dispatch.capture(),
+                longThat(delay -> delay > 0 && delay <= TimeUnit.MILLISECONDS.toNanos(100)),
+                eq(TimeUnit.NANOSECONDS));
+
+        Thread.sleep(150);
+        dispatch.getValue().run();
+        assertTrue(third.isDone());
+    }
+
+    @Test
+    public void waitingRequestsAreStartedRoundRobin() {
+        HostRateLimiter rateLimiter = new HostRateLimiter(scheduler, 1);
+
+        CompletableFuture<@Nullable Void> a1 = rateLimiter.acquire(OWNER_A, URI_1, 0);
+        CompletableFuture<@Nullable Void> a2 = rateLimiter.acquire(OWNER_A, URI_1, 0);
+        CompletableFuture<@Nullable Void> a3 = rateLimiter.acquire(OWNER_A, URI_1, 0);
+        CompletableFuture<@Nullable Void> b1 = rateLimiter.acquire(OWNER_B, URI_2, 0);
+        assertTrue(a1.isDone());
+        assertFalse(a2.isDone() || a3.isDone() || b1.isDone());
+
+        rateLimiter.release(URI_1);
+        assertTrue(b1.isDone());
+        assertFalse(a2.isDone());
+
+        rateLimiter.release(URI_2);
+        assertTrue(a2.isDone());
+        assertFalse(a3.isDone());
+
+        rateLimiter.release(URI_1);
+        assertTrue(a3.isDone());
+    }
+
+    @Test
+    public void requestsAreRejectedIfTheQueueIsFull() {
+        HostRateLimiter rateLimiter = new HostRateLimiter(scheduler, 1);
+
+        assertTrue(rateLimiter.acquire(OWNER_A, URI_1, 0).isDone());
+        List<CompletableFuture<@Nullable Void>> waiting = new ArrayList<>();
+        for (int i = 0; i < HostRateLimiter.MAX_QUEUE_SIZE; i++) {
+            waiting.add(rateLimiter.acquire(OWNER_A, URI_1, 0));
+        }
+        assertTrue(waiting.stream().noneMatch(CompletableFuture::isDone));
+
+        CompletableFuture<@Nullable Void> rejected = rateLimiter.acquire(OWNER_A, URI_1, 0);
+        ExecutionException e = assertThrows(ExecutionException.class, rejected::get);
+        assertTrue(e.getCause() instanceof RejectedExecutionException);
+
+        // the queue of other owners is not affected
+        assertFalse(rateLimiter.acquire(OWNER_B, URI_1, 0).isCompletedExceptionally());
+    }
+
+    @Test
+    public void cancelFailsWaitingRequestsOfTheOwner() {
+        HostRateLimiter rateLimiter = new HostRateLimiter(scheduler, 1);
+
+        CompletableFuture<@Nullable Void> a1 = rateLimiter.acquire(OWNER_A, URI_1, 0);
+        CompletableFuture<@Nullable Void> a2 = rateLimiter.acquire(OWNER_A, URI_1, 0);
+        CompletableFuture<@Nullable Void> b1 = rateLimiter.acquire(OWNER_B, URI_1, 0);
+
+        rateLimiter.cancel(OWNER_A);
+        assertTrue(a1.isDone() && !a1.isCompletedExceptionally());
+        assertTrue(a2.isCompletedExceptionally());
+        // the running request of owner A still holds the permit
+        assertFalse(b1.isDone());
+
+        rateLimiter.release(URI_1);
+        assertTrue(b1.isDone() && !b1.isCompletedExceptionally());
+    }
+
+    @Test
+    public void requestsCancelledByTheCallerDoNotTakeAPermit() {
+        HostRateLimiter rateLimiter = new HostRateLimiter(scheduler, 1);
+
+        rateLimiter.acquire(OWNER_A, URI_1, 0);
+        CompletableFuture<@Nullable Void> cancelled = rateLimiter.acquire(OWNER_A, URI_1, 0);
+        CompletableFuture<@Nullable Void> next = rateLimiter.acquire(OWNER_A, URI_1, 0);
+        cancelled.cancel(false);
+
+        rateLimiter.release(URI_1);
+        assertTrue(next.isDone() && !next.isCompletedExceptionally());
+    }
+
+    @Test
+    public void permitIsReturnedIfSendingFails() {
+        HostRateLimiter rateLimiter = new HostRateLimiter(scheduler, 1);
+        RateLimitedHttpClient httpClient = new RateLimitedHttpClient(mock(HttpClient.class), rateLimiter, OWNER_A);
+        Request request = mock(Request.class);
+        when(request.getURI()).thenReturn(URI_1);
+        when(request.onComplete(any())).thenReturn(request);
+        doThrow(new IllegalStateException("send failed")).when(request).send(any(Response.CompleteListener.class));
+
+        CompletableFuture<@Nullable Void> sent = httpClient.send(request, mock(Response.CompleteListener.class));
+        assertTrue(sent.isCompletedExceptionally());
+
+        // the permit of the failed request is available again
+        assertTrue(rateLimiter.acquire(OWNER_B, URI_1, 0).isDone());
+    }
+
+    @Test
+    public void requestsToAHostWithoutLimitAreStartedDirectly() {
+        HostRateLimiter rateLimiter = new HostRateLimiter(scheduler, 0);
+
+        assertTrue(rateLimiter.acquire(OWNER_A, URI_1, 0).isDone());
+        assertTrue(rateLimiter.acquire(OWNER_B, URI_1, 0).isDone());
+        verify(scheduler, never()).execute(any(Runnable.class));
+    }
+
+    @Test
+    public void requestsTakenForSendingAreNotStartedAfterCancel() {
+        List<Runnable> handOvers = new ArrayList<>();
+        doAnswer(invocation -> handOvers.add(invocation.getArgument(0))).when(scheduler).execute(any(Runnable.class));
+        HostRateLimiter rateLimiter = new HostRateLimiter(scheduler, 1);
+        RateLimitedHttpClient httpClient = new RateLimitedHttpClient(mock(HttpClient.class), rateLimiter, OWNER_A);
+        Request request = mock(Request.class);
+        when(request.getURI()).thenReturn(URI_1);
+
+        CompletableFuture<@Nullable Void> sent = httpClient.send(request, mock(Response.CompleteListener.class));
+        assertEquals(1, handOvers.size());
+        httpClient.shutdown();
+        handOvers.get(0).run();
+
+        assertTrue(sent.isCompletedExceptionally());
+        verify(request, never()).send(any(Response.CompleteListener.class));
+        // the permit of the cancelled request is available again
+        rateLimiter.acquire(OWNER_B, URI_1, 0);
+        assertEquals(2, handOvers.size());
+    }
+}
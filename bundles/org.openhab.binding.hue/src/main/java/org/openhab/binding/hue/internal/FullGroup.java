@@ -78,4 +78,14 @@ public class FullGroup extends Group {
     public void setState(State state) {
         this.groupState = state;
     }
+
+    /**
+     * Returns a copy of this group with the given current state.
+     *
+     * @param state current state of the copy
+     * @return copy of the group
+     */
+    public FullGroup withState(State state) {
+        return new FullGroup(getId(), getName(), getType(), action, lights, state);
+    }
 }
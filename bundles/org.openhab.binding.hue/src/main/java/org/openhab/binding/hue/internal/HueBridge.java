@@ -23,11 +23,14 @@ import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.stream.Collectors;
@@ -67,13 +70,17 @@ public class HueBridge {
 
     private static final String DATE_FORMAT = "yyyy-MM-dd'T'HH:mm:ss";
 
+    // the bridge handles about 10 light commands and 1 group command per second
+    private static final long LIGHT_COMMAND_DELAY = 100;
+    private static final long GROUP_COMMAND_DELAY = 1000;
+
     private final String ip;
     private final String baseUrl;
     private @Nullable String username;
 
     private final Gson gson = new GsonBuilder().setDateFormat(DATE_FORMAT).create();
     private HttpClient http = new HttpClient();
-    private final ScheduledExecutorService scheduler;
+    private final HueCommandScheduler commandScheduler;
 
     @Nullable
     private Config cachedConfig;
@@ -96,7 +103,7 @@ public class HueBridge {
             baseUrl = protocol + "://" + ip + ":" + port + "/api";
         }
         this.baseUrl = baseUrl;
-        this.scheduler = scheduler;
+        this.commandScheduler = new HueCommandScheduler(http, scheduler);
     }
 
     /**
@@ -124,8 +131,8 @@ public class HueBridge {
         this.ip = ip;
         this.baseUrl = baseUrl;
         this.username = username;
-        this.scheduler = scheduler;
         this.http = http;
+        this.commandScheduler = new HueCommandScheduler(http, scheduler);
     }
 
     /**
@@ -146,6 +153,41 @@ public class HueBridge {
         return ip;
     }
 
+    /**
+     * Returns the scheduler sending the state changes to the bridge.
+     *
+     * @return command scheduler
+     */
+    public HueCommandScheduler getCommandScheduler() {
+        return commandScheduler;
+    }
+
+    /**
+     * Sets the groups of the bridge, so that group actions and light commands are sent in order. If enabled, the groups
+     * replace waiting light commands with the same state change for all of their lights.
+     *
+     * @param groups groups of the bridge
+     * @param consolidate true to replace waiting light commands by group actions
+     */
+    public void setGroups(Collection<FullGroup> groups, boolean consolidate) {
+        Map<String, Set<String>> targets = new HashMap<>();
+        for (FullGroup group : groups) {
+            targets.put(getRelativeURL("groups/" + enc(group.getId()) + "/action"), group.getLightIds().stream()
+                    .map(lightId -> getRelativeURL("lights/" + enc(lightId) + "/state")).collect(Collectors.toSet()));
+        }
+        commandScheduler.setGroups(targets, GROUP_COMMAND_DELAY, consolidate);
+    }
+
+    /**
+     * Returns the URL of the server-sent events endpoint of the bridge.
+     *
+     * @return event stream URL
+     */
+    public String getEventStreamURL() {
+        String root = baseUrl.endsWith("/api") ? baseUrl.substring(0, baseUrl.length() - 4) : baseUrl;
+        return root + "/eventstream/clip/v2";
+    }
+
     public ApiVersion getVersion() throws IOException, ApiException {
         Config c = getCachedConfig();
         return ApiVersion.of(c.getApiVersion());
@@ -258,6 +300,26 @@ public class HueBridge {
         return sensorList;
     }
 
+    /**
+     * Returns detailed information for the given sensor.
+     *
+     * @param id id of the sensor
+     * @return detailed sensor information
+     * @throws UnauthorizedException thrown if the user no longer exists
+     * @throws EntityNotAvailableException thrown if a sensor with the given id doesn't exist
+     */
+    public FullSensor getSensor(String id) throws IOException, ApiException {
+        requireAuthentication();
+
+        Result result = http.get(getRelativeURL("sensors/" + enc(id)));
+
+        handleErrors(result);
+
+        FullSensor sensor = safeFromJson(result.getBody(), FullSensor.class);
+        sensor.setId(id);
+        return sensor;
+    }
+
     /**
      * Returns the last time a search for new lights was started.
      * If a search is currently running, the current time will be
@@ -339,6 +401,26 @@ public class HueBridge {
         return fullLight;
     }
 
+    /**
+     * Returns detailed information for the light with the given id.
+     *
+     * @param id id of the light
+     * @return detailed light information
+     * @throws UnauthorizedException thrown if the user no longer exists
+     * @throws EntityNotAvailableException thrown if a light with the given id doesn't exist
+     */
+    public FullLight getFullLight(String id) throws IOException, ApiException {
+        requireAuthentication();
+
+        Result result = http.get(getRelativeURL("lights/" + enc(id)));
+
+        handleErrors(result);
+
+        FullLight fullLight = safeFromJson(result.getBody(), FullLight.class);
+        fullLight.setId(id);
+        return fullLight;
+    }
+
     /**
      * Changes the name of the light and returns the new name.
      * A number will be appended to duplicate names, which may result in a new name exceeding 32 characters.
@@ -381,8 +463,8 @@ public class HueBridge {
         requireAuthentication();
 
         String body = update.toJson();
-        return http.putAsync(getRelativeURL("lights/" + enc(light.getId()) + "/state"), body, update.getMessageDelay(),
-                scheduler);
+        return commandScheduler.submit(getRelativeURL("lights/" + enc(light.getId()) + "/state"), body,
+                Math.max(update.getMessageDelay(), LIGHT_COMMAND_DELAY));
     }
 
     /**
@@ -399,8 +481,8 @@ public class HueBridge {
         requireAuthentication();
 
         String body = update.toJson();
-        return http.putAsync(getRelativeURL("sensors/" + enc(sensor.getId()) + "/state"), body,
-                update.getMessageDelay(), scheduler);
+        return commandScheduler.submit(getRelativeURL("sensors/" + enc(sensor.getId()) + "/state"), body,
+                update.getMessageDelay());
     }
 
     /**
@@ -416,8 +498,8 @@ public class HueBridge {
         requireAuthentication();
 
         String body = update.toJson();
-        return http.putAsync(getRelativeURL("sensors/" + enc(sensor.getId()) + "/config"), body,
-                update.getMessageDelay(), scheduler);
+        return commandScheduler.submit(getRelativeURL("sensors/" + enc(sensor.getId()) + "/config"), body,
+                update.getMessageDelay());
     }
 
     /**
@@ -643,8 +725,8 @@ public class HueBridge {
         requireAuthentication();
 
         String body = update.toJson();
-        return http.putAsync(getRelativeURL("groups/" + enc(group.getId()) + "/action"), body, update.getMessageDelay(),
-                scheduler);
+        return commandScheduler.submit(getRelativeURL("groups/" + enc(group.getId()) + "/action"), body,
+                Math.max(update.getMessageDelay(), GROUP_COMMAND_DELAY));
     }
 
     /**
@@ -0,0 +1,355 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.hue.internal.HttpClient.Result;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+/**
+ * The {@link HueCommandScheduler} sends the state changes to the bridge one after another, so that the bridge is not
+ * flooded with requests. After each request the scheduler waits for the delay of the command, which is chosen by
+ * the caller according to the budget of the bridge for the resource type.
+ *
+ * A command for a resource, which already has a command waiting in the queue, is merged into the waiting one, newer
+ * attribute values replace older ones. Alerts are not merged, as every alert is noticed by the user. Commands are only
+ * merged if no later waiting command affects the same lights, so the bridge receives the changes of a light in the
+ * order they were submitted. If the consolidation is enabled, waiting light commands with the same body that cover
+ * all lights of a group are replaced by a single group action.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class HueCommandScheduler {
+    private static final String ALERT = "alert";
+
+    private final Logger logger = LoggerFactory.getLogger(HueCommandScheduler.class);
+
+    private final HttpClient http;
+    private final ScheduledExecutorService scheduler;
+
+    private final LinkedList<PendingCommand> queue = new LinkedList<>();
+    private final Map<String, PendingCommand> pendingByAddress = new HashMap<>();
+    private Map<String, GroupTarget> groups = Map.of();
+    private boolean consolidate;
+    private @Nullable Future<?> job;
+
+    private final AtomicLong sentCount = new AtomicLong();
+    private final AtomicLong mergedCount = new AtomicLong();
+    private final AtomicLong consolidatedCount = new AtomicLong();
+    private final AtomicLong totalLatency = new AtomicLong();
+    private final AtomicLong maxLatency = new AtomicLong();
+
+    /**
+     * A group, whose action affects all of its lights.
+     */
+    private static class GroupTarget {
+        private final String address;
+        private final Set<String> lightAddresses;
+        private final long delay;
+
+        GroupTarget(String address, Set<String> lightAddresses, long delay) {
+            this.address = address;
+            this.lightAddresses = lightAddresses;
+            this.delay = delay;
+        }
+    }
+
+    /**
+     * A command waiting to be sent, together with the futures of all commands merged into it.
+     */
+    private static class PendingCommand {
+        private final String address;
+        private final long enqueued = System.nanoTime();
+        private final List<CompletableFuture<Result>> futures = new ArrayList<>();
+        private @Nullable JsonObject json;
+        private String body;
+        private long delay;
+
+        PendingCommand(String address, String body, long delay) {
+            this.address = address;
+            this.body = body;
+            this.delay = delay;
+            this.json = parse(body);
+        }
+
+        boolean merge(String body, long delay) {
+            JsonObject current = json;
+            JsonObject update = parse(body);
+            if (current == null || update == null || current.has(ALERT) || update.has(ALERT)) {
+                return false;
+            }
+            update.entrySet().forEach(entry -> current.add(entry.getKey(), entry.getValue()));
+            this.body = current.toString();
+            this.delay = Math.max(this.delay, delay);
+            return true;
+        }
+
+        private static @Nullable JsonObject parse(String body) {
+            try {
+                JsonElement element = JsonParser.parseString(body);
+                return element.isJsonObject() ? element.getAsJsonObject() : null;
+            } catch (JsonParseException e) {
+                return null;
+            }
+        }
+    }
+
+    public HueCommandScheduler(HttpClient http, ScheduledExecutorService scheduler) {
+        this.http = http;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Queues a PUT request.
+     *
+     * @param address URL of the resource
+     * @param body JSON body of the request
+     * @param delay time in milliseconds to wait after the request before the next one is sent
+     * @return future completed with the result of the request
+     */
+    public CompletableFuture<Result> submit(String address, String body, long delay) {
+        CompletableFuture<Result> future = new CompletableFuture<>();
+        synchronized (queue) {
+            PendingCommand pending = pendingByAddress.get(address);
+            if (pending != null && !isAffectedByLaterCommand(pending) && pending.merge(body, delay)) {
+                mergedCount.incrementAndGet();
+                logger.debug("Merged command for {} into waiting command: {}", address, pending.body);
+            } else {
+                pending = new PendingCommand(address, body, delay);
+                queue.offer(pending);
+                pendingByAddress.put(address, pending);
+            }
+            pending.futures.add(future);
+
+            Future<?> localJob = job;
+            if (localJob == null || localJob.isDone()) {
+                job = scheduler.submit(this::executeCommands);
+            }
+        }
+        return future;
+    }
+
+    /**
+     * Checks if a command queued after the given command affects one of its lights. Must be called with the queue lock
+     * held.
+     */
+    private boolean isAffectedByLaterCommand(PendingCommand pending) {
+        Set<String> lightAddresses = getLightAddresses(pending.address);
+        for (Iterator<PendingCommand> it = queue.descendingIterator(); it.hasNext();) {
+            PendingCommand command = it.next();
+            if (command == pending) {
+                return false;
+            }
+            if (getLightAddresses(command.address).stream().anyMatch(lightAddresses::contains)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the addresses of the lights of a group action or the address itself for any other resource.
+     */
+    private Set<String> getLightAddresses(String address) {
+        GroupTarget group = groups.get(address);
+        return group != null ? group.lightAddresses : Set.of(address);
+    }
+
+    /**
+     * Sets the groups of the bridge. The order of group actions and light commands is kept for the lights of these
+     * groups.
+     *
+     * @param groups light addresses by group action address
+     * @param delay time in milliseconds to wait after a group action
+     * @param consolidate true if waiting light commands covering all lights of a group are replaced by its action
+     */
+    public void setGroups(Map<String, Set<String>> groups, long delay, boolean consolidate) {
+        Map<String, GroupTarget> targets = new HashMap<>();
+        groups.forEach((address, lightAddresses) -> targets.put(address,
+                new GroupTarget(address, Set.copyOf(lightAddresses), delay)));
+        synchronized (queue) {
+            this.groups = targets;
+            this.consolidate = consolidate;
+        }
+    }
+
+    private void executeCommands() {
+        while (true) {
+            PendingCommand command;
+            synchronized (queue) {
+                command = queue.poll();
+                if (command == null) {
+                    // commands submitted from now on need a new job
+                    job = null;
+                    return;
+                }
+                pendingByAddress.remove(command.address, command);
+                command = consolidate(command);
+            }
+
+            logger.debug("Async sending put to address: {} delay: {} body: {}", command.address, command.delay,
+                    command.body);
+            try {
+                Result result = http.put(command.address, command.body);
+                command.futures.forEach(future -> future.complete(result));
+            } catch (IOException e) {
+                command.futures.forEach(future -> future.completeExceptionally(e));
+            }
+            recordLatency(command);
+
+            try {
+                Thread.sleep(command.delay);
+            } catch (InterruptedException e) {
+                logger.debug("commandExecutorThread was interrupted", e);
+                Thread.currentThread().interrupt();
+                failPending(e);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Replaces the command and the waiting commands with the same body by a group action, if they cover all lights
+     * of a group. Waiting commands are only taken if no earlier waiting command affects their light. Must be called
+     * with the queue lock held.
+     */
+    private PendingCommand consolidate(PendingCommand command) {
+        if (!consolidate || groups.values().stream().noneMatch(g -> g.lightAddresses.contains(command.address))) {
+            return command;
+        }
+
+        Map<String, PendingCommand> sameBody = new HashMap<>();
+        sameBody.put(command.address, command);
+        Set<String> affectedLights = new HashSet<>(Set.of(command.address));
+        for (PendingCommand pending : queue) {
+            Set<String> lightAddresses = getLightAddresses(pending.address);
+            if (pending.body.equals(command.body) && !groups.containsKey(pending.address)
+                    && !affectedLights.contains(pending.address)) {
+                sameBody.put(pending.address, pending);
+            }
+            affectedLights.addAll(lightAddresses);
+        }
+
+        GroupTarget target = null;
+        for (GroupTarget group : groups.values()) {
+            // a group with a single light doesn't save a request
+            if (group.lightAddresses.size() > 1 && group.lightAddresses.contains(command.address)
+                    && sameBody.keySet().containsAll(group.lightAddresses)
+                    && (target == null || group.lightAddresses.size() > target.lightAddresses.size())) {
+                target = group;
+            }
+        }
+        if (target == null) {
+            return command;
+        }
+
+        PendingCommand groupCommand = new PendingCommand(target.address, command.body, target.delay);
+        for (String lightAddress : target.lightAddresses) {
+            PendingCommand pending = sameBody.get(lightAddress);
+            if (pending != null && pending != command) {
+                queue.remove(pending);
+                pendingByAddress.remove(lightAddress, pending);
+                groupCommand.futures.addAll(pending.futures);
+            }
+        }
+        groupCommand.futures.addAll(command.futures);
+        consolidatedCount.addAndGet(target.lightAddresses.size());
+        logger.debug("Replaced {} light commands by group action {}", target.lightAddresses.size(), target.address);
+        return groupCommand;
+    }
+
+    private void recordLatency(PendingCommand command) {
+        long latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - command.enqueued);
+        sentCount.incrementAndGet();
+        totalLatency.addAndGet(latency);
+        maxLatency.accumulateAndGet(latency, Math::max);
+    }
+
+    private void failPending(Exception e) {
+        List<PendingCommand> pending;
+        synchronized (queue) {
+            pending = new ArrayList<>(queue);
+            queue.clear();
+            pendingByAddress.clear();
+        }
+        pending.forEach(command -> command.futures.forEach(future -> future.completeExceptionally(e)));
+    }
+
+    /**
+     * @return number of commands waiting to be sent
+     */
+    public int getQueueDepth() {
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    /**
+     * @return number of requests sent to the bridge
+     */
+    public long getSentCount() {
+        return sentCount.get();
+    }
+
+    /**
+     * @return number of commands merged into a waiting command for the same resource
+     */
+    public long getMergedCount() {
+        return mergedCount.get();
+    }
+
+    /**
+     * @return number of light commands replaced by group actions
+     */
+    public long getConsolidatedCount() {
+        return consolidatedCount.get();
+    }
+
+    /**
+     * @return average time in milliseconds between queuing a command and receiving the response
+     */
+    public long getAverageLatency() {
+        long sent = sentCount.get();
+        return sent == 0 ? 0 : totalLatency.get() / sent;
+    }
+
+    /**
+     * @return maximum time in milliseconds between queuing a command and receiving the response
+     */
+    public long getMaxLatency() {
+        return maxLatency.get();
+    }
+}
@@ -0,0 +1,214 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+/**
+ * Client for the server-sent events endpoint of the Hue bridge. Every event names the changed resources by their
+ * API v1 path (e.g. /lights/1 or /sensors/5), which are passed to the {@link Listener}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class HueEventStream {
+
+    private static final String APPLICATION_KEY_HEADER = "hue-application-key";
+    private static final String ID_V1 = "id_v1";
+
+    /**
+     * Listener for the state of the event stream and the changed resources.
+     */
+    public interface Listener {
+        /**
+         * Called when the event stream is connected.
+         */
+        void onConnected();
+
+        /**
+         * Called for every event received from the event stream.
+         *
+         * @param resources API v1 paths of the changed resources, e.g. /lights/1
+         */
+        void onResourcesChanged(Set<String> resources);
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(HueEventStream.class);
+
+    private final String url;
+    private final String applicationKey;
+    private final Listener listener;
+    private int connectTimeout = 5000;
+    private int readTimeout = 0;
+
+    private volatile @Nullable HttpURLConnection connection;
+    private volatile boolean closed = false;
+
+    /**
+     * @param url URL of the event stream endpoint
+     * @param applicationKey user name registered on the bridge
+     * @param listener listener for the events
+     */
+    public HueEventStream(String url, String applicationKey, Listener listener) {
+        this.url = url;
+        this.applicationKey = applicationKey;
+        this.listener = listener;
+    }
+
+    /**
+     * Set the connect and read timeout. The bridge sends a keep-alive comment regularly, so a read timeout can be
+     * used to detect a stalled connection.
+     *
+     * @param connectTimeout connect timeout in milliseconds
+     * @param readTimeout read timeout in milliseconds or 0 for indefinitely
+     */
+    public void setTimeouts(int connectTimeout, int readTimeout) {
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+    }
+
+    /**
+     * Connects to the event stream and dispatches the events until the stream ends or {@link #close()} is called.
+     *
+     * @throws IOException if the event stream could not be opened or was interrupted
+     */
+    public void run() throws IOException {
+        HttpURLConnection conn = (HttpURLConnection) new URL(url).openConnection();
+        connection = conn;
+        try {
+            if (closed) {
+                return;
+            }
+            conn.setRequestMethod("GET");
+            conn.setRequestProperty("Accept", "text/event-stream");
+            conn.setRequestProperty(APPLICATION_KEY_HEADER, applicationKey);
+            conn.setConnectTimeout(connectTimeout);
+            conn.setReadTimeout(readTimeout);
+
+            int responseCode = conn.getResponseCode();
+            if (responseCode != HttpURLConnection.HTTP_OK) {
+                throw new IOException("Event stream returned HTTP " + responseCode);
+            }
+
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(conn.getInputStream(), StandardCharsets.UTF_8))) {
+                listener.onConnected();
+
+                StringBuilder data = new StringBuilder();
+                String line;
+                while (!closed && (line = reader.readLine()) != null) {
+                    if (line.isEmpty()) {
+                        // an empty line terminates the event
+                        if (data.length() > 0) {
+                            dispatch(data.toString());
+                            data.setLength(0);
+                        }
+                    } else if (line.startsWith("data:")) {
+                        if (data.length() > 0) {
+                            data.append('\n');
+                        }
+                        data.append(line, line.startsWith("data: ") ? 6 : 5, line.length());
+                    }
+                    // comments (keep-alive), ids and event types are not needed
+                }
+            }
+        } catch (IOException e) {
+            if (!closed) {
+                throw e;
+            }
+        } finally {
+            connection = null;
+            conn.disconnect();
+        }
+    }
+
+    /**
+     * @return true if {@link #close()} was called
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Closes the event stream, a running {@link #run()} returns.
+     */
+    public void close() {
+        closed = true;
+        HttpURLConnection conn = connection;
+        if (conn != null) {
+            conn.disconnect();
+        }
+    }
+
+    private void dispatch(String data) {
+        logger.trace("Event stream data: {}", data);
+        Set<String> resources = parseResources(data);
+        if (!resources.isEmpty()) {
+            listener.onResourcesChanged(resources);
+        }
+    }
+
+    /**
+     * Extracts the API v1 paths of all resources from the data of an event.
+     *
+     * @param data event data, an array of events each containing an array of changed resources
+     * @return API v1 paths of the changed resources
+     */
+    Set<String> parseResources(String data) {
+        Set<String> resources = new LinkedHashSet<>();
+        try {
+            JsonElement root = JsonParser.parseString(data);
+            if (!root.isJsonArray()) {
+                return resources;
+            }
+            for (JsonElement event : root.getAsJsonArray()) {
+                if (!event.isJsonObject()) {
+                    continue;
+                }
+                JsonElement eventData = event.getAsJsonObject().get("data");
+                if (eventData == null || !eventData.isJsonArray()) {
+                    continue;
+                }
+                for (JsonElement resource : (JsonArray) eventData) {
+                    if (resource.isJsonObject()) {
+                        JsonElement idV1 = ((JsonObject) resource).get(ID_V1);
+                        if (idV1 != null && idV1.isJsonPrimitive()) {
+                            resources.add(idV1.getAsString());
+                        }
+                    }
+                }
+            }
+        } catch (JsonParseException | IllegalStateException e) {
+            logger.debug("Unable to parse event stream data: {}", data, e);
+        }
+        return resources;
+    }
+}
@@ -32,6 +32,9 @@ public class HueBridgeConfig {
     private @Nullable String userName;
     private int pollingInterval = 10;
     private int sensorPollingInterval = 500;
+    private boolean useEventStream = false;
+    private int reconciliationInterval = 300;
+    private boolean consolidateGroupCommands = false;
 
     public @Nullable String getIpAddress() {
         return ipAddress;
@@ -81,4 +84,28 @@ public class HueBridgeConfig {
     public void setSensorPollingInterval(int sensorPollingInterval) {
         this.sensorPollingInterval = sensorPollingInterval;
     }
+
+    public boolean isUseEventStream() {
+        return useEventStream;
+    }
+
+    public void setUseEventStream(boolean useEventStream) {
+        this.useEventStream = useEventStream;
+    }
+
+    public int getReconciliationInterval() {
+        return reconciliationInterval;
+    }
+
+    public void setReconciliationInterval(int reconciliationInterval) {
+        this.reconciliationInterval = reconciliationInterval;
+    }
+
+    public boolean isConsolidateGroupCommands() {
+        return consolidateGroupCommands;
+    }
+
+    public void setConsolidateGroupCommands(boolean consolidateGroupCommands) {
+        this.consolidateGroupCommands = consolidateGroupCommands;
+    }
 }
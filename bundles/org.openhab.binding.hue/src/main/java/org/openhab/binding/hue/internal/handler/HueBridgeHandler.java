@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -41,7 +42,9 @@ import org.openhab.binding.hue.internal.FullGroup;
 import org.openhab.binding.hue.internal.FullLight;
 import org.openhab.binding.hue.internal.FullSensor;
 import org.openhab.binding.hue.internal.HueBridge;
+import org.openhab.binding.hue.internal.HueCommandScheduler;
 import org.openhab.binding.hue.internal.HueConfigStatusMessage;
+import org.openhab.binding.hue.internal.HueEventStream;
 import org.openhab.binding.hue.internal.Scene;
 import org.openhab.binding.hue.internal.State;
 import org.openhab.binding.hue.internal.StateUpdate;
@@ -52,6 +55,7 @@ import org.openhab.binding.hue.internal.exceptions.DeviceOffException;
 import org.openhab.binding.hue.internal.exceptions.EntityNotAvailableException;
 import org.openhab.binding.hue.internal.exceptions.LinkButtonException;
 import org.openhab.binding.hue.internal.exceptions.UnauthorizedException;
+import org.openhab.core.common.NamedThreadFactory;
 import org.openhab.core.config.core.Configuration;
 import org.openhab.core.config.core.status.ConfigStatusMessage;
 import org.openhab.core.i18n.LocaleProvider;
@@ -98,6 +102,12 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
 
     private static final long SCENE_POLLING_INTERVAL = TimeUnit.SECONDS.convert(10, TimeUnit.MINUTES);
 
+    private static final long DEFAULT_RECONCILIATION_INTERVAL = TimeUnit.MINUTES.toSeconds(5);
+    private static final int EVENT_STREAM_READ_TIMEOUT = (int) TimeUnit.MINUTES.toMillis(5);
+    private static final long EVENT_STREAM_RETRY_DELAY = TimeUnit.SECONDS.toMillis(10);
+    private static final String RESOURCE_LIGHTS = "/lights/";
+    private static final String RESOURCE_SENSORS = "/sensors/";
+
     private final Logger logger = LoggerFactory.getLogger(HueBridgeHandler.class);
     private final HueStateDescriptionProvider stateDescriptionOptionProvider;
     private final TranslationProvider i18nProvider;
@@ -190,21 +200,7 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
 
             for (final FullSensor sensor : hueBridge.getSensors()) {
                 String sensorId = sensor.getId();
-
-                final SensorStatusListener sensorStatusListener = sensorStatusListeners.get(sensorId);
-                if (sensorStatusListener == null) {
-                    logger.trace("Hue sensor '{}' added.", sensorId);
-
-                    if (discovery != null && !lastSensorStateCopy.containsKey(sensorId)) {
-                        discovery.addSensorDiscovery(sensor);
-                    }
-
-                    lastSensorStates.put(sensorId, sensor);
-                } else {
-                    if (sensorStatusListener.onSensorStateChanged(sensor)) {
-                        lastSensorStates.put(sensorId, sensor);
-                    }
-                }
+                applySensorState(sensor, !lastSensorStateCopy.containsKey(sensorId));
                 lastSensorStateCopy.remove(sensorId);
             }
 
@@ -246,21 +242,7 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
 
             for (final FullLight fullLight : lights) {
                 final String lightId = fullLight.getId();
-
-                final LightStatusListener lightStatusListener = lightStatusListeners.get(lightId);
-                if (lightStatusListener == null) {
-                    logger.trace("Hue light '{}' added.", lightId);
-
-                    if (discovery != null && !lastLightStateCopy.containsKey(lightId)) {
-                        discovery.addLightDiscovery(fullLight);
-                    }
-
-                    lastLightStates.put(lightId, fullLight);
-                } else {
-                    if (lightStatusListener.onLightStateChanged(fullLight)) {
-                        lastLightStates.put(lightId, fullLight);
-                    }
-                }
+                applyLightState(fullLight, !lastLightStateCopy.containsKey(lightId));
                 lastLightStateCopy.remove(lightId);
             }
 
@@ -288,72 +270,14 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
             final HueDeviceDiscoveryService discovery = discoveryService;
 
             for (final FullGroup fullGroup : groups) {
-                State groupState = new State();
-                boolean on = false;
-                int sumBri = 0;
-                int nbBri = 0;
-                State colorRef = null;
-                HSBType firstColorHsb = null;
-                for (String lightId : fullGroup.getLightIds()) {
-                    FullLight light = lastLightStates.get(lightId);
-                    if (light != null) {
-                        final State lightState = light.getState();
-                        logger.trace("Group {}: light {}: on {} bri {} hue {} sat {} temp {} mode {} XY {}",
-                                fullGroup.getName(), light.getName(), lightState.isOn(), lightState.getBrightness(),
-                                lightState.getHue(), lightState.getSaturation(), lightState.getColorTemperature(),
-                                lightState.getColorMode(), lightState.getXY());
-                        if (lightState.isOn()) {
-                            on = true;
-                            sumBri += lightState.getBrightness();
-                            nbBri++;
-                            if (lightState.getColorMode() != null) {
-                                HSBType lightHsb = LightStateConverter.toHSBType(lightState);
-                                if (firstColorHsb == null) {
-                                    // first color light
-                                    firstColorHsb = lightHsb;
-                                    colorRef = lightState;
-                                } else if (!lightHsb.equals(firstColorHsb)) {
-                                    colorRef = null;
-                                }
-                            }
-                        }
-                    }
-                }
-                groupState.setOn(on);
-                groupState.setBri(nbBri == 0 ? 0 : sumBri / nbBri);
-                if (colorRef != null) {
-                    groupState.setColormode(colorRef.getColorMode());
-                    groupState.setHue(colorRef.getHue());
-                    groupState.setSaturation(colorRef.getSaturation());
-                    groupState.setColorTemperature(colorRef.getColorTemperature());
-                    groupState.setXY(colorRef.getXY());
-                }
-                fullGroup.setState(groupState);
-                logger.trace("Group {} ({}): on {} bri {} hue {} sat {} temp {} mode {} XY {}", fullGroup.getName(),
-                        fullGroup.getType(), groupState.isOn(), groupState.getBrightness(), groupState.getHue(),
-                        groupState.getSaturation(), groupState.getColorTemperature(), groupState.getColorMode(),
-                        groupState.getXY());
-
+                fullGroup.setState(computeGroupState(fullGroup));
                 String groupId = fullGroup.getId();
-
-                final GroupStatusListener groupStatusListener = groupStatusListeners.get(groupId);
-                if (groupStatusListener == null) {
-                    logger.trace("Hue group '{}' ({}) added (nb lights {}).", groupId, fullGroup.getName(),
-                            fullGroup.getLightIds().size());
-
-                    if (discovery != null && !lastGroupStateCopy.containsKey(groupId)) {
-                        discovery.addGroupDiscovery(fullGroup);
-                    }
-
-                    lastGroupStates.put(groupId, fullGroup);
-                } else {
-                    if (groupStatusListener.onGroupStateChanged(fullGroup)) {
-                        lastGroupStates.put(groupId, fullGroup);
-                    }
-                }
+                applyGroupState(fullGroup, !lastGroupStateCopy.containsKey(groupId));
                 lastGroupStateCopy.remove(groupId);
             }
 
+            hueBridge.setGroups(groups, hueBridgeConfig.isConsolidateGroupCommands());
+
             // Check for removed groups
             lastGroupStateCopy.forEach((groupId, group) -> {
                 logger.trace("Hue group '{}' removed.", groupId);
@@ -402,6 +326,10 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
     private @Nullable ScheduledFuture<?> sensorPollingJob;
     private @Nullable ScheduledFuture<?> scenePollingJob;
 
+    private volatile @Nullable HueEventStream eventStream;
+    private @Nullable Thread eventStreamThread;
+    private volatile boolean eventStreamConnected = false;
+
     private @NonNullByDefault({}) HueBridge hueBridge = null;
     private @NonNullByDefault({}) HueBridgeConfig hueBridgeConfig = null;
 
@@ -592,6 +520,246 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         }
     }
 
+    private void applyLightState(FullLight fullLight, boolean added) {
+        final String lightId = fullLight.getId();
+
+        final LightStatusListener lightStatusListener = lightStatusListeners.get(lightId);
+        if (lightStatusListener == null) {
+            logger.trace("Hue light '{}' added.", lightId);
+
+            final HueDeviceDiscoveryService discovery = discoveryService;
+            if (discovery != null && added) {
+                discovery.addLightDiscovery(fullLight);
+            }
+
+            lastLightStates.put(lightId, fullLight);
+        } else {
+            if (lightStatusListener.onLightStateChanged(fullLight)) {
+                lastLightStates.put(lightId, fullLight);
+            }
+        }
+    }
+
+    private void applySensorState(FullSensor sensor, boolean added) {
+        final String sensorId = sensor.getId();
+
+        final SensorStatusListener sensorStatusListener = sensorStatusListeners.get(sensorId);
+        if (sensorStatusListener == null) {
+            logger.trace("Hue sensor '{}' added.", sensorId);
+
+            final HueDeviceDiscoveryService discovery = discoveryService;
+            if (discovery != null && added) {
+                discovery.addSensorDiscovery(sensor);
+            }
+
+            lastSensorStates.put(sensorId, sensor);
+        } else {
+            if (sensorStatusListener.onSensorStateChanged(sensor)) {
+                lastSensorStates.put(sensorId, sensor);
+            }
+        }
+    }
+
+    private void applyGroupState(FullGroup fullGroup, boolean added) {
+        final String groupId = fullGroup.getId();
+
+        final GroupStatusListener groupStatusListener = groupStatusListeners.get(groupId);
+        if (groupStatusListener == null) {
+            logger.trace("Hue group '{}' ({}) added (nb lights {}).", groupId, fullGroup.getName(),
+                    fullGroup.getLightIds().size());
+
+            final HueDeviceDiscoveryService discovery = discoveryService;
+            if (discovery != null && added) {
+                discovery.addGroupDiscovery(fullGroup);
+            }
+
+            lastGroupStates.put(groupId, fullGroup);
+        } else {
+            if (groupStatusListener.onGroupStateChanged(fullGroup)) {
+                lastGroupStates.put(groupId, fullGroup);
+            }
+        }
+    }
+
+    /**
+     * Computes the state of a group from the last known states of its lights.
+     *
+     * @param fullGroup the group
+     * @return the state of the group
+     */
+    private State computeGroupState(FullGroup fullGroup) {
+        State groupState = new State();
+        boolean on = false;
+        int sumBri = 0;
+        int nbBri = 0;
+        State colorRef = null;
+        HSBType firstColorHsb = null;
+        for (String lightId : fullGroup.getLightIds()) {
+            FullLight light = lastLightStates.get(lightId);
+            if (light != null) {
+                final State lightState = light.getState();
+                logger.trace("Group {}: light {}: on {} bri {} hue {} sat {} temp {} mode {} XY {}",
+                        fullGroup.getName(), light.getName(), lightState.isOn(), lightState.getBrightness(),
+                        lightState.getHue(), lightState.getSaturation(), lightState.getColorTemperature(),
+                        lightState.getColorMode(), lightState.getXY());
+                if (lightState.isOn()) {
+                    on = true;
+                    sumBri += lightState.getBrightness();
+                    nbBri++;
+                    if (lightState.getColorMode() != null) {
+                        HSBType lightHsb = LightStateConverter.toHSBType(lightState);
+                        if (firstColorHsb == null) {
+                            // first color light
+                            firstColorHsb = lightHsb;
+                            colorRef = lightState;
+                        } else if (!lightHsb.equals(firstColorHsb)) {
+                            colorRef = null;
+                        }
+                    }
+                }
+            }
+        }
+        groupState.setOn(on);
+        groupState.setBri(nbBri == 0 ? 0 : sumBri / nbBri);
+        if (colorRef != null) {
+            groupState.setColormode(colorRef.getColorMode());
+            groupState.setHue(colorRef.getHue());
+            groupState.setSaturation(colorRef.getSaturation());
+            groupState.setColorTemperature(colorRef.getColorTemperature());
+            groupState.setXY(colorRef.getXY());
+        }
+        logger.trace("Group {} ({}): on {} bri {} hue {} sat {} temp {} mode {} XY {}", fullGroup.getName(),
+                fullGroup.getType(), groupState.isOn(), groupState.getBrightness(), groupState.getHue(),
+                groupState.getSaturation(), groupState.getColorTemperature(), groupState.getColorMode(),
+                groupState.getXY());
+        return groupState;
+    }
+
+    /**
+     * Applies the resources changed according to the event stream. Only the changed lights and sensors are fetched
+     * from the bridge, the groups of changed lights are computed from the cached light states.
+     *
+     * @param resources API v1 paths of the changed resources
+     */
+    private void onEventStreamResourcesChanged(Set<String> resources) {
+        pollingLock.lock();
+        try {
+            final HueBridge bridge = hueBridge;
+            if (bridge == null || !lastBridgeConnectionState) {
+                return;
+            }
+            Set<String> changedLights = new HashSet<>();
+            for (String resource : resources) {
+                try {
+                    if (resource.startsWith(RESOURCE_LIGHTS)) {
+                        String lightId = resource.substring(RESOURCE_LIGHTS.length());
+                        applyLightState(bridge.getFullLight(lightId), !lastLightStates.containsKey(lightId));
+                        changedLights.add(lightId);
+                    } else if (resource.startsWith(RESOURCE_SENSORS)) {
+                        String sensorId = resource.substring(RESOURCE_SENSORS.length());
+                        applySensorState(bridge.getSensor(sensorId), !lastSensorStates.containsKey(sensorId));
+                    }
+                    // group states are computed from the states of their lights
+                } catch (ApiException | IOException e) {
+                    // removed resources and connection problems are handled by the reconciliation polling
+                    logger.debug("Unable to update {} from event stream: {}", resource, e.getMessage());
+                }
+            }
+
+            if (!changedLights.isEmpty()) {
+                for (FullGroup group : lastGroupStates.values()) {
+                    if (!Collections.disjoint(group.getLightIds(), changedLights)) {
+                        applyGroupState(group.withState(computeGroupState(group)), false);
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.warn("An unexpected error occurred: {}", e.getMessage(), e);
+        } finally {
+            pollingLock.unlock();
+        }
+    }
+
+    private void startEventStream() {
+        String userName = hueBridgeConfig.getUserName();
+        if (!hueBridgeConfig.isUseEventStream() || userName == null || hueBridge == null || eventStream != null) {
+            return;
+        }
+        HueEventStream stream = new HueEventStream(hueBridge.getEventStreamURL(), userName,
+                new HueEventStream.Listener() {
+                    @Override
+                    public void onConnected() {
+                        logger.debug("Event stream of Hue bridge {} connected.", hueBridgeConfig.getIpAddress());
+                        setEventStreamConnected(eventStream, true);
+                    }
+
+                    @Override
+                    public void onResourcesChanged(Set<String> resources) {
+                        onEventStreamResourcesChanged(resources);
+                    }
+                });
+        stream.setTimeouts(5000, EVENT_STREAM_READ_TIMEOUT);
+        eventStream = stream;
+
+        Thread thread = new NamedThreadFactory("hue-eventstream-" + getThing().getUID().getId(), true)
+                .newThread(() -> runEventStream(stream));
+        eventStreamThread = thread;
+        thread.start();
+    }
+
+    private void runEventStream(HueEventStream stream) {
+        while (!stream.isClosed()) {
+            try {
+                stream.run();
+                logger.debug("Event stream of Hue bridge {} ended.", hueBridgeConfig.getIpAddress());
+            } catch (IOException e) {
+                logger.debug("Event stream of Hue bridge {} failed: {}", hueBridgeConfig.getIpAddress(),
+                        e.getMessage());
+            }
+            setEventStreamConnected(stream, false);
+            try {
+                Thread.sleep(EVENT_STREAM_RETRY_DELAY);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private synchronized void stopEventStream() {
+        HueEventStream stream = eventStream;
+        if (stream != null) {
+            stream.close();
+        }
+        eventStream = null;
+        Thread thread = eventStreamThread;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        eventStreamThread = null;
+        eventStreamConnected = false;
+    }
+
+    /**
+     * While the event stream is connected, the lights and sensors are only polled with the reconciliation interval.
+     * Without event stream the configured polling intervals are used.
+     *
+     * Once the stream has been closed by {@link #stopEventStream()}, e.g. on dispose, the polling is not restarted.
+     */
+    private synchronized void setEventStreamConnected(@Nullable HueEventStream stream, boolean connected) {
+        if (stream == null || stream.isClosed() || stream != eventStream) {
+            return;
+        }
+        if (eventStreamConnected != connected) {
+            eventStreamConnected = connected;
+            if (hueBridge != null) {
+                stopLightPolling();
+                stopSensorPolling();
+                startLightPolling();
+                startSensorPolling();
+            }
+        }
+    }
+
     private void startLightPolling() {
         ScheduledFuture<?> job = lightPollingJob;
         if (job == null || job.isCancelled()) {
@@ -604,12 +772,20 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
             } else {
                 lightPollingInterval = configPollingInterval;
             }
+            if (eventStreamConnected) {
+                lightPollingInterval = Math.max(lightPollingInterval, getReconciliationInterval());
+            }
             // Delay the first execution to give a chance to have all light and group things registered
             lightPollingJob = scheduler.scheduleWithFixedDelay(lightPollingRunnable, 3, lightPollingInterval,
                     TimeUnit.SECONDS);
         }
     }
 
+    private long getReconciliationInterval() {
+        int reconciliationInterval = hueBridgeConfig.getReconciliationInterval();
+        return reconciliationInterval < 1 ? DEFAULT_RECONCILIATION_INTERVAL : reconciliationInterval;
+    }
+
     private void stopLightPolling() {
         ScheduledFuture<?> job = lightPollingJob;
         if (job != null) {
@@ -631,6 +807,10 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                 } else {
                     sensorPollingInterval = configSensorPollingInterval;
                 }
+                if (eventStreamConnected) {
+                    sensorPollingInterval = Math.max(sensorPollingInterval,
+                            TimeUnit.SECONDS.toMillis(getReconciliationInterval()));
+                }
                 // Delay the first execution to give a chance to have all sensor things registered
                 sensorPollingJob = scheduler.scheduleWithFixedDelay(sensorPollingRunnable, 4000, sensorPollingInterval,
                         TimeUnit.MILLISECONDS);
@@ -670,6 +850,7 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         if (job != null) {
             job.cancel(true);
         }
+        stopEventStream();
         stopLightPolling();
         stopSensorPolling();
         stopScenePolling();
@@ -750,6 +931,8 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                 propertiesInitializedSuccessfully = true;
             }
         }
+
+        startEventStream();
     }
 
     /**
@@ -1035,6 +1218,20 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         return consoleScenesList;
     }
 
+    public List<String> listCommandStatisticsForConsole() {
+        final HueBridge bridge = hueBridge;
+        if (bridge == null) {
+            return List.of("No bridge connected");
+        }
+        HueCommandScheduler commandScheduler = bridge.getCommandScheduler();
+        return List.of("Queued commands: " + commandScheduler.getQueueDepth(),
+                "Sent requests: " + commandScheduler.getSentCount(),
+                "Merged commands: " + commandScheduler.getMergedCount(),
+                "Light commands replaced by group actions: " + commandScheduler.getConsolidatedCount(),
+                "Average latency: " + commandScheduler.getAverageLatency() + " ms",
+                "Maximum latency: " + commandScheduler.getMaxLatency() + " ms");
+    }
+
     @Override
     public Collection<ConfigStatusMessage> getConfigStatus() {
         // The bridge IP address to be used for checks
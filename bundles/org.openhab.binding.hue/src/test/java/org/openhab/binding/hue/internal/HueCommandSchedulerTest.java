@@ -0,0 +1,183 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.openhab.binding.hue.internal.HttpClient.Result;
+
+/**
+ * Tests {@link HueCommandScheduler}.
+ *
+ * @author agent - Initial contribution
+ */
+public class HueCommandSchedulerTest {
+
+    private static final String LIGHT_1 = "baseUrl/username/lights/1/state";
+    private static final String LIGHT_2 = "baseUrl/username/lights/2/state";
+    private static final String LIGHT_3 = "baseUrl/username/lights/3/state";
+    private static final String GROUP_1 = "baseUrl/username/groups/1/action";
+
+    private HttpClient http;
+    private ScheduledExecutorService scheduler;
+    private HueCommandScheduler commandScheduler;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        http = mock(HttpClient.class);
+        when(http.put(anyString(), anyString())).thenReturn(new Result("[]", 200));
+        scheduler = mock(ScheduledExecutorService.class);
+        commandScheduler = new HueCommandScheduler(http, scheduler);
+    }
+
+    /**
+     * Runs the queue like the scheduler would do after the first command was submitted.
+     */
+    private void runQueue() {
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler, atLeastOnce()).submit(captor.capture());
+        captor.getValue().run();
+    }
+
+    @Test
+    public void waitingCommandsForTheSameLightAreMerged() throws IOException {
+        CompletableFuture<Result> first = commandScheduler.submit(LIGHT_1, "{\"on\":true,\"bri\":10}", 0);
+        CompletableFuture<Result> second = commandScheduler.submit(LIGHT_1, "{\"bri\":100}", 0);
+        commandScheduler.submit(LIGHT_2, "{\"on\":false}", 0);
+        assertThat(commandScheduler.getQueueDepth(), is(2));
+
+        runQueue();
+
+        InOrder inOrder = inOrder(http);
+        inOrder.verify(http).put(LIGHT_1, "{\"on\":true,\"bri\":100}");
+        inOrder.verify(http).put(LIGHT_2, "{\"on\":false}");
+        verify(http, times(2)).put(anyString(), anyString());
+        assertThat(first.isDone() && second.isDone(), is(true));
+        assertThat(commandScheduler.getMergedCount(), is(1L));
+        assertThat(commandScheduler.getSentCount(), is(2L));
+        assertThat(commandScheduler.getQueueDepth(), is(0));
+    }
+
+    @Test
+    public void alertsAreNotMerged() throws IOException {
+        commandScheduler.submit(LIGHT_1, "{\"alert\":\"select\"}", 0);
+        commandScheduler.submit(LIGHT_1, "{\"alert\":\"select\"}", 0);
+        commandScheduler.submit(LIGHT_1, "{\"on\":true}", 0);
+        commandScheduler.submit(LIGHT_1, "{\"bri\":100}", 0);
+        assertThat(commandScheduler.getQueueDepth(), is(3));
+
+        runQueue();
+
+        InOrder inOrder = inOrder(http);
+        inOrder.verify(http, times(2)).put(LIGHT_1, "{\"alert\":\"select\"}");
+        inOrder.verify(http).put(LIGHT_1, "{\"on\":true,\"bri\":100}");
+        verify(http, times(3)).put(anyString(), anyString());
+        assertThat(commandScheduler.getMergedCount(), is(1L));
+    }
+
+    @Test
+    public void commandsAfterAnEmptyQueueStartANewJob() {
+        Future<?> job = mock(Future.class);
+        doReturn(job).when(scheduler).submit(any(Runnable.class));
+
+        commandScheduler.submit(LIGHT_1, "{\"on\":true}", 0);
+        // the job has returned, but its future is not done yet
+        runQueue();
+        commandScheduler.submit(LIGHT_2, "{\"on\":true}", 0);
+
+        verify(scheduler, times(2)).submit(any(Runnable.class));
+    }
+
+    @Test
+    public void commandsForAllLightsOfAGroupAreConsolidated() throws IOException {
+        commandScheduler.setGroups(Map.of(GROUP_1, Set.of(LIGHT_1, LIGHT_2)), 0, true);
+
+        CompletableFuture<Result> first = commandScheduler.submit(LIGHT_1, "{\"on\":true}", 0);
+        commandScheduler.submit(LIGHT_3, "{\"on\":false}", 0);
+        CompletableFuture<Result> second = commandScheduler.submit(LIGHT_2, "{\"on\":true}", 0);
+
+        runQueue();
+
+        verify(http).put(GROUP_1, "{\"on\":true}");
+        verify(http).put(LIGHT_3, "{\"on\":false}");
+        verify(http, times(2)).put(anyString(), anyString());
+        assertThat(first.isDone() && second.isDone(), is(true));
+        assertThat(commandScheduler.getConsolidatedCount(), is(2L));
+    }
+
+    @Test
+    public void differentCommandsAreNotConsolidated() throws IOException {
+        commandScheduler.setGroups(Map.of(GROUP_1, Set.of(LIGHT_1, LIGHT_2)), 0, true);
+
+        commandScheduler.submit(LIGHT_1, "{\"on\":true}", 0);
+        commandScheduler.submit(LIGHT_2, "{\"on\":false}", 0);
+
+        runQueue();
+
+        verify(http).put(LIGHT_1, "{\"on\":true}");
+        verify(http).put(LIGHT_2, "{\"on\":false}");
+        verify(http, never()).put(eq(GROUP_1), any());
+        assertThat(commandScheduler.getConsolidatedCount(), is(0L));
+    }
+
+    @Test
+    public void commandsAreNotMergedAcrossALaterGroupAction() throws IOException {
+        commandScheduler.setGroups(Map.of(GROUP_1, Set.of(LIGHT_1, LIGHT_2)), 0, false);
+
+        commandScheduler.submit(LIGHT_1, "{\"on\":false}", 0);
+        commandScheduler.submit(GROUP_1, "{\"on\":true,\"bri\":10}", 0);
+        commandScheduler.submit(LIGHT_1, "{\"bri\":100}", 0);
+        commandScheduler.submit(LIGHT_3, "{\"on\":true}", 0);
+        commandScheduler.submit(LIGHT_1, "{\"on\":true}", 0);
+        assertThat(commandScheduler.getQueueDepth(), is(4));
+
+        runQueue();
+
+        InOrder inOrder = inOrder(http);
+        inOrder.verify(http).put(LIGHT_1, "{\"on\":false}");
+        inOrder.verify(http).put(GROUP_1, "{\"on\":true,\"bri\":10}");
+        inOrder.verify(http).put(LIGHT_1, "{\"bri\":100,\"on\":true}");
+        verify(http, times(4)).put(anyString(), anyString());
+        assertThat(commandScheduler.getMergedCount(), is(1L));
+    }
+
+    @Test
+    public void consolidationKeepsTheOrderOfLightCommands() throws IOException {
+        commandScheduler.setGroups(Map.of(GROUP_1, Set.of(LIGHT_1, LIGHT_2)), 0, true);
+
+        commandScheduler.submit(LIGHT_1, "{\"on\":true}", 0);
+        commandScheduler.submit(LIGHT_2, "{\"alert\":\"select\"}", 0);
+        commandScheduler.submit(LIGHT_2, "{\"on\":true}", 0);
+
+        runQueue();
+
+        InOrder inOrder = inOrder(http);
+        inOrder.verify(http).put(LIGHT_1, "{\"on\":true}");
+        inOrder.verify(http).put(LIGHT_2, "{\"alert\":\"select\"}");
+        inOrder.verify(http).put(LIGHT_2, "{\"on\":true}");
+        verify(http, never()).put(eq(GROUP_1), any());
+    }
+}
@@ -0,0 +1,144 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.mockito.Mockito;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Tests {@link HueEventStream} against a local HTTP server emitting server-sent events.
+ *
+ * @author agent - Initial contribution
+ */
+@Timeout(value = 10)
+public class HueEventStreamTest {
+
+    private static final String EVENTS = ": hi\n\n" //
+            + "id: 1:0\n" //
+            + "data: [{\"creationtime\":\"2022-10-01T10:00:00Z\",\"data\":[{\"id\":\"a\",\"id_v1\":\"/lights/1\","
+            + "\"on\":{\"on\":true},\"type\":\"light\"},{\"id\":\"b\",\"id_v1\":\"/groups/2\","
+            + "\"type\":\"grouped_light\"}],"
+            + "\"id\":\"1\",\"type\":\"update\"}]\n\n" //
+            + "id: 2:0\n" //
+            + "data: [{\"data\":[{\"id\":\"c\",\"id_v1\":\"/sensors/5\",\"motion\":{\"motion\":true},"
+            + "\"type\":\"motion\"},\n" //
+            + "data: {\"id\":\"d\",\"type\":\"device\"}],\"id\":\"2\",\"type\":\"update\"}]\n\n";
+
+    private HttpServer server;
+    private final AtomicReference<String> applicationKey = new AtomicReference<>();
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/eventstream/clip/v2", exchange -> {
+            applicationKey.set(exchange.getRequestHeaders().getFirst("hue-application-key"));
+            exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(EVENTS.getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    private String getUrl() {
+        HueBridge bridge = new HueBridge("127.0.0.1", server.getAddress().getPort(), "http",
+                Mockito.mock(ScheduledExecutorService.class));
+        return bridge.getEventStreamURL();
+    }
+
+    @Test
+    public void eventsAreDispatched() throws IOException {
+        List<Set<String>> events = new ArrayList<>();
+        List<Boolean> connected = new ArrayList<>();
+        HueEventStream stream = new HueEventStream(getUrl(), "username", new HueEventStream.Listener() {
+            @Override
+            public void onConnected() {
+                connected.add(true);
+            }
+
+            @Override
+            public void onResourcesChanged(Set<String> resources) {
+                events.add(resources);
+            }
+        });
+
+        stream.run();
+
+        assertThat(applicationKey.get(), is("username"));
+        assertThat(connected.size(), is(1));
+        assertThat(events, is(List.of(Set.of("/lights/1", "/groups/2"), Set.of("/sensors/5"))));
+    }
+
+    @Test
+    public void invalidDataIsIgnored() {
+        HueEventStream stream = new HueEventStream(getUrl(), "username", new HueEventStream.Listener() {
+            @Override
+            public void onConnected() {
+            }
+
+            @Override
+            public void onResourcesChanged(Set<String> resources) {
+            }
+        });
+
+        assertThat(stream.parseResources("{\"error\":1}").isEmpty(), is(true));
+        assertThat(stream.parseResources("[{\"data\":[{\"id_v1\":\"/lights/3\"}").isEmpty(), is(true));
+    }
+
+    @Test
+    public void unauthorizedStreamFails() {
+        server.removeContext("/eventstream/clip/v2");
+        server.createContext("/eventstream/clip/v2", exchange -> {
+            exchange.sendResponseHeaders(403, -1);
+            exchange.close();
+        });
+        HueEventStream stream = new HueEventStream(getUrl(), "username", new HueEventStream.Listener() {
+            @Override
+            public void onConnected() {
+            }
+
+            @Override
+            public void onResourcesChanged(Set<String> resources) {
+            }
+        });
+
+        IOException e = assertThrows(IOException.class, stream::run);
+        assertThat(e.getMessage(), is("Event stream returned HTTP 403"));
+    }
+}
@@ -18,7 +18,17 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.junit.jupiter.api.Test;
 import org.openhab.core.library.types.DateTimeType;
 import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.OpenClosedType;
+import org.openhab.core.library.types.PercentType;
 import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.types.StopMoveType;
+import org.openhab.core.library.types.UpDownType;
+import org.openhab.core.types.Type;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
+import tuwien.auto.calimero.datapoint.Datapoint;
 
 /**
  *
@@ -278,4 +288,36 @@ public class KNXCoreTypeMapperTest {
         assertEquals("42.0", new KNXCoreTypeMapper().toDPTValue(new QuantityType<>("42 VAh"), "29.011"));
         assertEquals("42.0", new KNXCoreTypeMapper().toDPTValue(new QuantityType<>("42 varh"), "29.012"));
     }
+
+    @Test
+    @SuppressWarnings("null")
+    public void testToTypeDPT1() {
+        KNXCoreTypeMapper mapper = new KNXCoreTypeMapper();
+        assertEquals(OnOffType.ON, mapper.toType(createDP("1.001"), new byte[] { 0x01 }));
+        assertEquals(OnOffType.OFF, mapper.toType(createDP("1.001"), new byte[] { 0x00 }));
+        assertEquals(UpDownType.DOWN, mapper.toType(createDP("1.008"), new byte[] { 0x01 }));
+        assertEquals(OpenClosedType.CLOSED, mapper.toType(createDP("1.009"), new byte[] { 0x00 }));
+        assertEquals(StopMoveType.MOVE, mapper.toType(createDP("1.010"), new byte[] { 0x01 }));
+    }
+
+    @Test
+    @SuppressWarnings("null")
+    public void testToTypeNumericDPTsWithCachedTranslator() {
+        KNXCoreTypeMapper mapper = new KNXCoreTypeMapper();
+        // decode twice to make sure the cached translators do not keep stale data
+        for (int i = 0; i < 2; i++) {
+            assertEquals(new PercentType(100), mapper.toType(createDP("5.001"), new byte[] { (byte) 0xFF }));
+            assertEquals(new PercentType(0), mapper.toType(createDP("5.001"), new byte[] { 0x00 }));
+            Type type = mapper.toType(createDP("9.001"), new byte[] { 0x0C, 0x1A });
+            assertEquals(21.0, ((DecimalType) type).doubleValue(), 0.001);
+            type = mapper.toType(createDP("9.001"), new byte[] { (byte) 0x87, (byte) 0x9C });
+            assertEquals(-1.0, ((DecimalType) type).doubleValue(), 0.001);
+            type = mapper.toType(createDP("14.056"), new byte[] { 0x3F, (byte) 0x80, 0x00, 0x00 });
+            assertEquals(1.0, ((DecimalType) type).doubleValue(), 0.001);
+        }
+    }
+
+    private static Datapoint createDP(String dpt) {
+        return new CommandDP(new GroupAddress(1, 2, 3), "test", 0, dpt);
+    }
 }
@@ -13,6 +13,8 @@
 package org.openhab.binding.logreader.internal.filereader;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -29,15 +31,23 @@ import org.slf4j.LoggerFactory;
 /**
  * Apache Tailer based log file reader implementation.
  *
+ * The lines are collected while the tailer reads the file and are sent to the listeners in batches, when the end of
+ * the file is reached or the batch is full.
+ *
  * @author Pauli Anttila - Initial contribution
  */
 @NonNullByDefault
 public class FileTailer extends AbstractLogFileReader implements LogFileReader {
+    static final int MAX_BATCH_SIZE = 1000;
+
     private final Logger logger = LoggerFactory.getLogger(FileTailer.class);
 
     private @Nullable Tailer tailer;
     private @Nullable ExecutorService executor;
 
+    // only accessed by the tailer thread
+    private final List<String> lines = new ArrayList<>();
+
     TailerListener logListener = new TailerListenerAdapter() {
 
         @Override
@@ -46,7 +56,15 @@ public class FileTailer extends AbstractLogFileReader implements LogFileReader {
                 return;
             }
 
-            sendLineToListeners(line);
+            lines.add(line);
+            if (lines.size() >= MAX_BATCH_SIZE) {
+                sendLines();
+            }
+        }
+
+        @Override
+        public void endOfFileReached() {
+            sendLines();
         }
 
         @Override
@@ -60,15 +78,24 @@ public class FileTailer extends AbstractLogFileReader implements LogFileReader {
                 return;
             }
 
+            sendLines();
             sendExceptionToListeners(e);
         }
 
         @Override
         public void fileRotated() {
+            sendLines();
             sendFileRotationToListeners();
         }
     };
 
+    private void sendLines() {
+        if (!lines.isEmpty()) {
+            sendLinesToListeners(List.copyOf(lines));
+            lines.clear();
+        }
+    }
+
     @Override
     public void start(String filePath, long refreshRate) throws FileReaderException {
         Tailer localTailer = new Tailer(new File(filePath), logListener, refreshRate, true, false, true);
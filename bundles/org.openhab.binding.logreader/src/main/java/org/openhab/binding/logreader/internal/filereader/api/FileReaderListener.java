@@ -12,6 +12,8 @@
  */
 package org.openhab.binding.logreader.internal.filereader.api;
 
+import java.util.List;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 
@@ -35,11 +37,11 @@ public interface FileReaderListener {
     void fileRotated();
 
     /**
-     * This method is called when new line is detected.
+     * This method is called when new lines are detected. All lines read at once are passed together.
      *
-     * @param line the line.
+     * @param lines the lines.
      */
-    void handle(@Nullable String line);
+    void handle(List<String> lines);
 
     /**
      * This method is called when exception has occurred.
@@ -15,6 +15,9 @@ package org.openhab.binding.logreader.internal.handler;
 import static org.openhab.binding.logreader.internal.LogReaderBindingConstants.*;
 
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.PatternSyntaxException;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -22,6 +25,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.logreader.internal.config.LogReaderConfiguration;
 import org.openhab.binding.logreader.internal.filereader.api.FileReaderListener;
 import org.openhab.binding.logreader.internal.filereader.api.LogFileReader;
+import org.openhab.binding.logreader.internal.searchengine.CombinedSearchEngine;
 import org.openhab.binding.logreader.internal.searchengine.SearchEngine;
 import org.openhab.core.library.types.DateTimeType;
 import org.openhab.core.library.types.DecimalType;
@@ -46,6 +50,8 @@ import org.slf4j.LoggerFactory;
  */
 @NonNullByDefault
 public class LogHandler extends BaseThingHandler implements FileReaderListener {
+    private static final long STATISTICS_INTERVAL_NS = TimeUnit.MINUTES.toNanos(1);
+
     private final Logger logger = LoggerFactory.getLogger(LogHandler.class);
 
     private final LogFileReader fileReader;
@@ -55,6 +61,13 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
     private @Nullable SearchEngine errorEngine;
     private @Nullable SearchEngine warningEngine;
     private @Nullable SearchEngine customEngine;
+    private @Nullable CombinedSearchEngine combinedEngine;
+
+    // throughput statistics, only accessed by the file reader thread
+    private long statisticsStart;
+    private long processedLines;
+    private long processedBatches;
+    private long processingTime;
 
     public LogHandler(Thing thing, LogFileReader fileReader) {
         super(thing);
@@ -98,17 +111,25 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
         clearCounters();
 
         try {
-            warningEngine = new SearchEngine(configuration.warningPatterns, configuration.warningBlacklistingPatterns);
-            errorEngine = new SearchEngine(configuration.errorPatterns, configuration.errorBlacklistingPatterns);
+            SearchEngine warningEngine = new SearchEngine(configuration.warningPatterns,
+                    configuration.warningBlacklistingPatterns);
+            SearchEngine errorEngine = new SearchEngine(configuration.errorPatterns,
+                    configuration.errorBlacklistingPatterns);
             String customPatterns = configuration.customPatterns;
-            customEngine = new SearchEngine(customPatterns != null ? customPatterns : "",
+            SearchEngine customEngine = new SearchEngine(customPatterns != null ? customPatterns : "",
                     configuration.customBlacklistingPatterns);
+            this.warningEngine = warningEngine;
+            this.errorEngine = errorEngine;
+            this.customEngine = customEngine;
+            combinedEngine = new CombinedSearchEngine(List.of(errorEngine, warningEngine, customEngine));
         } catch (PatternSyntaxException e) {
             logger.debug("Illegal search pattern syntax '{}'. ", e.getMessage(), e);
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.OFFLINE.CONFIGURATION_ERROR, e.getMessage());
             return;
         }
 
+        resetStatistics(System.nanoTime());
+
         logger.debug("Start file reader");
 
         try {
@@ -179,8 +200,8 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
     }
 
     @Override
-    public void handle(@Nullable String line) {
-        if (line == null) {
+    public void handle(List<String> lines) {
+        if (lines.isEmpty()) {
             return;
         }
 
@@ -188,23 +209,71 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
             updateStatus(ThingStatus.ONLINE);
         }
 
-        if (errorEngine != null && errorEngine.isMatching(line)) {
-            updateChannelIfLinked(CHANNEL_ERRORS, new DecimalType(errorEngine.getMatchCount()));
-            updateChannelIfLinked(CHANNEL_LASTERROR, new StringType(line));
-            triggerChannel(CHANNEL_NEWERROR, line);
+        CombinedSearchEngine combinedEngine = this.combinedEngine;
+        if (combinedEngine == null) {
+            return;
         }
-        if (warningEngine != null && warningEngine.isMatching(line)) {
-            updateChannelIfLinked(CHANNEL_WARNINGS, new DecimalType(warningEngine.getMatchCount()));
-            updateChannelIfLinked(CHANNEL_LASTWARNING, new StringType(line));
-            triggerChannel(CHANNEL_NEWWARNING, line);
+
+        long start = System.nanoTime();
+        List<String> errors = new ArrayList<>();
+        List<String> warnings = new ArrayList<>();
+        List<String> customEvents = new ArrayList<>();
+        for (String line : lines) {
+            List<SearchEngine> matchingEngines = combinedEngine.getMatchingEngines(line);
+            for (SearchEngine engine : matchingEngines) {
+                if (engine == errorEngine) {
+                    errors.add(line);
+                } else if (engine == warningEngine) {
+                    warnings.add(line);
+                } else if (engine == customEngine) {
+                    customEvents.add(line);
+                }
+            }
         }
-        if (customEngine != null && customEngine.isMatching(line)) {
-            updateChannelIfLinked(CHANNEL_CUSTOMEVENTS, new DecimalType(customEngine.getMatchCount()));
-            updateChannelIfLinked(CHANNEL_LASTCUSTOMEVENT, new StringType(line));
-            triggerChannel(CHANNEL_NEWCUSTOM, line);
+        long end = System.nanoTime();
+        updateStatistics(lines.size(), start, end);
+
+        // the states are updated once per batch, the trigger channels are triggered for every line
+        updateChannels(errors, errorEngine, CHANNEL_ERRORS, CHANNEL_LASTERROR, CHANNEL_NEWERROR);
+        updateChannels(warnings, warningEngine, CHANNEL_WARNINGS, CHANNEL_LASTWARNING, CHANNEL_NEWWARNING);
+        updateChannels(customEvents, customEngine, CHANNEL_CUSTOMEVENTS, CHANNEL_LASTCUSTOMEVENT, CHANNEL_NEWCUSTOM);
+    }
+
+    private void updateChannels(List<String> matchingLines, @Nullable SearchEngine engine, String countChannelID,
+            String lastEventChannelID, String triggerChannelID) {
+        if (matchingLines.isEmpty() || engine == null) {
+            return;
+        }
+        updateChannelIfLinked(countChannelID, new DecimalType(engine.getMatchCount()));
+        updateChannelIfLinked(lastEventChannelID, new StringType(matchingLines.get(matchingLines.size() - 1)));
+        for (String line : matchingLines) {
+            triggerChannel(triggerChannelID, line);
+        }
+    }
+
+    private void updateStatistics(int lines, long start, long end) {
+        processedLines += lines;
+        processedBatches++;
+        processingTime += end - start;
+        long interval = end - statisticsStart;
+        if (interval >= STATISTICS_INTERVAL_NS) {
+            if (logger.isDebugEnabled()) {
+                long seconds = TimeUnit.NANOSECONDS.toSeconds(interval);
+                logger.debug("Processed {} lines in {} batches within {} s ({} lines/s), matching took {} ms",
+                        processedLines, processedBatches, seconds, processedLines / Math.max(1, seconds),
+                        TimeUnit.NANOSECONDS.toMillis(processingTime));
+            }
+            resetStatistics(end);
         }
     }
 
+    private void resetStatistics(long start) {
+        statisticsStart = start;
+        processedLines = 0;
+        processedBatches = 0;
+        processingTime = 0;
+    }
+
     @Override
     public void handle(@Nullable Exception ex) {
         final String msg = ex != null ? ex.getMessage() : "";
@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * This class checks data against several {@link SearchEngine}s at once.
+ *
+ * The search patterns of all engines are combined to a single pattern with a named group for each engine. Data not
+ * matching this pattern is rejected by a single scan, which is the common case for log files. Otherwise the engine of
+ * the first match is known to match and only the remaining engines are checked.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class CombinedSearchEngine {
+
+    private static final String GROUP_PREFIX = "searchEngine";
+
+    private final List<SearchEngine> engines;
+    private final boolean[] combined;
+    private final @Nullable Pattern combinedPattern;
+
+    /**
+     * Combine the search patterns of the engines.
+     *
+     * @param engines search engines to check the data against.
+     */
+    public CombinedSearchEngine(List<SearchEngine> engines) {
+        this.engines = List.copyOf(engines);
+        this.combined = new boolean[engines.size()];
+
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < engines.size(); i++) {
+            Pattern pattern = engines.get(i).getCombinedPattern();
+            if (pattern != null) {
+                if (builder.length() > 0) {
+                    builder.append('|');
+                }
+                builder.append("(?<").append(GROUP_PREFIX).append(i).append('>').append(pattern.pattern()).append(')');
+                combined[i] = true;
+            }
+        }
+        combinedPattern = builder.length() > 0 ? compile(builder.toString()) : null;
+    }
+
+    /**
+     * Check which of the search engines data is matching. The match count of these engines is incremented.
+     *
+     * @param data data against search will be done.
+     * @return the engines matching the data, an empty list if none is matching.
+     */
+    public List<SearchEngine> getMatchingEngines(String data) {
+        boolean combinedMatching = false;
+        int found = -1;
+        Pattern pattern = combinedPattern;
+        if (pattern != null) {
+            Matcher matcher = pattern.matcher(data);
+            combinedMatching = matcher.find();
+            for (int i = 0; combinedMatching && found < 0 && i < combined.length; i++) {
+                if (combined[i] && matcher.start(GROUP_PREFIX + i) >= 0) {
+                    found = i;
+                }
+            }
+        }
+
+        List<SearchEngine> matchingEngines = List.of();
+        for (int i = 0; i < engines.size(); i++) {
+            SearchEngine engine = engines.get(i);
+            boolean matching;
+            if (i == found) {
+                matching = engine.isMatchFound(data);
+            } else if (!engine.hasPatterns() || (combined[i] && !combinedMatching)) {
+                matching = false;
+            } else {
+                matching = engine.isMatching(data);
+            }
+            if (matching) {
+                if (matchingEngines.isEmpty()) {
+                    matchingEngines = new ArrayList<>(engines.size());
+                }
+                matchingEngines.add(engine);
+            }
+        }
+        return matchingEngines;
+    }
+
+    private @Nullable Pattern compile(String pattern) {
+        try {
+            return Pattern.compile(pattern);
+        } catch (PatternSyntaxException e) {
+            // e.g. the same group name is used by patterns of several engines, check them separately
+            Arrays.fill(combined, false);
+            return null;
+        }
+    }
+}
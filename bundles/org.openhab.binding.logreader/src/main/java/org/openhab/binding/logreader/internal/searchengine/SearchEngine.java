@@ -17,6 +17,7 @@ import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
+import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -24,13 +25,23 @@ import org.eclipse.jdt.annotation.Nullable;
 /**
  * This class implements logic for regular expression based searching.
  *
+ * The search patterns and the blacklisting patterns are each combined to a single alternation, so that a line is
+ * scanned only once for each of them. Patterns containing back references, quotes or comments can't be combined, in
+ * that case they are checked one by one.
+ *
  * @author Pauli Anttila - Initial contribution
  */
 @NonNullByDefault
 public class SearchEngine {
 
+    // unescaped back reference or quote, or the comments flag as a comment would hide the end of the wrapping group
+    private static final Pattern UNCOMBINABLE_PATTERN = Pattern
+            .compile("(?<!\\\\)(?:\\\\\\\\)*(?:\\\\(?:[1-9]|k<|Q)|\\(\\?[a-zA-Z-]*x)");
+
     private List<Pattern> matchers;
     private List<Pattern> blacklistingMatchers;
+    private @Nullable Pattern combinedMatcher;
+    private @Nullable Pattern combinedBlacklistingMatcher;
 
     private long matchCount;
 
@@ -44,6 +55,8 @@ public class SearchEngine {
     public SearchEngine(String patterns, @Nullable String blacklistingPatterns) throws PatternSyntaxException {
         matchers = compilePatterns(patterns);
         blacklistingMatchers = compilePatterns(blacklistingPatterns);
+        combinedMatcher = combinePatterns(matchers);
+        combinedBlacklistingMatcher = combinePatterns(blacklistingMatchers);
     }
 
     /**
@@ -53,15 +66,39 @@ public class SearchEngine {
      * @return true if one of the search patterns found.
      */
     public boolean isMatching(String data) {
-        if (isMatching(matchers, data)) {
-            if (notBlacklisted(data)) {
-                matchCount++;
-                return true;
-            }
+        return isMatching(combinedMatcher, matchers, data) && isMatchFound(data);
+    }
+
+    /**
+     * Check if data, which is already known to match one of the search patterns, is not blacklisted.
+     *
+     * @param data data against search will be done.
+     * @return true if the data is not blacklisted.
+     */
+    boolean isMatchFound(String data) {
+        if (notBlacklisted(data)) {
+            matchCount++;
+            return true;
         }
         return false;
     }
 
+    /**
+     * @return all search patterns combined to a single pattern or null if there are no search patterns or they can't
+     *         be combined.
+     */
+    @Nullable
+    Pattern getCombinedPattern() {
+        return combinedMatcher;
+    }
+
+    /**
+     * @return true if there are search patterns, otherwise data is never matching.
+     */
+    boolean hasPatterns() {
+        return !matchers.isEmpty();
+    }
+
     public long getMatchCount() {
         return matchCount;
     }
@@ -93,11 +130,34 @@ public class SearchEngine {
         return patternsList;
     }
 
+    /**
+     * Combine the patterns to an alternation of non-capturing groups.
+     *
+     * @param patterns patterns which will be combined.
+     * @return combined pattern or null if the list is empty or one of the patterns contains a back reference, a quote
+     *         or comments, which would change their meaning in the combined pattern.
+     */
+    private @Nullable Pattern combinePatterns(List<Pattern> patterns) {
+        if (patterns.isEmpty() || patterns.stream().anyMatch(p -> UNCOMBINABLE_PATTERN.matcher(p.pattern()).find())) {
+            return null;
+        }
+        try {
+            return Pattern
+                    .compile(patterns.stream().map(p -> "(?:" + p.pattern() + ")").collect(Collectors.joining("|")));
+        } catch (PatternSyntaxException e) {
+            // e.g. the same group name is used by several patterns
+            return null;
+        }
+    }
+
     private boolean notBlacklisted(String data) {
-        return !isMatching(blacklistingMatchers, data);
+        return !isMatching(combinedBlacklistingMatcher, blacklistingMatchers, data);
     }
 
-    private boolean isMatching(@Nullable List<Pattern> patterns, String data) {
+    private boolean isMatching(@Nullable Pattern combinedPattern, @Nullable List<Pattern> patterns, String data) {
+        if (combinedPattern != null) {
+            return combinedPattern.matcher(data).find();
+        }
         if (patterns != null) {
             for (Pattern pattern : patterns) {
                 Matcher matcher = pattern.matcher(data);
@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.filereader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.io.input.TailerListenerAdapter;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.logreader.internal.filereader.api.FileReaderListener;
+
+/**
+ * Tests that the {@link FileTailer} sends the lines read by the tailer in batches.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class FileTailerTest {
+
+    private final FileTailer fileTailer = new FileTailer();
+    private final TailerListenerAdapter tailerListener = (TailerListenerAdapter) fileTailer.logListener;
+    private final List<String> events = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        fileTailer.registerListener(new FileReaderListener() {
+            @Override
+            public void fileNotFound() {
+                events.add("not found");
+            }
+
+            @Override
+            public void fileRotated() {
+                events.add("rotated");
+            }
+
+            @Override
+            public void handle(List<String> lines) {
+                events.add(String.join(",", lines));
+            }
+
+            @Override
+            public void handle(@Nullable Exception ex) {
+                events.add("exception");
+            }
+        });
+    }
+
+    @Test
+    public void linesAreSentAtEndOfFile() {
+        tailerListener.handle("a");
+        tailerListener.handle("b");
+        assertEquals(List.of(), events);
+
+        tailerListener.endOfFileReached();
+        assertEquals(List.of("a,b"), events);
+
+        // no empty batches
+        tailerListener.endOfFileReached();
+        assertEquals(List.of("a,b"), events);
+    }
+
+    @Test
+    public void linesAreSentBeforeRotation() {
+        tailerListener.handle("a");
+        tailerListener.fileRotated();
+        tailerListener.handle("b");
+        tailerListener.endOfFileReached();
+        assertEquals(List.of("a", "rotated", "b"), events);
+    }
+
+    @Test
+    public void linesAreSentBeforeException() {
+        tailerListener.handle("a");
+        tailerListener.handle(new IOException());
+        assertEquals(List.of("a", "exception"), events);
+    }
+
+    @Test
+    public void fullBatchesAreSent() {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < FileTailer.MAX_BATCH_SIZE; i++) {
+            lines.add(String.valueOf(i));
+            tailerListener.handle(String.valueOf(i));
+        }
+        assertEquals(List.of(String.join(",", lines)), events);
+
+        tailerListener.handle("last");
+        tailerListener.endOfFileReached();
+        assertEquals(List.of(String.join(",", lines), "last"), events);
+    }
+}
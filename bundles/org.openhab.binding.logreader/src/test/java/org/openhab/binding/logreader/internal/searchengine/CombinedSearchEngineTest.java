@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that the {@link CombinedSearchEngine} finds the same engines as checking each engine one by one.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class CombinedSearchEngineTest {
+
+    @Test
+    public void blacklistedFirstMatchDoesNotHideOtherEngines() {
+        List<SearchEngine> engines = assertEquivalent(new String[][] { { "ERROR", "ignored" }, { "ignored", "" } },
+                List.of("ERROR ignored", "ignored ERROR", "ERROR", "ignored"));
+        assertEquals(1, engines.get(0).getMatchCount());
+        assertEquals(3, engines.get(1).getMatchCount());
+    }
+
+    @Test
+    public void enginesWithBackReferencesAreCheckedSeparately() {
+        assertEquivalent(new String[][] { { "(b)c", "" }, { "(a)\\1", "" }, { "(?<y>d)\\k<y>", "" } },
+                List.of("aa", "bc", "dd", "ab", "bcaa"));
+    }
+
+    @Test
+    public void escapedBackslashesBeforeDigitsAreCombined() {
+        assertEquivalent(new String[][] { { "\\\\1", "" }, { "x", "\\\\2" } }, List.of("\\1", "1", "x", "x\\2"));
+    }
+
+    @Test
+    public void enginesWithQuotesWithoutEndAreCheckedSeparately() {
+        assertEquivalent(new String[][] { { "\\Qa.b", "" }, { "c", "" } }, List.of("a.b", "axb", "c", "a.b c"));
+    }
+
+    @Test
+    public void duplicateNamedGroupsAcrossEnginesAreCheckedSeparately() {
+        assertEquivalent(new String[][] { { "(?<n>a)x", "" }, { "(?<n>b)y", "" }, { "(?<searchEngine0>c)", "" } },
+                List.of("ax", "by", "c", "axby", "ay"));
+    }
+
+    @Test
+    public void enginesWithCommentsAreCheckedSeparately() {
+        assertEquivalent(new String[][] { { "(?x)a b # comment", "" }, { "c", "" }, { "(?x: d )", "" } },
+                List.of("ab", "a b", "c", "comment", "d", "abc"));
+    }
+
+    @Test
+    public void enginesWithoutPatternsAreNeverMatching() {
+        assertEquivalent(new String[][] { { "", "" }, { "a", "" } }, List.of("a", "b", ""));
+    }
+
+    /**
+     * Creates an engine for each pair of search and blacklisting patterns and checks that the combined search engine
+     * finds the same engines for each line as checking the engines one by one.
+     */
+    private List<SearchEngine> assertEquivalent(String[][] patterns, List<String> lines) {
+        List<SearchEngine> engines = new ArrayList<>();
+        for (String[] enginePatterns : patterns) {
+            engines.add(new SearchEngine(enginePatterns[0], enginePatterns[1]));
+        }
+        CombinedSearchEngine combinedEngine = new CombinedSearchEngine(engines);
+        for (String line : lines) {
+            List<SearchEngine> expected = new ArrayList<>();
+            for (int i = 0; i < patterns.length; i++) {
+                if (SearchEngineTest.isMatchingOneByOne(patterns[i][0], patterns[i][1], line)) {
+                    expected.add(engines.get(i));
+                }
+            }
+            assertEquals(expected, combinedEngine.getMatchingEngines(line), line);
+        }
+        return engines;
+    }
+}
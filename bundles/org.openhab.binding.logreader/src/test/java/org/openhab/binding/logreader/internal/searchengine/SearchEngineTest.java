@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that the combined patterns of the {@link SearchEngine} match the same lines as checking the patterns one by
+ * one.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SearchEngineTest {
+
+    @Test
+    public void blacklistedLinesAreNotMatching() {
+        assertEquivalent("ERROR|WARN", "ignore|skip",
+                List.of("ERROR", "WARN", "ERROR ignore", "WARN skip", "INFO", "INFO ignore"));
+    }
+
+    @Test
+    public void backReferencesAreNotCombined() {
+        // combined, \1 would refer to the group of the first pattern
+        SearchEngine engine = assertEquivalent("(b)c|(a)\\1", "", List.of("aa", "bc", "ab", "bb"));
+        assertNull(engine.getCombinedPattern());
+
+        engine = assertEquivalent("(?<x>b)c|(?<y>a)\\k<y>", "", List.of("aa", "bc", "ab"));
+        assertNull(engine.getCombinedPattern());
+    }
+
+    @Test
+    public void escapedBackslashesBeforeDigitsAreCombined() {
+        SearchEngine engine = assertEquivalent("\\\\1|b", "", List.of("\\1", "1", "b", "a"));
+        assertNotNull(engine.getCombinedPattern());
+
+        // an escaped backslash followed by a back reference
+        engine = assertEquivalent("(a)\\\\\\1|b", "", List.of("a\\a", "a\\1", "b"));
+        assertNull(engine.getCombinedPattern());
+    }
+
+    @Test
+    public void quotesWithoutEndAreNotCombined() {
+        // combined, the quote would continue into the following patterns
+        SearchEngine engine = assertEquivalent("\\Qa.b|c", "", List.of("a.b", "axb", "c", "(?:c)"));
+        assertNull(engine.getCombinedPattern());
+
+        engine = assertEquivalent("\\\\Q|c", "", List.of("\\Q", "Q", "c"));
+        assertNotNull(engine.getCombinedPattern());
+    }
+
+    @Test
+    public void duplicateNamedGroupsAreNotCombined() {
+        SearchEngine engine = assertEquivalent("(?<n>a)x|(?<n>b)y", "", List.of("ax", "by", "ay"));
+        assertNull(engine.getCombinedPattern());
+    }
+
+    @Test
+    public void commentsAreNotCombined() {
+        // combined, the comment would hide the end of the wrapping group
+        SearchEngine engine = assertEquivalent("(?x)a b # comment|c", "", List.of("ab", "a b", "c", "comment"));
+        assertNull(engine.getCombinedPattern());
+
+        engine = assertEquivalent("(?ix: a b )|c", "(?-ix)B # C", List.of("AB", "ab", "c", "aB #"));
+        assertNull(engine.getCombinedPattern());
+    }
+
+    @Test
+    public void flagsOfAPatternDoNotApplyToOtherPatterns() {
+        SearchEngine engine = assertEquivalent("(?i)a|b", "", List.of("A", "a", "b", "B"));
+        assertNotNull(engine.getCombinedPattern());
+    }
+
+    @Test
+    public void matchesAreCounted() {
+        SearchEngine engine = new SearchEngine("ERROR|WARN", "ignore");
+        engine.isMatching("ERROR");
+        engine.isMatching("WARN");
+        engine.isMatching("ERROR ignore");
+        engine.isMatching("INFO");
+        assertEquals(2, engine.getMatchCount());
+    }
+
+    private SearchEngine assertEquivalent(String patterns, String blacklistingPatterns, List<String> lines) {
+        SearchEngine engine = new SearchEngine(patterns, blacklistingPatterns);
+        for (String line : lines) {
+            assertEquals(isMatchingOneByOne(patterns, blacklistingPatterns, line), engine.isMatching(line), line);
+        }
+        return engine;
+    }
+
+    /**
+     * Checks the data against each of the patterns, like the search engine did before combining the patterns.
+     */
+    static boolean isMatchingOneByOne(String patterns, String blacklistingPatterns, String data) {
+        return isAnyPatternFound(patterns, data) && !isAnyPatternFound(blacklistingPatterns, data);
+    }
+
+    private static boolean isAnyPatternFound(String patterns, String data) {
+        if (!patterns.isEmpty()) {
+            for (String pattern : patterns.split("\\|")) {
+                if (Pattern.compile(pattern).matcher(data).find()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
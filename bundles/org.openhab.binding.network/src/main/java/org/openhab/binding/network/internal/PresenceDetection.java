@@ -19,8 +19,8 @@ import java.net.SocketException;
 import java.net.UnknownHostException;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -36,7 +36,9 @@ import org.openhab.binding.network.internal.utils.NetworkUtils;
 import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
 import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
 import org.openhab.binding.network.internal.utils.PingResult;
+import org.openhab.binding.network.internal.utils.ProbeStatistics;
 import org.openhab.core.cache.ExpiringCache;
+import org.openhab.core.common.ThreadPoolManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -51,6 +53,11 @@ import org.slf4j.LoggerFactory;
 public class PresenceDetection implements IPRequestReceivedCallback {
 
     private static final int DESTINATION_TTL = 300 * 1000; // in ms, 300 s
+    private static final String PROBE_THREAD_POOL_NAME = "networkPresence";
+    private static final ProbeStatistics PROBE_STATISTICS = new ProbeStatistics();
+
+    // The time the latest check of any presence detection started, the shared pool is busy while this is recent
+    private static volatile long lastProbeStartNanos = System.nanoTime();
 
     NetworkUtils networkUtils = new NetworkUtils();
     private final Logger logger = LoggerFactory.getLogger(PresenceDetection.class);
@@ -78,10 +85,14 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     ExpiringCacheAsync<PresenceDetectionValue> cache;
     private final PresenceDetectionListener updateListener;
     private @Nullable ScheduledFuture<?> refreshJob;
-    protected @Nullable ExecutorService executorService;
+    @Nullable
+    CountDownLatch detectionLatch;
     private String dhcpState = "off";
     private Integer currentCheck = 0;
     int detectionChecks;
+    private int startedChecks;
+    private long lastCheckStartNanos;
+    private long detectionStartInMS;
 
     public PresenceDetection(final PresenceDetectionListener updateListener, int cacheDeviceStateTimeInMS)
             throws IllegalArgumentException {
@@ -253,14 +264,17 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         cache.getValue(callback);
     }
 
-    public ExecutorService getThreadsFor(int threadCount) {
-        return Executors.newFixedThreadPool(threadCount);
+    /**
+     * Return the executor for the checks of a presence detection.
+     */
+    public ExecutorService getExecutorService() {
+        return ThreadPoolManager.getPool(PROBE_THREAD_POOL_NAME);
     }
 
     /**
      * Perform a presence detection with ICMP-, ARP ping and
-     * TCP connection attempts simultaneously. A fixed thread pool will be created with as many
-     * thread as necessary to perform all tests at once.
+     * TCP connection attempts simultaneously. The checks are run by a thread pool shared
+     * by all presence detections, the timeout of a check starts when it runs.
      *
      * This is a NO-OP, if there is already an ongoing detection or if the cached value
      * is not expired yet.
@@ -274,7 +288,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * @return Return true if a presence detection is performed and false otherwise.
      */
     public boolean performPresenceDetection(boolean waitForDetectionToFinish) {
-        if (executorService != null) {
+        if (detectionLatch != null) {
             logger.debug(
                     "There is already an ongoing presence discovery for {} and a new one was issued by the scheduler! TCP Port {}",
                     hostname, tcpPorts);
@@ -301,46 +315,38 @@ public class PresenceDetection implements IPRequestReceivedCallback {
             return false;
         }
 
-        final ExecutorService executorService = getThreadsFor(detectionChecks);
-        this.executorService = executorService;
+        final ExecutorService executorService = getExecutorService();
+        final CountDownLatch latch = new CountDownLatch(detectionChecks);
+        synchronized (this) {
+            this.detectionLatch = latch;
+            startedChecks = 0;
+            lastCheckStartNanos = System.nanoTime();
+            detectionStartInMS = System.currentTimeMillis();
+        }
 
         for (Integer tcpPort : tcpPorts) {
-            executorService.execute(() -> {
-                Thread.currentThread().setName("presenceDetectionTCP_" + hostname + " " + String.valueOf(tcpPort));
-                performServicePing(tcpPort);
-                checkIfFinished();
-            });
+            executeCheck(executorService, latch, () -> performServicePing(tcpPort));
         }
 
-        // ARP ping for IPv4 addresses. Use single executor for Windows tool and
-        // each own executor for each network interface for other tools
+        // ARP ping for IPv4 addresses. Use single check for Windows tool and
+        // each own check for each network interface for other tools
         if (arpPingMethod == ArpPingUtilEnum.ELI_FULKERSON_ARP_PING_FOR_WINDOWS) {
-            executorService.execute(() -> {
-                Thread.currentThread().setName("presenceDetectionARP_" + hostname + " ");
-                // arp-ping.exe tool capable of handling multiple interfaces by itself
-                performARPping("");
-                checkIfFinished();
-            });
+            // arp-ping.exe tool capable of handling multiple interfaces by itself
+            executeCheck(executorService, latch, () -> performARPping(""));
         } else if (interfaceNames != null) {
             for (final String interfaceName : interfaceNames) {
-                executorService.execute(() -> {
-                    Thread.currentThread().setName("presenceDetectionARP_" + hostname + " " + interfaceName);
-                    performARPping(interfaceName);
-                    checkIfFinished();
-                });
+                executeCheck(executorService, latch, () -> performARPping(interfaceName));
             }
         }
 
         // ICMP ping
         if (pingMethod != null) {
-            executorService.execute(() -> {
+            executeCheck(executorService, latch, () -> {
                 if (pingMethod != IpPingMethodEnum.JAVA_PING) {
-                    Thread.currentThread().setName("presenceDetectionICMP_" + hostname);
                     performSystemPing();
                 } else {
                     performJavaPing();
                 }
-                checkIfFinished();
             });
         }
 
@@ -351,28 +357,72 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         return true;
     }
 
+    private void executeCheck(ExecutorService executorService, CountDownLatch latch, Runnable check) {
+        executorService.execute(() -> {
+            if (checkStarted(latch)) {
+                check.run();
+                checkIfFinished(latch);
+            }
+        });
+    }
+
+    /**
+     * Records the start of a check, its timeout starts now.
+     *
+     * @param latch the latch of the detection process the check belongs to
+     * @return false if the detection process has already finished and the check can be skipped
+     */
+    private synchronized boolean checkStarted(CountDownLatch latch) {
+        if (latch != detectionLatch) {
+            return false;
+        }
+        long now = System.nanoTime();
+        lastProbeStartNanos = now;
+        startedChecks++;
+        lastCheckStartNanos = now;
+        return true;
+    }
+
+    /**
+     * Returns the time until which the checks of the detection process are waited for. This is the timeout after
+     * the latest start of a check. Checks that are still waiting for a thread of the shared pool extend the wait
+     * as long as the pool keeps starting checks, otherwise they would be reported as unreachable without running.
+     *
+     * @param latch the latch of the detection process
+     * @param timeoutNanos the timeout of a check
+     */
+    private synchronized long getWaitDeadline(CountDownLatch latch, long timeoutNanos) {
+        if (latch != detectionLatch) {
+            return System.nanoTime();
+        }
+        long deadline = lastCheckStartNanos + timeoutNanos;
+        if (startedChecks < detectionChecks && lastProbeStartNanos + timeoutNanos - deadline > 0) {
+            deadline = lastProbeStartNanos + timeoutNanos;
+        }
+        return deadline;
+    }
+
     /**
      * Calls updateListener.finalDetectionResult() with a final result value.
      * Safe to be called from different threads. After a call to this method,
-     * the presence detection process is finished and all threads are forcefully
-     * shut down.
+     * the presence detection process is finished and results of checks that are
+     * still running are ignored.
      */
     private synchronized void submitFinalResult() {
         // Do nothing if we are not in a detection process
-        ExecutorService service = executorService;
-        if (service == null) {
+        if (detectionLatch == null) {
             return;
         }
         // Finish the detection process
-        service.shutdownNow();
-        executorService = null;
+        detectionLatch = null;
         detectionChecks = 0;
 
         PresenceDetectionValue v;
 
         // The cache will be expired by now if cache_time < timeoutInMS. But the device might be actually reachable.
         // Therefore use lastSeenInMS here and not cache.isExpired() to determine if we got a ping response.
-        if (lastSeenInMS + timeoutInMS + 100 < System.currentTimeMillis()) {
+        // Checks waiting for the shared pool may make the detection take longer than the timeout.
+        if (lastSeenInMS + timeoutInMS + 100 < System.currentTimeMillis() && lastSeenInMS < detectionStartInMS) {
             // We haven't seen the device in the detection process
             v = new PresenceDetectionValue(hostname, -1);
         } else {
@@ -393,8 +443,15 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * If the counter equals the total checks,the final result is submitted. This will
      * happen way before the "timeoutInMS", if all checks were successful.
      * Thread safe.
+     *
+     * @param latch the latch of the detection process the check belongs to
      */
-    private synchronized void checkIfFinished() {
+    private synchronized void checkIfFinished(CountDownLatch latch) {
+        latch.countDown();
+        if (latch != detectionLatch) {
+            // the check belongs to a detection process that has already finished
+            return;
+        }
         currentCheck += 1;
         if (currentCheck < detectionChecks) {
             return;
@@ -407,18 +464,25 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * if no presence detection is performed right now.
      */
     public void waitForPresenceDetection() {
-        ExecutorService service = executorService;
-        if (service == null) {
+        CountDownLatch latch = detectionLatch;
+        if (latch == null) {
             return;
         }
         try {
             // We may get interrupted here by cancelRefreshJob().
-            service.awaitTermination(timeoutInMS + 100, TimeUnit.MILLISECONDS);
+            long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutInMS + 100);
+            long remaining;
+            while ((remaining = getWaitDeadline(latch, timeoutNanos) - System.nanoTime()) > 0) {
+                if (latch.await(remaining, TimeUnit.NANOSECONDS)) {
+                    break;
+                }
+            }
             submitFinalResult();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt(); // Reset interrupt flag
-            service.shutdownNow();
-            executorService = null;
+            synchronized (this) {
+                detectionLatch = null;
+            }
         }
     }
 
@@ -453,6 +517,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
             InetAddress destinationAddress = destination.getValue();
             if (destinationAddress != null) {
                 networkUtils.servicePing(destinationAddress.getHostAddress(), tcpPort, timeoutInMS).ifPresent(o -> {
+                    PROBE_STATISTICS.record(o);
                     if (o.isSuccess()) {
                         PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.TCP_CONNECTION,
                                 getLatency(o, preferResponseTimeAsLatency));
@@ -489,6 +554,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
 
             networkUtils.nativeARPPing(arpPingMethod, arpPingUtilPath, interfaceName,
                     destinationAddress.getHostAddress(), timeoutInMS).ifPresent(o -> {
+                        PROBE_STATISTICS.record(o);
                         if (o.isSuccess()) {
                             PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ARP_PING,
                                     getLatency(o, preferResponseTimeAsLatency));
@@ -517,6 +583,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         }
 
         networkUtils.javaPing(timeoutInMS, destinationAddress).ifPresent(o -> {
+            PROBE_STATISTICS.record(o);
             if (o.isSuccess()) {
                 PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ICMP_PING,
                         getLatency(o, preferResponseTimeAsLatency));
@@ -534,6 +601,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
             }
 
             networkUtils.nativePing(pingMethod, destinationAddress.getHostAddress(), timeoutInMS).ifPresent(o -> {
+                PROBE_STATISTICS.record(o);
                 if (o.isSuccess()) {
                     PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ICMP_PING,
                             getLatency(o, preferResponseTimeAsLatency));
@@ -14,6 +14,7 @@ package org.openhab.binding.network.internal.discovery;
 
 import static org.openhab.binding.network.internal.NetworkBindingConstants.*;
 
+import java.io.IOException;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -21,8 +22,8 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -33,6 +34,7 @@ import org.openhab.binding.network.internal.PresenceDetection;
 import org.openhab.binding.network.internal.PresenceDetectionListener;
 import org.openhab.binding.network.internal.PresenceDetectionValue;
 import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.core.common.NamedThreadFactory;
 import org.openhab.core.config.core.Configuration;
 import org.openhab.core.config.discovery.AbstractDiscoveryService;
 import org.openhab.core.config.discovery.DiscoveryResultBuilder;
@@ -48,7 +50,8 @@ import org.slf4j.LoggerFactory;
 /**
  * The {@link NetworkDiscoveryService} is responsible for discovering devices on
  * the current Network. It uses every Network Interface which is connected to a network.
- * It tries common TCP ports to connect to, ICMP pings and ARP pings.
+ * It tries common TCP ports to connect to, ICMP pings and ARP pings. The TCP ports are scanned
+ * with non-blocking connection attempts by the {@link TcpConnectScanner}.
  *
  * @author Marc Mettke - Initial contribution
  * @author David Graeff - Rewritten
@@ -58,6 +61,8 @@ import org.slf4j.LoggerFactory;
 public class NetworkDiscoveryService extends AbstractDiscoveryService implements PresenceDetectionListener {
     static final int PING_TIMEOUT_IN_MS = 500;
     static final int MAXIMUM_IPS_PER_INTERFACE = 255;
+    // A /16 network, also used if all IPs of an interface should be scanned
+    static final int MAXIMUM_IPS_PER_INTERFACE_LIMIT = 65534;
     private static final long DISCOVERY_RESULT_TTL = TimeUnit.MINUTES.toSeconds(10);
     private final Logger logger = LoggerFactory.getLogger(NetworkDiscoveryService.class);
 
@@ -66,15 +71,58 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     // TCP port 1025 (Xbox / MS-RPC)
     private Set<Integer> tcpServicePorts = Collections
             .unmodifiableSet(Stream.of(80, 548, 554, 1025).collect(Collectors.toSet()));
-    private AtomicInteger scannedIPcount = new AtomicInteger(0);
     private @Nullable ExecutorService executorService = null;
+    private @Nullable TcpConnectScanner tcpScanner = null;
+    private volatile boolean scanCancelled;
     private final NetworkBindingConfiguration configuration = new NetworkBindingConfiguration();
+    private volatile NetworkDiscoveryConfiguration discoveryConfiguration = new NetworkDiscoveryConfiguration();
     private final NetworkUtils networkUtils = new NetworkUtils();
 
     public NetworkDiscoveryService() {
-        super(SUPPORTED_THING_TYPES_UIDS, (int) Math.round(
-                new NetworkUtils().getNetworkIPs(MAXIMUM_IPS_PER_INTERFACE).size() * (PING_TIMEOUT_IN_MS / 1000.0)),
-                false);
+        // the timeout depends on the configuration, see getScanTimeout()
+        super(SUPPORTED_THING_TYPES_UIDS, 0, false);
+    }
+
+    /**
+     * Estimates the duration of a scan from the number of IPs the current configuration scans.
+     */
+    @Override
+    public int getScanTimeout() {
+        final NetworkDiscoveryConfiguration config = discoveryConfiguration;
+        return getScanTimeout(networkUtils.getNetworkIPCount(getMaxHostsPerInterface(config)), tcpServicePorts.size(),
+                config);
+    }
+
+    /**
+     * Estimates the duration of a scan in seconds. The TCP connection attempts are limited by the configured rate
+     * and the number of attempts in flight, the presence detections afterwards check each IP once.
+     *
+     * @param hostCount The number of IPs to scan
+     * @param portCount The number of TCP ports to connect to per IP
+     * @param config The discovery configuration
+     * @return The estimated duration in seconds
+     */
+    static int getScanTimeout(int hostCount, int portCount, NetworkDiscoveryConfiguration config) {
+        double attemptsPerSecond = Math.max(1, config.maxConnectionAttempts) * 1000.0 / PING_TIMEOUT_IN_MS;
+        if (config.maxConnectionAttemptsPerSecond > 0) {
+            attemptsPerSecond = Math.min(attemptsPerSecond, config.maxConnectionAttemptsPerSecond);
+        }
+        double tcpSeconds = (double) hostCount * portCount / attemptsPerSecond + PING_TIMEOUT_IN_MS / 1000.0;
+
+        // a presence detection sends an ICMP and an ARP ping, each waiting up to the ping timeout
+        long detectionRounds = (hostCount + Math.max(1, config.maxPingDetections) - 1)
+                / Math.max(1, config.maxPingDetections);
+        double pingSeconds = detectionRounds * 2 * PING_TIMEOUT_IN_MS / 1000.0;
+
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1, Math.ceil(tcpSeconds + pingSeconds)));
+    }
+
+    /**
+     * Returns the number of IPs scanned per interface, scanning all IPs is limited to a /16 network.
+     */
+    static int getMaxHostsPerInterface(NetworkDiscoveryConfiguration config) {
+        return config.maxHostsPerInterface <= 0 ? MAXIMUM_IPS_PER_INTERFACE_LIMIT
+                : Math.min(config.maxHostsPerInterface, MAXIMUM_IPS_PER_INTERFACE_LIMIT);
     }
 
     @Override
@@ -92,14 +140,13 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
         // configuration, the values are automatically available in all handlers. Because they all
         // share the same instance.
         configuration.update(new Configuration(config).as(NetworkBindingConfiguration.class));
+        discoveryConfiguration = new Configuration(config).as(NetworkDiscoveryConfiguration.class);
     }
 
     @Override
     @Deactivate
     protected void deactivate() {
-        if (executorService != null) {
-            executorService.shutdown();
-        }
+        stopScan();
         super.deactivate();
     }
 
@@ -121,60 +168,122 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     }
 
     /**
-     * Starts the DiscoveryThread for each IP on each interface on the network
+     * Starts the discovery thread, which scans every IP on each interface on the network
      */
     @Override
-    protected void startScan() {
-        if (executorService == null) {
-            executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
-        }
-        final ExecutorService service = executorService;
-        if (service == null) {
+    protected synchronized void startScan() {
+        if (executorService != null) {
+            logger.debug("There is already an ongoing network discovery");
             return;
         }
+        final ExecutorService service = Executors.newSingleThreadExecutor(new NamedThreadFactory("networkDiscovery"));
+        executorService = service;
+        scanCancelled = false;
+
         removeOlderResults(getTimestampOfLastScan(), null);
         logger.trace("Starting Network Device Discovery");
 
-        final Set<String> networkIPs = networkUtils.getNetworkIPs(MAXIMUM_IPS_PER_INTERFACE);
-        scannedIPcount.set(0);
+        final NetworkDiscoveryConfiguration config = discoveryConfiguration;
+        final Set<String> networkIPs = networkUtils.getNetworkIPs(getMaxHostsPerInterface(config));
+        final TcpConnectScanner scanner = new TcpConnectScanner(PING_TIMEOUT_IN_MS, config.maxConnectionAttempts,
+                config.maxConnectionAttemptsPerSecond);
+        tcpScanner = scanner;
+
+        service.execute(() -> {
+            scan(networkIPs, scanner, config);
+            stopScan();
+        });
+    }
+
+    /**
+     * Scans the given IPs for open TCP ports first and pings them afterwards. Results are submitted as they arrive.
+     */
+    private void scan(Set<String> networkIPs, TcpConnectScanner scanner, NetworkDiscoveryConfiguration config) {
+        final long start = System.nanoTime();
+
+        try {
+            scanner.scan(networkIPs, tcpServicePorts, this::newServiceDevice);
+        } catch (IOException e) {
+            logger.warn("Failed to scan for TCP services: {}", e.getMessage());
+        }
+
+        // Ping devices, the number of concurrent presence detections is limited by the permits
+        final int maxPermits = Math.max(1, config.maxPingDetections);
+        final Semaphore permits = new Semaphore(maxPermits);
+        final PresenceDetectionListener listener = new PresenceDetectionListener() {
+            @Override
+            public void partialDetectionResult(PresenceDetectionValue value) {
+                NetworkDiscoveryService.this.partialDetectionResult(value);
+            }
 
+            @Override
+            public void finalDetectionResult(PresenceDetectionValue value) {
+                permits.release();
+            }
+        };
+        int scannedIPcount = 0;
         for (String ip : networkIPs) {
-            final PresenceDetection s = new PresenceDetection(this, 2000);
+            if (!acquire(permits, 1)) {
+                return;
+            }
+
+            final PresenceDetection s = new PresenceDetection(listener, 2000);
             s.setHostname(ip);
             s.setIOSDevice(true);
             s.setUseDhcpSniffing(false);
             s.setTimeout(PING_TIMEOUT_IN_MS);
-            // Ping devices
             s.setUseIcmpPing(true);
             s.setUseArpPing(true, configuration.arpPingToolPath, configuration.arpPingUtilMethod);
-            // TCP devices
-            s.setServicePorts(tcpServicePorts);
-
-            service.execute(() -> {
-                Thread.currentThread().setName("Discovery thread " + ip);
-                s.performPresenceDetection(true);
-                int count = scannedIPcount.incrementAndGet();
-                if (count == networkIPs.size()) {
-                    logger.trace("Scan of {} IPs successful", scannedIPcount);
-                    stopScan();
+            if (!s.performPresenceDetection(false)) {
+                permits.release();
+            }
+            scannedIPcount++;
+        }
+
+        // Wait for the running presence detections, their results are submitted until then
+        if (!acquire(permits, maxPermits)) {
+            return;
+        }
+
+        double seconds = Math.max(System.nanoTime() - start, 1) / 1e9;
+        logger.debug("Scan of {} IPs finished in {} s ({} hosts/s)", scannedIPcount, String.format("%.1f", seconds),
+                String.format("%.1f", scannedIPcount / seconds));
+    }
+
+    /**
+     * Waits for the given number of permits. Returns false if the scan has been cancelled in the meantime.
+     */
+    private boolean acquire(Semaphore permits, int count) {
+        try {
+            while (!permits.tryAcquire(count, PING_TIMEOUT_IN_MS, TimeUnit.MILLISECONDS)) {
+                if (scanCancelled) {
+                    return false;
                 }
-            });
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Reset interrupt flag
+            return false;
         }
+        if (scanCancelled) {
+            permits.release(count);
+            return false;
+        }
+        return true;
     }
 
     @Override
     protected synchronized void stopScan() {
         super.stopScan();
+        scanCancelled = true;
+        final TcpConnectScanner scanner = tcpScanner;
+        if (scanner != null) {
+            scanner.cancel();
+            tcpScanner = null;
+        }
         final ExecutorService service = executorService;
         if (service == null) {
             return;
         }
-
-        try {
-            service.awaitTermination(PING_TIMEOUT_IN_MS, TimeUnit.MILLISECONDS);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt(); // Reset interrupt flag
-        }
         service.shutdown();
         executorService = null;
     }
@@ -185,7 +294,7 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     }
 
     /**
-     * Submit newly discovered devices. This method is called by the spawned threads in {@link startScan}.
+     * Submit newly discovered devices. This method is called by the threads started in {@link startScan}.
      *
      * @param ip The device IP
      * @param tcpPort The TCP port
@@ -228,7 +337,7 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     }
 
     /**
-     * Submit newly discovered devices. This method is called by the spawned threads in {@link startScan}.
+     * Submit newly discovered devices. This method is called by the threads started in {@link startScan}.
      *
      * @param ip The device IP
      */
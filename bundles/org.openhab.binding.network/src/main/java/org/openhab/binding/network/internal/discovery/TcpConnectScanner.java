@@ -0,0 +1,274 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.discovery;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link TcpConnectScanner} checks a range of hosts for open TCP ports. It uses non-blocking
+ * connection attempts on a single selector, so that many attempts can be in flight without a
+ * thread per attempt. The number of attempts in flight and the rate of new attempts are limited.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class TcpConnectScanner {
+
+    private static final long PROGRESS_INTERVAL_NS = TimeUnit.SECONDS.toNanos(5);
+
+    private final Logger logger = LoggerFactory.getLogger(TcpConnectScanner.class);
+
+    private final int timeoutInMS;
+    private final int maxInFlight;
+    private final int maxPerSecond;
+
+    private volatile boolean cancelled;
+    private volatile @Nullable Selector selector;
+
+    /**
+     * Listener for open ports. Called on the scanning thread.
+     */
+    public interface Listener {
+        void serviceReachable(String ip, int port);
+    }
+
+    private static class Attempt {
+        final String ip;
+        final int port;
+        final SocketChannel channel;
+        final long deadline;
+        boolean done;
+
+        Attempt(String ip, int port, SocketChannel channel, long deadline) {
+            this.ip = ip;
+            this.port = port;
+            this.channel = channel;
+            this.deadline = deadline;
+        }
+    }
+
+    /**
+     * @param timeoutInMS the timeout of a single connection attempt
+     * @param maxInFlight the maximum number of connection attempts in flight
+     * @param maxPerSecond the maximum number of new connection attempts per second or 0 for no limit
+     */
+    public TcpConnectScanner(int timeoutInMS, int maxInFlight, int maxPerSecond) {
+        this.timeoutInMS = timeoutInMS;
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.maxPerSecond = Math.max(0, maxPerSecond);
+    }
+
+    /**
+     * Try to connect to every given port of every given host. Blocks until all attempts are finished
+     * or the scan is cancelled.
+     *
+     * @param ips the IP addresses of the hosts
+     * @param ports the TCP ports
+     * @param listener the listener for open ports
+     * @return the number of finished connection attempts
+     * @throws IOException if the selector cannot be opened
+     */
+    public long scan(Collection<String> ips, Set<Integer> ports, Listener listener) throws IOException {
+        final List<Integer> portList = ports.stream().sorted().collect(Collectors.toList());
+        if (portList.isEmpty()) {
+            return 0;
+        }
+        final long total = (long) ips.size() * portList.size();
+        final Iterator<String> ipIterator = ips.iterator();
+        final long intervalNs = maxPerSecond == 0 ? 0 : TimeUnit.SECONDS.toNanos(1) / maxPerSecond;
+        final long timeoutNs = TimeUnit.MILLISECONDS.toNanos(timeoutInMS);
+        final long start = System.nanoTime();
+
+        ArrayDeque<Attempt> attempts = new ArrayDeque<>();
+        String ip = null;
+        int portIndex = portList.size();
+        int inFlight = 0;
+        long finished = 0;
+        long nextAttempt = start;
+        long nextProgress = start + PROGRESS_INTERVAL_NS;
+
+        try (Selector selector = Selector.open()) {
+            this.selector = selector;
+            while (!cancelled) {
+                long now = System.nanoTime();
+
+                // start new attempts
+                while (inFlight < maxInFlight && now - nextAttempt >= 0) {
+                    if (portIndex == portList.size()) {
+                        if (!ipIterator.hasNext()) {
+                            break;
+                        }
+                        ip = ipIterator.next();
+                        portIndex = 0;
+                    }
+                    int port = portList.get(portIndex++);
+                    if (ip != null && connect(selector, attempts, ip, port, now + timeoutNs, listener)) {
+                        inFlight++;
+                    } else {
+                        finished++;
+                    }
+                    // do not burst after a stall, just continue with the configured rate
+                    nextAttempt = Math.max(nextAttempt, now) + intervalNs;
+                }
+
+                boolean pending = portIndex < portList.size() || ipIterator.hasNext();
+                if (inFlight == 0 && !pending) {
+                    break;
+                }
+
+                // wait for the next connection result, timeout or attempt
+                long wakeup = now + PROGRESS_INTERVAL_NS;
+                Attempt oldest = attempts.peek();
+                if (oldest != null) {
+                    wakeup = Math.min(wakeup, oldest.deadline);
+                }
+                if (pending && inFlight < maxInFlight) {
+                    wakeup = Math.min(wakeup, nextAttempt);
+                }
+                long waitMs = TimeUnit.NANOSECONDS.toMillis(wakeup - now);
+                if (waitMs > 0) {
+                    selector.select(waitMs);
+                } else {
+                    selector.selectNow();
+                }
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    Attempt attempt = (Attempt) key.attachment();
+                    if (attempt == null || attempt.done) {
+                        continue;
+                    }
+                    if (finishConnect(attempt)) {
+                        listener.serviceReachable(attempt.ip, attempt.port);
+                    }
+                    inFlight--;
+                    finished++;
+                }
+
+                // expire timed out attempts, attempts are ordered by their deadline
+                now = System.nanoTime();
+                while ((oldest = attempts.peek()) != null && (oldest.done || now - oldest.deadline >= 0)) {
+                    attempts.poll();
+                    if (!oldest.done) {
+                        close(oldest);
+                        inFlight--;
+                        finished++;
+                    }
+                }
+
+                if (now - nextProgress >= 0) {
+                    nextProgress = now + PROGRESS_INTERVAL_NS;
+                    logProgress(finished, total, portList.size(), now - start);
+                }
+            }
+        } finally {
+            this.selector = null;
+            attempts.stream().filter(attempt -> !attempt.done).forEach(this::close);
+        }
+
+        logProgress(finished, total, portList.size(), System.nanoTime() - start);
+        return finished;
+    }
+
+    /**
+     * Cancel a running scan. Connection attempts in flight are aborted.
+     */
+    public void cancel() {
+        cancelled = true;
+        Selector selector = this.selector;
+        if (selector != null) {
+            selector.wakeup();
+        }
+    }
+
+    /**
+     * Start a connection attempt.
+     *
+     * @return true if the attempt is in flight, false if it is already finished
+     */
+    private boolean connect(Selector selector, ArrayDeque<Attempt> attempts, String ip, int port, long deadline,
+            Listener listener) {
+        SocketChannel channel = null;
+        try {
+            channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            if (channel.connect(new InetSocketAddress(InetAddress.getByName(ip), port))) {
+                channel.close();
+                listener.serviceReachable(ip, port);
+                return false;
+            }
+            Attempt attempt = new Attempt(ip, port, channel, deadline);
+            channel.register(selector, SelectionKey.OP_CONNECT, attempt);
+            attempts.add(attempt);
+            return true;
+        } catch (IOException e) {
+            // e.g. network or host unreachable
+            logger.trace("Connection to {}:{} failed: {}", ip, port, e.getMessage());
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                }
+            }
+            return false;
+        }
+    }
+
+    private boolean finishConnect(Attempt attempt) {
+        boolean connected;
+        try {
+            connected = attempt.channel.finishConnect();
+        } catch (IOException e) {
+            // connection refused
+            connected = false;
+        }
+        close(attempt);
+        return connected;
+    }
+
+    private void close(Attempt attempt) {
+        attempt.done = true;
+        try {
+            attempt.channel.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private void logProgress(long finished, long total, int ports, long elapsedNs) {
+        if (!logger.isDebugEnabled()) {
+            return;
+        }
+        double seconds = Math.max(elapsedNs, 1) / 1e9;
+        logger.debug("Scanned {} of {} hosts in {} s ({} hosts/s)", finished / ports, total / ports,
+                String.format("%.1f", seconds), String.format("%.1f", finished / ports / seconds));
+    }
+}
@@ -141,16 +141,7 @@ public class NetworkUtils {
     private Set<String> getNetworkIPs(Set<CidrAddress> interfaceIPs, int maximumPerInterface) {
         LinkedHashSet<String> networkIPs = new LinkedHashSet<>();
 
-        short minCidrPrefixLength = 8; // historic Class A network, addresses = 16777214
-        if (maximumPerInterface != 0) {
-            // calculate minimum CIDR prefix length from maximumPerInterface
-            // (equals leading unset bits (Integer has 32 bits)
-            minCidrPrefixLength = (short) Integer.numberOfLeadingZeros(maximumPerInterface);
-            if (Integer.bitCount(maximumPerInterface) == 1) {
-                // if only the highest is set, decrease prefix by 1 to cover all addresses
-                minCidrPrefixLength--;
-            }
-        }
+        short minCidrPrefixLength = getMinCidrPrefixLength(maximumPerInterface);
         logger.trace("set minCidrPrefixLength to {}, maximumPerInterface is {}", minCidrPrefixLength,
                 maximumPerInterface);
 
@@ -175,6 +166,40 @@ public class NetworkUtils {
         return networkIPs;
     }
 
+    /**
+     * Determines the number of IPs {@link #getNetworkIPs(int)} returns at most, without building the addresses.
+     *
+     * @param maximumPerInterface The maximum of IP addresses per interface or 0 to count all.
+     * @return The number of IPs which can be assigned on the Networks the computer is connected to
+     */
+    public int getNetworkIPCount(int maximumPerInterface) {
+        short minCidrPrefixLength = getMinCidrPrefixLength(maximumPerInterface);
+        int count = 0;
+        for (CidrAddress cidrNotation : getInterfaceIPs()) {
+            int prefix = Math.max(cidrNotation.getPrefix(), minCidrPrefixLength);
+            int addressCount = prefix < 31 ? (1 << (32 - prefix)) - 2 : 0;
+            if (maximumPerInterface != 0 && maximumPerInterface < addressCount) {
+                addressCount = maximumPerInterface;
+            }
+            count += addressCount;
+        }
+        return count;
+    }
+
+    private short getMinCidrPrefixLength(int maximumPerInterface) {
+        short minCidrPrefixLength = 8; // historic Class A network, addresses = 16777214
+        if (maximumPerInterface != 0) {
+            // calculate minimum CIDR prefix length from maximumPerInterface
+            // (equals leading unset bits (Integer has 32 bits)
+            minCidrPrefixLength = (short) Integer.numberOfLeadingZeros(maximumPerInterface);
+            if (Integer.bitCount(maximumPerInterface) == 1) {
+                // if only the highest is set, decrease prefix by 1 to cover all addresses
+                minCidrPrefixLength--;
+            }
+        }
+        return minCidrPrefixLength;
+    }
+
     /**
      * Try to establish a tcp connection to the given port. Returns false if a timeout occurred
      * or the connection was denied.
@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Aggregates the results of the probes of all presence detections and periodically
+ * logs the probe rate and execution time on debug level.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ProbeStatistics {
+
+    private static final long LOG_INTERVAL_NS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Logger logger = LoggerFactory.getLogger(ProbeStatistics.class);
+
+    private long intervalStart = System.nanoTime();
+    private long probes;
+    private long successfulProbes;
+    private double executionTimeInMS;
+    private double maxExecutionTimeInMS;
+
+    /**
+     * Record the result of a probe.
+     *
+     * @param result the result of the probe
+     */
+    public synchronized void record(PingResult result) {
+        probes++;
+        if (result.isSuccess()) {
+            successfulProbes++;
+        }
+        executionTimeInMS += result.getExecutionTimeInMS();
+        maxExecutionTimeInMS = Math.max(maxExecutionTimeInMS, result.getExecutionTimeInMS());
+
+        long now = System.nanoTime();
+        long elapsed = now - intervalStart;
+        if (elapsed < LOG_INTERVAL_NS) {
+            return;
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("{} probes ({} successful) in the last {} s, average execution time {} ms, maximum {} ms",
+                    probes, successfulProbes, TimeUnit.NANOSECONDS.toSeconds(elapsed),
+                    String.format("%.1f", executionTimeInMS / probes), String.format("%.1f", maxExecutionTimeInMS));
+        }
+        intervalStart = now;
+        probes = 0;
+        successfulProbes = 0;
+        executionTimeInMS = 0;
+        maxExecutionTimeInMS = 0;
+    }
+}
@@ -13,6 +13,7 @@
 package org.openhab.binding.network.internal.discovery;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -88,4 +89,23 @@ public class DiscoveryTest {
         assertThat(dresult.getProperties().get(NetworkBindingConstants.PARAMETER_HOSTNAME), is(ip));
         assertThat(dresult.getProperties().get(NetworkBindingConstants.PARAMETER_PORT), is(1010));
     }
+
+    @Test
+    public void scanTimeoutGrowsWithConfiguredHosts() {
+        NetworkDiscoveryConfiguration config = new NetworkDiscoveryConfiguration();
+        int timeout = NetworkDiscoveryService.getScanTimeout(255, 4, config);
+        // 255 IPs with 4 ports at 500 connection attempts per second, 16 ping detections at once
+        assertThat(timeout, is(19));
+        assertThat(NetworkDiscoveryService.getScanTimeout(1024, 4, config), greaterThan(4 * timeout - 4));
+    }
+
+    @Test
+    public void scanningAllHostsIsLimited() {
+        NetworkDiscoveryConfiguration config = new NetworkDiscoveryConfiguration();
+        config.maxHostsPerInterface = 0;
+        assertThat(NetworkDiscoveryService.getMaxHostsPerInterface(config),
+                is(NetworkDiscoveryService.MAXIMUM_IPS_PER_INTERFACE_LIMIT));
+        config.maxHostsPerInterface = 1024;
+        assertThat(NetworkDiscoveryService.getMaxHostsPerInterface(config), is(1024));
+    }
 }
@@ -0,0 +1,66 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.discovery;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+/**
+ * Tests cases for {@link TcpConnectScanner}.
+ *
+ * @author agent - Initial contribution
+ */
+@Timeout(value = 10)
+@NonNullByDefault
+public class TcpConnectScannerTest {
+
+    @Test
+    public void openPortIsReported() throws IOException {
+        try (ServerSocket openSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+                ServerSocket closedSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            int openPort = openSocket.getLocalPort();
+            int closedPort = closedSocket.getLocalPort();
+            closedSocket.close();
+
+            List<String> results = new ArrayList<>();
+            TcpConnectScanner scanner = new TcpConnectScanner(1000, 1, 0);
+            long finished = scanner.scan(List.of("127.0.0.1"), Set.of(openPort, closedPort),
+                    (ip, port) -> results.add(ip + ":" + port));
+
+            assertThat(finished, is(2L));
+            assertThat(results, is(List.of("127.0.0.1:" + openPort)));
+        }
+    }
+
+    @Test
+    public void cancelledScanStops() throws IOException {
+        TcpConnectScanner scanner = new TcpConnectScanner(1000, 1, 0);
+        scanner.cancel();
+
+        long finished = scanner.scan(List.of("127.0.0.1", "127.0.0.2"), Set.of(1), (ip, port) -> {
+        });
+
+        assertThat(finished, is(0L));
+    }
+}
@@ -0,0 +1,224 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.shelly.internal.api1;
+
+import static org.openhab.binding.shelly.internal.api1.Shelly1CoapJSonDTO.COIOT_TAG_GENERIC;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.shelly.internal.api.ShellyApiException;
+import org.openhab.binding.shelly.internal.api1.Shelly1CoapJSonDTO.CoIotDescrBlk;
+import org.openhab.binding.shelly.internal.api1.Shelly1CoapJSonDTO.CoIotDescrSen;
+import org.openhab.binding.shelly.internal.api1.Shelly1CoapJSonDTO.CoIotSensor;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * The {@link Shelly1CoIoTStatusDecoder} decodes CoIoT status updates ({"G":[[0,112,0],...]}) based on the device
+ * description. The sensor definitions are fixed and linked to their blk entry once, when the device description is
+ * received, and stored in a table indexed by the sensor id. Status updates are then read straight from the payload
+ * into the sensor objects of this table, which are reused for every packet.
+ *
+ * The decoder is not thread-safe, {@link #compile} and {@link #decode} must be called under the lock of the handler.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class Shelly1CoIoTStatusDecoder {
+    // CoIoT v1 uses 3 digit ids, v2 uses 4 digit ids
+    private static final int MAX_SENSOR_ID = 9999;
+
+    /**
+     * A sensor of the device description with its fixed definition, linked blk entry and the sensor object
+     * receiving the values from status updates
+     */
+    public static class CoIotSensorSlot {
+        public final CoIotDescrSen sen;
+        public final CoIotDescrBlk blk;
+        private final CoIotSensor sensor = new CoIotSensor();
+        private int generation = -1;
+
+        private CoIotSensorSlot(CoIotDescrSen sen, CoIotDescrBlk blk) {
+            this.sen = sen;
+            this.blk = blk;
+            sensor.id = sen.id;
+            sensor.valueStr = "";
+        }
+    }
+
+    private @Nullable CoIotSensorSlot[] slots = new CoIotSensorSlot[0];
+    private int generation = 0;
+    private int unresolved = 0;
+
+    /**
+     * Build the sensor table from the device description. Sensor definitions, which can't be linked to a blk entry
+     * are skipped and reported as unresolved by {@link #decode}.
+     *
+     * @param sensorMap Sensor definitions from the device description
+     * @param blkMap blk definitions from the device description
+     * @param coiot CoIoT version specific implementation, used to fix the sensor definitions
+     * @return number of sensors in the table
+     */
+    public int compile(Map<String, CoIotDescrSen> sensorMap, Map<String, CoIotDescrBlk> blkMap,
+            Shelly1CoIoTInterface coiot) {
+        List<CoIotSensorSlot> resolved = new ArrayList<>();
+        int maxId = -1;
+        for (CoIotDescrSen s : sensorMap.values()) {
+            int id = parseId(s.id);
+            if (id < 0) {
+                continue;
+            }
+            CoIotDescrSen sen = coiot.fixDescription(s, blkMap);
+            CoIotDescrBlk blk = blkMap.get(sen.links);
+            if (blk != null) {
+                resolved.add(new CoIotSensorSlot(sen, blk));
+                maxId = Math.max(maxId, id);
+            }
+        }
+
+        CoIotSensorSlot[] table = new CoIotSensorSlot[maxId + 1];
+        for (CoIotSensorSlot slot : resolved) {
+            table[parseId(slot.sen.id)] = slot;
+        }
+        slots = table;
+        return resolved.size();
+    }
+
+    /**
+     * @return true if the sensor table was not built yet
+     */
+    public boolean isEmpty() {
+        return slots.length == 0;
+    }
+
+    /**
+     * Get the sensor table entry for a sensor id
+     *
+     * @param id Sensor id from the status update
+     * @return the table entry or null if the id is not part of the device description
+     */
+    public @Nullable CoIotSensorSlot getSlot(String id) {
+        int i = parseId(id);
+        return (i >= 0) && (i < slots.length) ? slots[i] : null;
+    }
+
+    /**
+     * Decode a status update. The returned sensor objects are reused by the next call.
+     *
+     * @param payload CoAP payload (Json format), example: {"G":[[0,112,0]]}
+     * @param sensorUpdates List receiving the sensor values, will be cleared first
+     * @return number of values in the payload
+     * @throws ShellyApiException if the payload has an invalid format
+     */
+    public int decode(String payload, List<CoIotSensor> sensorUpdates) throws ShellyApiException {
+        sensorUpdates.clear();
+        unresolved = 0;
+        generation++;
+
+        int count = 0;
+        try (JsonReader in = new JsonReader(new StringReader(payload))) {
+            in.setLenient(true);
+            in.beginObject();
+            if (!COIOT_TAG_GENERIC.equals(in.nextName())) {
+                throw new ShellyApiException("Sensor list has invalid format");
+            }
+            in.beginArray();
+            while (in.hasNext()) {
+                in.beginArray();
+                in.nextInt(); // always 0
+                int id = in.nextInt();
+                count++;
+
+                CoIotSensorSlot slot = (id >= 0) && (id < slots.length) ? slots[id] : null;
+                if (slot == null) {
+                    unresolved++;
+                    in.skipValue();
+                } else {
+                    CoIotSensor sensor = slot.sensor;
+                    if (slot.generation == generation) {
+                        // same sensor reported twice in a packet, don't overwrite the first value
+                        sensor = new CoIotSensor();
+                        sensor.id = slot.sen.id;
+                    }
+                    slot.generation = generation;
+                    readValue(in, sensor);
+                    sensorUpdates.add(sensor);
+                }
+                in.endArray();
+            }
+            in.endArray();
+        } catch (IOException | IllegalStateException | NumberFormatException e) {
+            throw new ShellyApiException("Unable to decode CoIoT status", e);
+        }
+        return count;
+    }
+
+    /**
+     * @return number of values of the last status update, which are not part of the device description
+     */
+    public int getUnresolved() {
+        return unresolved;
+    }
+
+    private static void readValue(JsonReader in, CoIotSensor sensor) throws IOException {
+        sensor.valueArray = null;
+        JsonToken token = in.peek();
+        if (token == JsonToken.STRING) {
+            sensor.valueStr = in.nextString();
+            sensor.value = -1;
+        } else if (token == JsonToken.NUMBER) {
+            sensor.value = in.nextDouble();
+            sensor.valueStr = "";
+        } else if (token == JsonToken.BEGIN_ARRAY) {
+            List<Object> values = new ArrayList<>();
+            in.beginArray();
+            while (in.hasNext()) {
+                if (in.peek() == JsonToken.STRING) {
+                    values.add(in.nextString());
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endArray();
+            sensor.valueArray = values;
+            sensor.value = 0;
+            sensor.valueStr = "";
+        } else {
+            in.skipValue();
+            sensor.value = 0;
+            sensor.valueStr = "";
+        }
+    }
+
+    private static int parseId(@Nullable String id) {
+        if (id == null || id.isEmpty() || id.length() > 4) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value <= MAX_SENSOR_ID ? value : -1;
+    }
+}
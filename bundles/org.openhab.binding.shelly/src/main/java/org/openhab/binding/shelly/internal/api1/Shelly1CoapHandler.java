@@ -18,6 +18,7 @@ import static org.openhab.binding.shelly.internal.util.ShellyUtils.*;
 
 import java.net.SocketException;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -38,13 +39,12 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.shelly.internal.api.ShellyApiException;
 import org.openhab.binding.shelly.internal.api.ShellyApiInterface;
 import org.openhab.binding.shelly.internal.api.ShellyDeviceProfile;
+import org.openhab.binding.shelly.internal.api1.Shelly1CoIoTStatusDecoder.CoIotSensorSlot;
 import org.openhab.binding.shelly.internal.api1.Shelly1CoapJSonDTO.CoIotDescrBlk;
 import org.openhab.binding.shelly.internal.api1.Shelly1CoapJSonDTO.CoIotDescrSen;
 import org.openhab.binding.shelly.internal.api1.Shelly1CoapJSonDTO.CoIotDevDescrTypeAdapter;
 import org.openhab.binding.shelly.internal.api1.Shelly1CoapJSonDTO.CoIotDevDescription;
-import org.openhab.binding.shelly.internal.api1.Shelly1CoapJSonDTO.CoIotGenericSensorList;
 import org.openhab.binding.shelly.internal.api1.Shelly1CoapJSonDTO.CoIotSensor;
-import org.openhab.binding.shelly.internal.api1.Shelly1CoapJSonDTO.CoIotSensorTypeAdapter;
 import org.openhab.binding.shelly.internal.config.ShellyThingConfiguration;
 import org.openhab.binding.shelly.internal.handler.ShellyColorUtils;
 import org.openhab.binding.shelly.internal.handler.ShellyThingInterface;
@@ -90,6 +90,9 @@ public class Shelly1CoapHandler implements Shelly1CoapListener {
     private String lastPayload = "";
     private Map<String, CoIotDescrBlk> blkMap = new LinkedHashMap<>();
     private Map<String, CoIotDescrSen> sensorMap = new LinkedHashMap<>();
+    private final Shelly1CoIoTStatusDecoder decoder = new Shelly1CoIoTStatusDecoder();
+    private final List<CoIotSensor> sensorUpdates = new ArrayList<>();
+    private final Map<String, State> updates = new TreeMap<>();
     private ShellyDeviceProfile profile;
     private ShellyApiInterface api;
 
@@ -102,7 +105,6 @@ public class Shelly1CoapHandler implements Shelly1CoapListener {
         this.coiot = new Shelly1CoIoTVersion2(thingName, thingHandler, blkMap, sensorMap); // Default: V2
 
         gsonBuilder.registerTypeAdapter(CoIotDevDescription.class, new CoIotDevDescrTypeAdapter());
-        gsonBuilder.registerTypeAdapter(CoIotGenericSensorList.class, new CoIotSensorTypeAdapter());
         gson = gsonBuilder.create();
     }
 
@@ -128,7 +130,7 @@ public class Shelly1CoapHandler implements Shelly1CoapListener {
                 String ps = substringAfter(profile.coiotEndpoint, ":");
                 coiotPort = Integer.parseInt(ps);
             }
-            coapServer.start(config.localIp, coiotPort, this);
+            coapServer.start(config.localIp, coiotPort, this, config.deviceIp, profile.mac);
             statusClient = new CoapClient(completeUrl(config.deviceIp, coiotPort, COLOIT_URI_DEVSTATUS))
                     .setTimeout((long) SHELLY_API_TIMEOUT_MS).useNONs().setEndpoint(coapServer.getEndpoint());
             @Nullable
@@ -176,30 +178,9 @@ public class Shelly1CoapHandler implements Shelly1CoapListener {
             return;
         }
 
+        // The message is from this device: status messages are routed by the CoapServer, other messages are
+        // responses to our own requests
         List<Option> options = response.getOptions().asSortedList();
-        String ip = response.getSourceContext().getPeerAddress().toString();
-        boolean match = ip.contains(config.deviceIp);
-        if (!match) {
-            // We can't identify device by IP, so we need to check the CoAP header's Global Device ID
-            for (Option opt : options) {
-                if (opt.getNumber() == COIOT_OPTION_GLOBAL_DEVID) {
-                    String devid = opt.getStringValue();
-                    if (devid.contains("#")) {
-                        // Format: <device type>#<mac address>#<coap version>
-                        String macid = substringBetween(devid, "#", "#");
-                        if (profile.mac.toUpperCase().contains(macid.toUpperCase())) {
-                            match = true;
-                            break;
-                        }
-                    }
-                }
-            }
-        }
-        if (!match) {
-            // other instance
-            return;
-        }
-
         String payload = "";
         String devId = "";
         String uri = "";
@@ -309,7 +290,7 @@ public class Shelly1CoapHandler implements Shelly1CoapListener {
      * @param payload Device desciption in JSon format, example:
      *            {"blk":[{"I":0,"D":"Relay0"}],"sen":[{"I":112,"T":"Switch","R":"0/1","L":0}],"act":[{"I":211,"D":"Switch","L":0,"P":[{"I":2011,"D":"ToState","R":"0/1"}]}]}
      */
-    private void handleDeviceDescription(String devId, String payload) throws ShellyApiException {
+    private synchronized void handleDeviceDescription(String devId, String payload) throws ShellyApiException {
         logger.debug("{}: CoIoT Device Description for {}: {}", thingName, devId, payload);
 
         try {
@@ -358,6 +339,10 @@ public class Shelly1CoapHandler implements Shelly1CoapListener {
                 discover();
                 return;
             }
+
+            int resolved = decoder.compile(sensorMap, blkMap, coiot);
+            logger.debug("{}: {} of {} sensor definitions linked to a device element", thingName, resolved,
+                    sensorMap.size());
         } catch (JsonSyntaxException e) {
             logger.warn("{}: Unable to parse CoAP Device Description! JSON={}", thingName, payload);
         } catch (NullPointerException | IllegalArgumentException e) {
@@ -410,7 +395,8 @@ public class Shelly1CoapHandler implements Shelly1CoapListener {
      *            ignored.
      * @throws ShellyApiException
      */
-    private void handleStatusUpdate(String devId, String payload, int serial) throws ShellyApiException {
+    private synchronized void handleStatusUpdate(String devId, String payload, int serial)
+            throws ShellyApiException {
         logger.debug("{}: CoIoT Sensor data {} (serial={})", thingName, payload, serial);
         if (blkMap.isEmpty()) {
             // send discovery packet
@@ -429,38 +415,27 @@ public class Shelly1CoapHandler implements Shelly1CoapListener {
             handleDeviceDescription(devId, savedDescr);
         }
 
-        // Parse Json,
-        CoIotGenericSensorList list = fromJson(gson, fixJSON(payload), CoIotGenericSensorList.class);
-        if (list.generic == null) {
-            logger.debug("{}: Sensor list has invalid format! Payload: {}", devId, payload);
-            return;
+        // Decode straight into the sensor table compiled from the device description
+        int received = decoder.decode(payload, sensorUpdates);
+        updates.clear();
+        logger.debug("{}: {} CoAP sensor updates received", thingName, received);
+        int failed = decoder.getUnresolved();
+        if (failed > 0) {
+            logger.debug("{}: {} sensor values without sensor definition skipped, payload={}", thingName, failed,
+                    payload);
         }
-
-        List<CoIotSensor> sensorUpdates = list.generic;
-        Map<String, State> updates = new TreeMap<String, State>();
-        logger.debug("{}: {} CoAP sensor updates received", thingName, sensorUpdates.size());
-        int failed = 0;
         ShellyColorUtils col = new ShellyColorUtils();
         for (int i = 0; i < sensorUpdates.size(); i++) {
             try {
                 CoIotSensor s = sensorUpdates.get(i);
-                CoIotDescrSen sen = sensorMap.get(s.id);
-                if (sen == null) {
-                    logger.debug("{}: Unable to sensor definition for id={}, payload={}", thingName, s.id, payload);
-                    continue;
-                }
-                // find matching sensor definition from device description, use the Link ID as index
-                CoIotDescrBlk element = null;
-                sen = coiot.fixDescription(sen, blkMap);
-                element = blkMap.get(sen.links);
-                if (element == null) {
-                    logger.debug("{}: Unable to find BLK for link {} from sen.id={}, payload={}", thingName, sen.links,
-                            sen.id, payload);
+                CoIotSensorSlot slot = decoder.getSlot(s.id);
+                if (slot == null) {
                     continue;
                 }
+                CoIotDescrSen sen = slot.sen;
                 logger.trace("{}:  Sensor value[{}]: id={}, Value={} ({}, Type={}, Range={}, Link={}: {})", thingName,
                         i, s.id, getString(s.valueStr).isEmpty() ? s.value : s.valueStr, sen.desc, sen.type, sen.range,
-                        sen.links, element.desc);
+                        sen.links, slot.blk.desc);
 
                 if (!coiot.handleStatusUpdate(sensorUpdates, sen, serial, s, updates, col)) {
                     logger.debug("{}: CoIoT data for id {}, type {}/{} not processed, value={}; payload={}", thingName,
@@ -523,7 +498,7 @@ public class Shelly1CoapHandler implements Shelly1CoapListener {
             // of the values are available
             thingHandler.triggerUpdateFromCoap();
         } else {
-            if (failed == sensorUpdates.size()) {
+            if (failed == received) {
                 logger.debug("{}: Device description problem detected, re-discover", thingName);
                 coiotBound = false;
                 discover();
@@ -12,20 +12,24 @@
  */
 package org.openhab.binding.shelly.internal.api1;
 
-import static org.openhab.binding.shelly.internal.api1.Shelly1CoapJSonDTO.COIOT_PORT;
+import static org.openhab.binding.shelly.internal.api1.Shelly1CoapJSonDTO.*;
+import static org.openhab.binding.shelly.internal.util.ShellyUtils.substringBetween;
 
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.SocketException;
 import java.net.UnknownHostException;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.eclipse.californium.core.CoapResource;
 import org.eclipse.californium.core.CoapServer;
 import org.eclipse.californium.core.coap.CoAP;
 import org.eclipse.californium.core.coap.CoAP.Code;
 import org.eclipse.californium.core.coap.CoAP.ResponseCode;
+import org.eclipse.californium.core.coap.Option;
 import org.eclipse.californium.core.coap.Request;
 import org.eclipse.californium.core.coap.Response;
 import org.eclipse.californium.core.network.CoapEndpoint;
@@ -38,7 +42,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * The {@link Shelly1CoapServer} implements the UDP listener and status event processor (for /cit/s messages)
+ * The {@link Shelly1CoapServer} implements the UDP listener and status event processor (for /cit/s messages).
+ * Received messages are routed to the listener of the sending device, which is looked up by the peer address or
+ * the MAC address from the global device id.
  *
  * @author Markus Michels - Initial contribution
  */
@@ -51,6 +57,10 @@ public class Shelly1CoapServer {
     private @Nullable UdpMulticastConnector statusConnector;
     private CoapServer server = new CoapServer(NetworkConfig.getStandard(), COIOT_PORT);
     private final Set<Shelly1CoapListener> coapListeners = ConcurrentHashMap.newKeySet();
+    private final Map<String, Shelly1CoapListener> listenersByIp = new ConcurrentHashMap<>();
+    private final Map<String, Shelly1CoapListener> listenersByMac = new ConcurrentHashMap<>();
+    private final LongAdder unroutableCount = new LongAdder();
+    private final LongAdder duplicateCount = new LongAdder();
 
     protected class ShellyStatusListener extends CoapResource {
         private Shelly1CoapServer listener;
@@ -78,8 +88,17 @@ public class Shelly1CoapServer {
         }
     }
 
-    public synchronized void start(String localIp, int port, Shelly1CoapListener listener)
-            throws UnknownHostException, SocketException {
+    /**
+     * Start the listener (if not yet started) and register a device for status updates
+     *
+     * @param localIp local IP address to bind the listener to
+     * @param port CoIoT port
+     * @param listener listener for the messages of the device
+     * @param deviceIp IP address of the device
+     * @param deviceMac MAC address of the device, empty if not known yet
+     */
+    public synchronized void start(String localIp, int port, Shelly1CoapListener listener, String deviceIp,
+            String deviceMac) throws UnknownHostException, SocketException {
         if (!started) {
             logger.debug("Initializing CoIoT listener (local IP={}:{})", localIp, port);
             NetworkConfig nc = NetworkConfig.getStandard();
@@ -98,13 +117,69 @@ public class Shelly1CoapServer {
             started = true;
         }
 
-        if (!coapListeners.contains(listener)) {
-            coapListeners.add(listener);
+        coapListeners.add(listener);
+        unregister(listener);
+        listenersByIp.put(deviceIp, listener);
+        if (!deviceMac.isEmpty()) {
+            listenersByMac.put(normalizeMac(deviceMac), listener);
         }
     }
 
     protected void processResponse(Response response) {
-        coapListeners.forEach(listener -> listener.processResponse(response));
+        if (response.isDuplicate()) {
+            duplicateCount.increment();
+            logger.trace("Duplicate CoIoT message from {} discarded", response.getSourceContext().getPeerAddress());
+            return;
+        }
+
+        Shelly1CoapListener listener = null;
+        InetSocketAddress peer = response.getSourceContext().getPeerAddress();
+        if (peer.getAddress() != null) {
+            listener = listenersByIp.get(peer.getAddress().getHostAddress());
+        }
+        if (listener == null) {
+            // We can't identify device by IP, so we need to check the CoAP header's Global Device ID
+            for (Option opt : response.getOptions().getOthers()) {
+                if (opt.getNumber() == COIOT_OPTION_GLOBAL_DEVID) {
+                    String devid = opt.getStringValue();
+                    if (devid.contains("#")) {
+                        // Format: <device type>#<mac address>#<coap version>
+                        listener = listenersByMac.get(normalizeMac(substringBetween(devid, "#", "#")));
+                    }
+                    break;
+                }
+            }
+        }
+
+        if (listener == null) {
+            unroutableCount.increment();
+            logger.trace("CoIoT message from {} doesn't match any device, discarded", peer);
+            return;
+        }
+        listener.processResponse(response);
+    }
+
+    private void unregister(Shelly1CoapListener listener) {
+        listenersByIp.values().removeIf(l -> l == listener);
+        listenersByMac.values().removeIf(l -> l == listener);
+    }
+
+    private static String normalizeMac(String mac) {
+        return mac.replace(":", "").toUpperCase();
+    }
+
+    /**
+     * @return number of received messages, which didn't match any registered device
+     */
+    public long getUnroutableCount() {
+        return unroutableCount.sum();
+    }
+
+    /**
+     * @return number of received duplicate messages
+     */
+    public long getDuplicateCount() {
+        return duplicateCount.sum();
     }
 
     public static Response createResponse(Request request) {
@@ -127,6 +202,7 @@ public class Shelly1CoapServer {
      */
     public void stop(Shelly1CoapListener listener) {
         coapListeners.remove(listener);
+        unregister(listener);
         if (coapListeners.isEmpty()) {
             stop();
         }
@@ -138,8 +214,11 @@ public class Shelly1CoapServer {
             server.stop();
             statusEndpoint.stop();
             coapListeners.clear();
+            listenersByIp.clear();
+            listenersByMac.clear();
             started = false;
-            logger.debug("CoAP Listener stopped");
+            logger.debug("CoAP Listener stopped ({} unroutable and {} duplicate messages discarded)",
+                    unroutableCount.sum(), duplicateCount.sum());
         }
     }
 
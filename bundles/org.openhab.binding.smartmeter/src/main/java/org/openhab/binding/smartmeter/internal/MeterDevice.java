@@ -19,6 +19,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -62,6 +64,14 @@ public abstract class MeterDevice<T> {
      * Map of all values captured from the device during the read request.
      */
     private Map<String, MeterValue<?>> valueCache;
+    /**
+     * Map of the values the listeners were last notified about.
+     */
+    private final Map<String, MeterValue<?>> notifiedValues = new ConcurrentHashMap<>();
+    /**
+     * Minimum change of a numeric value to notify the listeners about.
+     */
+    private double deadband;
     private byte @Nullable [] initMessage;
     /**
      * The id of the SML device from openHAB configuration.
@@ -111,6 +121,16 @@ public abstract class MeterDevice<T> {
         return deviceId;
     }
 
+    /**
+     * Sets the minimum change of a numeric value to notify the listeners about. Non numeric values are notified on
+     * every change.
+     *
+     * @param deadband the minimum change, 0 to notify every change.
+     */
+    public void setDeadband(double deadband) {
+        this.deadband = deadband;
+    }
+
     /**
      * Returns the specified OBIS value if available.
      *
@@ -208,13 +228,19 @@ public abstract class MeterDevice<T> {
     protected abstract <Q extends Quantity<Q>> void populateValueCache(T payload);
 
     /**
-     * Adds a {@link MeterValue} to the current cache.
+     * Adds a {@link MeterValue} to the current cache. The listeners are only notified if the value changed since
+     * their last notification.
      *
      * @param value The value to add.
      */
     protected <Q extends Quantity<Q>> void addObisCache(MeterValue<Q> value) {
-        logger.debug("Value changed: {}", value);
         this.valueCache.put(value.getObisCode(), value);
+        if (!hasChanged(value)) {
+            logger.trace("Value unchanged: {}", value);
+            return;
+        }
+        logger.debug("Value changed: {}", value);
+        this.notifiedValues.put(value.getObisCode(), value);
         this.valueChangeListeners.forEach((listener) -> {
             try {
                 listener.valueChanged(value);
@@ -224,6 +250,21 @@ public abstract class MeterDevice<T> {
         });
     }
 
+    private boolean hasChanged(MeterValue<?> value) {
+        MeterValue<?> notifiedValue = notifiedValues.get(value.getObisCode());
+        if (notifiedValue == null || !Objects.equals(notifiedValue.getUnit(), value.getUnit())
+                || !Objects.equals(notifiedValue.getStatus(), value.getStatus())) {
+            return true;
+        }
+        try {
+            double difference = Double.parseDouble(value.getValue()) - Double.parseDouble(notifiedValue.getValue());
+            return Math.abs(difference) > deadband;
+        } catch (NumberFormatException e) {
+            // value is no numeric value
+            return !value.getValue().equals(notifiedValue.getValue());
+        }
+    }
+
     @Override
     public String toString() {
         StringBuilder stringBuilder = new StringBuilder();
@@ -257,10 +298,13 @@ public abstract class MeterDevice<T> {
     }
 
     private <Q extends Quantity<Q>> void notifyValuesRemoved(MeterValue<Q> value) {
+        this.notifiedValues.remove(value.getObisCode());
         this.valueChangeListeners.forEach((listener) -> listener.valueRemoved(value));
     }
 
     private void notifyReadingError(Throwable e) {
+        // notify all values of the next read out, the listeners might have changed their state because of the error
+        this.notifiedValues.clear();
         this.valueChangeListeners.forEach((listener) -> listener.errorOccurred(e));
     }
 
@@ -107,6 +107,9 @@ public class SmartMeterHandler extends BaseThingHandler {
             this.conformity = config.conformity == null ? Conformity.NONE : Conformity.valueOf(config.conformity);
             this.smlDevice = MeterDeviceFactory.getDevice(serialPortManagerSupplier, config.mode,
                     this.thing.getUID().getAsString(), port, pullSequence, baudrate, config.baudrateChangeDelay);
+            if (config.deadband != null) {
+                this.smlDevice.setDeadband(config.deadband.doubleValue());
+            }
             updateStatus(ThingStatus.UNKNOWN, ThingStatusDetail.HANDLER_CONFIGURATION_PENDING,
                     "Waiting for messages from device");
 
@@ -0,0 +1,186 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.smartmeter.internal.sml;
+
+import java.util.Arrays;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Splits a stream of bytes into SML transport frames (SML files including their start and end escape sequences) as
+ * the bytes arrive. Only the most recent complete frame is kept, so stale files in the serial buffer are skipped
+ * without decoding them. The buffers are reused for all frames.
+ *
+ * The frames are not checked any further, the CRC is checked while decoding the frame.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public final class SmlFrameReader {
+
+    private static final byte ESCAPE = 0x1b;
+    private static final byte START = 0x01;
+    private static final byte END = 0x1a;
+    private static final int BLOCK_SIZE = 4;
+    private static final int INITIAL_FRAME_SIZE = 512;
+
+    /**
+     * Frames larger than this are considered garbage.
+     */
+    static final int MAX_FRAME_SIZE = 64 * 1024;
+
+    private enum State {
+        WAIT_FOR_START,
+        IN_FRAME
+    }
+
+    private State state = State.WAIT_FOR_START;
+    /* number of bytes of the start sequence found while waiting for the start */
+    private int startLength;
+    /* whether the previous block of the frame was an escape sequence */
+    private boolean escaped;
+
+    private byte[] frame = new byte[INITIAL_FRAME_SIZE];
+    private int frameLength;
+    private byte[] completeFrame = new byte[INITIAL_FRAME_SIZE];
+    private int completeFrameLength;
+
+    /**
+     * Processes the received bytes.
+     *
+     * @param data the buffer with the received bytes
+     * @param offset the offset of the first received byte
+     * @param length the number of received bytes
+     * @return the number of frames completed by these bytes
+     */
+    public int read(byte[] data, int offset, int length) {
+        int frames = 0;
+        for (int i = offset; i < offset + length; i++) {
+            byte b = data[i];
+            if (state == State.WAIT_FOR_START) {
+                findStart(b);
+            } else if (append(b) && (frameLength % BLOCK_SIZE) == 0 && processBlock()) {
+                frames++;
+            }
+        }
+        return frames;
+    }
+
+    /**
+     * @return the buffer holding the most recent complete frame, it's only valid until the next call of
+     *         {@link #read(byte[], int, int)}
+     */
+    public byte[] getFrame() {
+        return completeFrame;
+    }
+
+    /**
+     * @return the length of the most recent complete frame
+     */
+    public int getFrameLength() {
+        return completeFrameLength;
+    }
+
+    /**
+     * Drops the complete frame and any partially received frame.
+     */
+    public void reset() {
+        state = State.WAIT_FOR_START;
+        startLength = 0;
+        frameLength = 0;
+        completeFrameLength = 0;
+    }
+
+    private void findStart(byte b) {
+        if (startLength < BLOCK_SIZE) {
+            startLength = b == ESCAPE ? startLength + 1 : 0;
+        } else if (b == START) {
+            startLength++;
+        } else if (b != ESCAPE) {
+            startLength = 0;
+        } else if (startLength > BLOCK_SIZE) {
+            startLength = 1;
+        }
+        // otherwise the last four bytes are still an escape sequence
+        if (startLength == 2 * BLOCK_SIZE) {
+            startFrame();
+        }
+    }
+
+    private void startFrame() {
+        Arrays.fill(frame, 0, BLOCK_SIZE, ESCAPE);
+        Arrays.fill(frame, BLOCK_SIZE, 2 * BLOCK_SIZE, START);
+        frameLength = 2 * BLOCK_SIZE;
+        escaped = false;
+        startLength = 0;
+        state = State.IN_FRAME;
+    }
+
+    private boolean append(byte b) {
+        if (frameLength == frame.length) {
+            if (frameLength >= MAX_FRAME_SIZE) {
+                state = State.WAIT_FOR_START;
+                return false;
+            }
+            frame = Arrays.copyOf(frame, Math.min(2 * frameLength, MAX_FRAME_SIZE));
+        }
+        frame[frameLength++] = b;
+        return true;
+    }
+
+    /**
+     * Processes the last received block of four bytes.
+     *
+     * @return true if the block completed the frame
+     */
+    private boolean processBlock() {
+        int blockStart = frameLength - BLOCK_SIZE;
+        if (escaped) {
+            escaped = false;
+            if (isBlockOf(blockStart, ESCAPE)) {
+                // escaped escape sequence within the data
+                return false;
+            } else if (isBlockOf(blockStart, START)) {
+                // a new frame started before the current one was completed
+                startFrame();
+                return false;
+            } else if (frame[blockStart] == END) {
+                completeFrame();
+                return true;
+            }
+            // invalid escape sequence, wait for the next frame
+            state = State.WAIT_FOR_START;
+        } else {
+            escaped = isBlockOf(blockStart, ESCAPE);
+        }
+        return false;
+    }
+
+    private boolean isBlockOf(int blockStart, byte b) {
+        for (int i = blockStart; i < blockStart + BLOCK_SIZE; i++) {
+            if (frame[i] != b) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void completeFrame() {
+        byte[] buffer = completeFrame;
+        completeFrame = frame;
+        completeFrameLength = frameLength;
+        frame = buffer;
+        frameLength = 0;
+        state = State.WAIT_FOR_START;
+    }
+}
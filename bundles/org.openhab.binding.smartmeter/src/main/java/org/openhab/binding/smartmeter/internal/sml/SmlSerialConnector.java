@@ -14,11 +14,13 @@ package org.openhab.binding.smartmeter.internal.sml;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.text.MessageFormat;
-import java.util.Stack;
 import java.util.function.Supplier;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -45,6 +47,7 @@ import org.openmuc.jsml.transport.Transport;
 public final class SmlSerialConnector extends ConnectorBase<SmlFile> {
 
     private static final Transport TRANSPORT = new Transport();
+    private static final int READ_BUFFER_SIZE = 1024;
 
     private Supplier<SerialPortManager> serialManagerSupplier;
     @NonNullByDefault({})
@@ -54,6 +57,8 @@ public final class SmlSerialConnector extends ConnectorBase<SmlFile> {
     @Nullable
     private DataOutputStream os;
     private int baudrate;
+    private final byte[] readBuffer = new byte[READ_BUFFER_SIZE];
+    private final SmlFrameReader frameReader = new SmlFrameReader();
 
     /**
      * Constructor to create a serial connector instance.
@@ -88,17 +93,27 @@ public final class SmlSerialConnector extends ConnectorBase<SmlFile> {
             }
         }
 
-        // read out the whole buffer. We are only interested in the most recent SML file.
-        Stack<SmlFile> smlFiles = new Stack<>();
-        do {
-            logger.trace("Reading {}. SML message", smlFiles.size() + 1);
-            smlFiles.push(TRANSPORT.getSMLFile(is));
-        } while (is != null && is.available() > 0);
-        if (smlFiles.isEmpty()) {
-            throw new IOException(getPortName() + " : There is no SML file in buffer. Try to increase Refresh rate.");
+        DataInputStream is = this.is;
+        if (is == null) {
+            throw new IOException(getPortName() + " : Connection is not open.");
         }
-        logger.debug("{} : Read {} SML files from Buffer", this.getPortName(), smlFiles.size());
-        return smlFiles.pop();
+
+        // read out the whole buffer. We are only interested in the most recent SML file, so only that one is decoded.
+        int frameCount = 0;
+        do {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedIOException(getPortName() + " : Reading SML file was interrupted.");
+            }
+            int length = is.read(readBuffer, 0, readBuffer.length);
+            if (length < 0) {
+                throw new EOFException(getPortName() + " : End of stream reached.");
+            }
+            frameCount += frameReader.read(readBuffer, 0, length);
+        } while (frameCount == 0 || is.available() > 0);
+        logger.debug("{} : Read {} SML files from Buffer", this.getPortName(), frameCount);
+
+        return TRANSPORT.getSMLFile(new DataInputStream(
+                new ByteArrayInputStream(frameReader.getFrame(), 0, frameReader.getFrameLength())));
     }
 
     @Override
@@ -143,6 +158,7 @@ public final class SmlSerialConnector extends ConnectorBase<SmlFile> {
      */
     @Override
     public void closeConnection() {
+        frameReader.reset();
         try {
             if (is != null) {
                 is.close();
@@ -17,7 +17,6 @@ import java.util.Arrays;
 import javax.measure.Quantity;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
-import org.openhab.binding.smartmeter.SmartMeterBindingConstants;
 import org.openhab.binding.smartmeter.internal.MeterValue;
 import org.openmuc.jsml.EObis;
 import org.openmuc.jsml.EUnit;
@@ -115,13 +114,8 @@ public final class SmlValueExtractor {
         int scaler = 0;
 
         if (smlListEntry.getScaler().isSelected()) {
-            byte scalerByte = smlListEntry.getScaler().getVal();
-
-            scaler = Integer.parseInt(String.format("%02x", scalerByte), 16);
-
-            if (scaler > 127) {
-                scaler -= 256;
-            }
+            // the scaler is a signed byte
+            scaler = smlListEntry.getScaler().getVal();
         }
 
         return Math.pow(10, scaler);
@@ -142,7 +136,7 @@ public final class SmlValueExtractor {
      * @param byte to convert to Integer.
      */
     private static int byteToInt(byte b) {
-        return Integer.parseInt(String.format("%02x", b), 16);
+        return b & 0xff;
     }
 
     /**
@@ -151,10 +145,10 @@ public final class SmlValueExtractor {
      * @return the hex encoded OBIS code as readable string.
      */
     protected static String getObisAsString(byte[] octetBytes) {
-        String formattedObis = String.format(SmartMeterBindingConstants.OBIS_FORMAT_MINIMAL, byteToInt(octetBytes[0]),
-                byteToInt(octetBytes[1]), byteToInt(octetBytes[2]), byteToInt(octetBytes[3]), byteToInt(octetBytes[4]));
-
-        return formattedObis;
+        // same as SmartMeterBindingConstants.OBIS_FORMAT_MINIMAL, without parsing the format for every value
+        return new StringBuilder(20).append(byteToInt(octetBytes[0])).append('-').append(byteToInt(octetBytes[1]))
+                .append(':').append(byteToInt(octetBytes[2])).append('.').append(byteToInt(octetBytes[3])).append('.')
+                .append(byteToInt(octetBytes[4])).toString();
     }
 
     public String getObisCode() {
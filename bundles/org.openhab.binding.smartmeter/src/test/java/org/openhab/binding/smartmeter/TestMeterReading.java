@@ -12,19 +12,25 @@
  */
 package org.openhab.binding.smartmeter;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 import java.io.IOException;
 import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import javax.measure.Quantity;
 
 import org.eclipse.jdt.annotation.NonNull;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mockito;
 import org.openhab.binding.smartmeter.connectors.ConnectorBase;
@@ -50,7 +56,8 @@ public class TestMeterReading {
     public void testContinousReading() throws Exception {
         final Duration period = Duration.ofSeconds(1);
         final int executionCount = 5;
-        MockMeterReaderConnector connector = getMockedConnector(false, () -> new Object());
+        AtomicInteger counter = new AtomicInteger();
+        MockMeterReaderConnector connector = getMockedConnector(false, () -> counter.incrementAndGet());
         MeterDevice<Object> meter = getMeterDevice(connector);
         MeterValueListener changeListener = Mockito.mock(MeterValueListener.class);
         meter.addValueChangeListener(changeListener);
@@ -64,6 +71,29 @@ public class TestMeterReading {
         }
     }
 
+    @Test
+    public void testUnchangedValuesAreNotNotified() throws Exception {
+        final Duration period = Duration.ofSeconds(1);
+        Iterator<String> values = List.of("100", "100", "100.5", "101.5", "error").iterator();
+        MockMeterReaderConnector connector = getMockedConnector(false,
+                () -> values.hasNext() ? values.next() : "error");
+        MeterDevice<Object> meter = getMeterDevice(connector);
+        meter.setDeadband(1);
+        MeterValueListener changeListener = Mockito.mock(MeterValueListener.class);
+        meter.addValueChangeListener(changeListener);
+        Disposable disposable = meter.readValues(5000, Executors.newScheduledThreadPool(1), period);
+        try {
+            ArgumentCaptor<MeterValue<?>> captor = ArgumentCaptor.forClass(MeterValue.class);
+            verify(changeListener, after(6 * period.toMillis() + period.toMillis() / 2).times(3))
+                    .valueChanged(captor.capture());
+            assertEquals(List.of("100", "101.5", "error"),
+                    captor.getAllValues().stream().map(MeterValue::getValue).collect(Collectors.toList()));
+            assertEquals("error", meter.getValue("123"));
+        } finally {
+            disposable.dispose();
+        }
+    }
+
     @Test
     public void testRetryHandling() {
         final Duration period = Duration.ofSeconds(1);
@@ -148,7 +178,7 @@ public class TestMeterReading {
 
             @Override
             protected <Q extends @NonNull Quantity<Q>> void populateValueCache(Object smlFile) {
-                addObisCache(new MeterValue("123", "333", null));
+                addObisCache(new MeterValue("123", String.valueOf(smlFile), null));
             }
         };
     }
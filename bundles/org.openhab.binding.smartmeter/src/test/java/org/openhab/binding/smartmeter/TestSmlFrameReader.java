@@ -0,0 +1,72 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.smartmeter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.smartmeter.internal.sml.SmlFrameReader;
+import org.openhab.core.util.HexUtils;
+
+/**
+ * Tests the splitting of a raw SML byte stream into frames.
+ *
+ * @author agent - Initial contribution
+ */
+public class TestSmlFrameReader {
+
+    private static final String FRAME_1 = "1B1B1B1B01010101" + "7605000000016200" + "1B1B1B1B1A02ABCD";
+    // contains an escaped escape sequence
+    private static final String FRAME_2 = "1B1B1B1B01010101" + "760500001B1B1B1B1B1B1B1B01010000" + "1B1B1B1B1A00A1B2";
+    private static final String FRAME_3 = "1B1B1B1B01010101" + "760500000002620062000000" + "1B1B1B1B1A01C3D4";
+
+    @Test
+    public void testMostRecentFrameIsKept() {
+        SmlFrameReader reader = new SmlFrameReader();
+        byte[] stream = HexUtils.hexToBytes("00A11B1B" + FRAME_1 + FRAME_2 + FRAME_3);
+        int partialLength = stream.length - 10;
+
+        // feed the stream in small chunks like a serial port does
+        int frames = 0;
+        for (int offset = 0; offset < partialLength; offset += 7) {
+            frames += reader.read(stream, offset, Math.min(7, partialLength - offset));
+        }
+        assertEquals(2, frames);
+        assertFrame(FRAME_2, reader);
+
+        // the partially received frame is completed by the next bytes
+        assertEquals(1, reader.read(stream, partialLength, stream.length - partialLength));
+        assertFrame(FRAME_3, reader);
+    }
+
+    @Test
+    public void testInvalidFramesAreSkipped() {
+        SmlFrameReader reader = new SmlFrameReader();
+        // invalid escape sequence in the first frame, second frame is started before the first is completed
+        byte[] stream = HexUtils.hexToBytes("1B1B1B1B0101010176050000" + "1B1B1B1B02020202" + FRAME_1.substring(0, 24)
+                + FRAME_3);
+
+        assertEquals(1, reader.read(stream, 0, stream.length));
+        assertFrame(FRAME_3, reader);
+
+        reader.reset();
+        assertEquals(0, reader.getFrameLength());
+    }
+
+    private void assertFrame(String expected, SmlFrameReader reader) {
+        assertEquals(expected,
+                HexUtils.bytesToHex(Arrays.copyOf(reader.getFrame(), reader.getFrameLength())).toUpperCase());
+    }
+}
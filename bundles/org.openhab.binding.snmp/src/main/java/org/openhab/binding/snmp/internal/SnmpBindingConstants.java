@@ -33,4 +33,7 @@ public class SnmpBindingConstants {
     public static final ChannelTypeUID CHANNEL_TYPE_UID_NUMBER = new ChannelTypeUID(BINDING_ID, "number");
     public static final ChannelTypeUID CHANNEL_TYPE_UID_STRING = new ChannelTypeUID(BINDING_ID, "string");
     public static final ChannelTypeUID CHANNEL_TYPE_UID_SWITCH = new ChannelTypeUID(BINDING_ID, "switch");
+
+    // channel property of the channels created by a walk, contains the id of the walk channel
+    public static final String PROPERTY_WALK_CHANNEL = "walkChannel";
 }
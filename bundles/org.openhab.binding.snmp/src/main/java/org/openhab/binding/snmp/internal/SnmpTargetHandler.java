@@ -18,11 +18,18 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -35,6 +42,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.snmp.internal.config.SnmpChannelConfiguration;
 import org.openhab.binding.snmp.internal.config.SnmpInternalChannelConfiguration;
 import org.openhab.binding.snmp.internal.config.SnmpTargetConfiguration;
+import org.openhab.core.config.core.Configuration;
 import org.openhab.core.library.types.DecimalType;
 import org.openhab.core.library.types.OnOffType;
 import org.openhab.core.library.types.QuantityType;
@@ -45,6 +53,8 @@ import org.openhab.core.thing.Thing;
 import org.openhab.core.thing.ThingStatus;
 import org.openhab.core.thing.ThingStatusDetail;
 import org.openhab.core.thing.binding.BaseThingHandler;
+import org.openhab.core.thing.binding.builder.ChannelBuilder;
+import org.openhab.core.thing.binding.builder.ThingBuilder;
 import org.openhab.core.thing.util.ThingHandlerHelper;
 import org.openhab.core.types.Command;
 import org.openhab.core.types.RefreshType;
@@ -83,6 +93,9 @@ import org.snmp4j.smi.VariableBinding;
 public class SnmpTargetHandler extends BaseThingHandler implements ResponseListener, CommandResponder {
     private static final Pattern HEXSTRING_VALIDITY = Pattern.compile("([a-f0-9]{2}[ :-]?)+");
     private static final Pattern HEXSTRING_EXTRACTOR = Pattern.compile("[^a-f0-9]");
+    // size of the message and PDU headers without the community and the variable bindings
+    private static final int PDU_HEADER_SIZE = 32;
+    private static final int DEFAULT_MAX_REPETITIONS = 20;
 
     private final Logger logger = LoggerFactory.getLogger(SnmpTargetHandler.class);
 
@@ -97,6 +110,46 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
     private @NonNullByDefault({}) Set<SnmpInternalChannelConfiguration> readChannelSet;
     private @NonNullByDefault({}) Set<SnmpInternalChannelConfiguration> writeChannelSet;
     private @NonNullByDefault({}) Set<SnmpInternalChannelConfiguration> trapChannelSet;
+    private @NonNullByDefault({}) Set<SnmpInternalChannelConfiguration> walkChannelSet;
+    private @NonNullByDefault({}) List<OID> getOids;
+
+    private final Map<PDU, PendingRequest> pendingRequests = Collections.synchronizedMap(new IdentityHashMap<>());
+    // the response related fields are accessed by the snmp4j threads processing the responses
+    private final AtomicInteger refreshCycle = new AtomicInteger();
+    private volatile int timeoutCycle = -1;
+    private volatile int maxVariablesSize;
+    private volatile int maxRepetitions = DEFAULT_MAX_REPETITIONS;
+
+    private final AtomicLong responseCount = new AtomicLong();
+    private final AtomicLong responseTimeSum = new AtomicLong();
+    private final AtomicLong responseTimeMax = new AtomicLong();
+
+    /**
+     * A request sent by the refresh, which is needed to process the response
+     */
+    private static class PendingRequest {
+        private final int cycle;
+        private final long sent = System.nanoTime();
+        private final @Nullable Walk walk;
+
+        PendingRequest(int cycle, @Nullable Walk walk) {
+            this.cycle = cycle;
+            this.walk = walk;
+        }
+    }
+
+    /**
+     * The state of a walk through the subtree of a walk channel
+     */
+    private static class Walk {
+        private final SnmpInternalChannelConfiguration channel;
+        private final List<VariableBinding> results = new ArrayList<>();
+        private @Nullable OID lastOid;
+
+        Walk(SnmpInternalChannelConfiguration channel) {
+            this.channel = channel;
+        }
+    }
 
     public SnmpTargetHandler(Thing thing, SnmpService snmpService) {
         super(thing);
@@ -164,6 +217,8 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
         }
 
         timeoutCounter = 0;
+        maxVariablesSize = config.maxPduSize - PDU_HEADER_SIZE - config.community.length();
+        maxRepetitions = DEFAULT_MAX_REPETITIONS;
 
         updateStatus(ThingStatus.UNKNOWN);
         refresh = scheduler.scheduleWithFixedDelay(this::refresh, 0, config.refresh, TimeUnit.SECONDS);
@@ -175,6 +230,7 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
         if (r != null && !r.isCancelled()) {
             r.cancel(true);
         }
+        pendingRequests.clear();
         snmpService.removeCommandResponder(this);
     }
 
@@ -192,10 +248,18 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
             ((Snmp) event.getSource()).cancel(event.getRequest(), this);
         }
 
+        PendingRequest request = pendingRequests.remove(event.getRequest());
         PDU response = event.getResponse();
         if (response == null) {
             Exception e = event.getError();
             if (e == null) { // no response, no error -> request timed out
+                if (request != null) {
+                    // count only one timeout per refresh cycle, even if it was split into several requests
+                    if (request.cycle == timeoutCycle) {
+                        return;
+                    }
+                    timeoutCycle = request.cycle;
+                }
                 timeoutCounter++;
                 if (timeoutCounter > config.retries) {
                     updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR, "request timed out");
@@ -212,6 +276,19 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
         }
         logger.trace("{} received {}", thing.getUID(), response);
 
+        if (request != null) {
+            recordResponseTime(request);
+            if (response.getErrorStatus() == PDU.tooBig) {
+                retryTooBigRequest(event.getRequest(), request);
+                return;
+            }
+            Walk walk = request.walk;
+            if (walk != null) {
+                continueWalk(walk, request, response);
+                return;
+            }
+        }
+
         response.getVariableBindings().forEach(variable -> {
             if (variable != null) {
                 updateChannels(variable.getOid(), variable.getVariable(), readChannelSet);
@@ -276,7 +353,7 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
                 exceptionValue = DecimalType.valueOf(configExceptionValue);
             }
             if (config.unit != null) {
-                if (config.mode != SnmpChannelMode.READ) {
+                if (config.mode != SnmpChannelMode.READ && config.mode != SnmpChannelMode.WALK) {
                     logger.warn("units only supported for readonly channels, ignored for channel {}", channel.getUID());
                 } else {
                     try {
@@ -338,6 +415,12 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
                 .collect(Collectors.toSet());
         this.trapChannelSet = channelConfigs.stream().filter(c -> c.mode == SnmpChannelMode.TRAP)
                 .collect(Collectors.toSet());
+        this.walkChannelSet = channelConfigs.stream().filter(c -> c.mode == SnmpChannelMode.WALK)
+                .collect(Collectors.toSet());
+        // OIDs within the subtree of a walk channel are already read by the walk
+        this.getOids = readChannelSet.stream().map(c -> c.oid).filter(oid -> walkChannelSet.stream()
+                .noneMatch(walkChannel -> oid.size() > walkChannel.oid.size() && oid.startsWith(walkChannel.oid)))
+                .distinct().collect(Collectors.toList());
     }
 
     private void updateChannels(OID oid, Variable value, Set<SnmpInternalChannelConfiguration> channelConfigs) {
@@ -472,14 +555,181 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
                 return;
             }
         }
-        PDU pdu = new PDU(PDU.GET,
-                readChannelSet.stream().map(c -> new VariableBinding(c.oid)).collect(Collectors.toList()));
-        if (!pdu.getVariableBindings().isEmpty()) {
-            try {
-                snmpService.send(pdu, target, null, this);
-            } catch (IOException e) {
-                logger.info("Could not send PDU", e);
+        logResponseTimes();
+
+        // all requests are sent at once, the responses are processed as they arrive
+        int cycle = refreshCycle.incrementAndGet();
+        createGetRequests(getOids).forEach(pdu -> sendRequest(pdu, new PendingRequest(cycle, null)));
+        walkChannelSet.forEach(walkChannel -> {
+            Walk walk = new Walk(walkChannel);
+            sendRequest(createWalkRequest(walkChannel.oid), new PendingRequest(cycle, walk));
+        });
+    }
+
+    private void sendRequest(PDU pdu, PendingRequest request) {
+        pendingRequests.put(pdu, request);
+        try {
+            snmpService.send(pdu, target, null, this);
+        } catch (IOException e) {
+            pendingRequests.remove(pdu);
+            logger.info("Could not send PDU", e);
+        }
+    }
+
+    /**
+     * Splits the GET request for the OIDs into PDUs that don't exceed the maximum PDU size of the target.
+     */
+    private List<PDU> createGetRequests(List<OID> oids) {
+        List<PDU> pdus = new ArrayList<>();
+        List<VariableBinding> variables = new ArrayList<>();
+        int size = 0;
+        for (OID oid : oids) {
+            VariableBinding variable = new VariableBinding(oid);
+            int variableSize = variable.getBERLength();
+            if (!variables.isEmpty() && size + variableSize > maxVariablesSize) {
+                pdus.add(new PDU(PDU.GET, variables));
+                variables = new ArrayList<>();
+                size = 0;
+            }
+            variables.add(variable);
+            size += variableSize;
+        }
+        if (!variables.isEmpty()) {
+            pdus.add(new PDU(PDU.GET, variables));
+        }
+        return pdus;
+    }
+
+    /**
+     * Creates a request for the OIDs following the given OID. SNMP v1 doesn't support GETBULK, GETNEXT is used there.
+     */
+    private PDU createWalkRequest(OID oid) {
+        PDU pdu = new PDU();
+        pdu.add(new VariableBinding(oid));
+        if (config.protocol.toInteger() == SnmpConstants.version1) {
+            pdu.setType(PDU.GETNEXT);
+        } else {
+            pdu.setType(PDU.GETBULK);
+            pdu.setNonRepeaters(0);
+            pdu.setMaxRepetitions(maxRepetitions);
+        }
+        return pdu;
+    }
+
+    /**
+     * Sends the request again in smaller parts, after the target responded that the response would be too big. The
+     * smaller size is also used for all following requests.
+     */
+    private void retryTooBigRequest(PDU pdu, PendingRequest request) {
+        Walk walk = request.walk;
+        if (walk != null && pdu.getType() == PDU.GETBULK && pdu.getMaxRepetitions() > 1) {
+            maxRepetitions = Math.max(1, pdu.getMaxRepetitions() / 2);
+            logger.debug("{} response too big, reducing the repetitions of walk requests to {}", thing.getUID(),
+                    maxRepetitions);
+            sendRequest(createWalkRequest(pdu.get(0).getOid()), new PendingRequest(request.cycle, walk));
+        } else if (walk == null && pdu.size() > 1) {
+            List<? extends VariableBinding> variables = pdu.getVariableBindings();
+            int half = variables.size() / 2;
+            maxVariablesSize = Math.min(maxVariablesSize,
+                    variables.subList(0, half).stream().mapToInt(VariableBinding::getBERLength).sum());
+            logger.debug("{} response too big, reducing the size of requests to {} bytes", thing.getUID(),
+                    maxVariablesSize);
+            sendRequest(new PDU(PDU.GET, variables.subList(0, half)), new PendingRequest(request.cycle, null));
+            sendRequest(new PDU(PDU.GET, variables.subList(half, variables.size())),
+                    new PendingRequest(request.cycle, null));
+        } else {
+            logger.warn("{} response to {} is too big for the target", thing.getUID(), pdu);
+            if (walk != null) {
+                // the walk can't be continued, keep the values found so far
+                finishWalk(walk);
             }
         }
     }
+
+    private void continueWalk(Walk walk, PendingRequest request, PDU response) {
+        OID rootOid = walk.channel.oid;
+        // v1 agents respond with an error at the end of the MIB
+        boolean finished = response.getErrorStatus() != PDU.noError || response.size() == 0;
+        for (VariableBinding variable : response.getVariableBindings()) {
+            if (finished) {
+                break;
+            }
+            OID oid = variable.getOid();
+            OID lastOid = walk.lastOid;
+            if (variable.isException() || oid.size() <= rootOid.size() || !oid.startsWith(rootOid)
+                    || (lastOid != null && oid.compareTo(lastOid) <= 0)) {
+                // end of the subtree or the agent doesn't return the OIDs in lexicographic order
+                finished = true;
+            } else {
+                walk.results.add(variable);
+                walk.lastOid = oid;
+            }
+        }
+        OID lastOid = walk.lastOid;
+        if (finished || lastOid == null) {
+            finishWalk(walk);
+        } else {
+            sendRequest(createWalkRequest(lastOid), new PendingRequest(request.cycle, walk));
+        }
+    }
+
+    private void finishWalk(Walk walk) {
+        logger.debug("{} walk of {} returned {} values", thing.getUID(), walk.channel.oid, walk.results.size());
+        createWalkChannels(walk);
+        walk.results.forEach(variable -> updateChannels(variable.getOid(), variable.getVariable(), readChannelSet));
+    }
+
+    /**
+     * Creates a read channel for every OID found by the walk, which has no channel yet. The channels get the
+     * configuration of the walk channel.
+     */
+    private synchronized void createWalkChannels(Walk walk) {
+        Channel walkChannel = thing.getChannel(walk.channel.channelUID);
+        if (walkChannel == null) {
+            return;
+        }
+        String rootOid = walk.channel.oid.toDottedString();
+        String label = walkChannel.getLabel();
+        ThingBuilder thingBuilder = editThing();
+        Set<ChannelUID> newChannelUIDs = new HashSet<>();
+        for (VariableBinding variable : walk.results) {
+            String oid = variable.getOid().toDottedString();
+            String index = oid.substring(rootOid.length() + 1);
+            ChannelUID channelUID = new ChannelUID(thing.getUID(),
+                    walkChannel.getUID().getId() + "_" + index.replace('.', '_'));
+            if (thing.getChannel(channelUID) != null || !newChannelUIDs.add(channelUID)) {
+                continue;
+            }
+            Configuration configuration = new Configuration(walkChannel.getConfiguration().getProperties());
+            configuration.put("oid", oid);
+            configuration.put("mode", SnmpChannelMode.READ.name());
+            thingBuilder.withChannel(ChannelBuilder.create(channelUID, walkChannel.getAcceptedItemType())
+                    .withType(walkChannel.getChannelTypeUID())
+                    .withLabel((label == null ? walkChannel.getUID().getId() : label) + " " + index)
+                    .withConfiguration(configuration)
+                    .withProperties(Map.of(PROPERTY_WALK_CHANNEL, walkChannel.getUID().getId())).build());
+        }
+        if (!newChannelUIDs.isEmpty()) {
+            logger.debug("{} adding {} channels found by walk of {}", thing.getUID(), newChannelUIDs.size(), rootOid);
+            updateThing(thingBuilder.build());
+            generateChannelConfigs();
+        }
+    }
+
+    private void recordResponseTime(PendingRequest request) {
+        long responseTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - request.sent);
+        responseCount.incrementAndGet();
+        responseTimeSum.addAndGet(responseTime);
+        responseTimeMax.accumulateAndGet(responseTime, Math::max);
+    }
+
+    private void logResponseTimes() {
+        long count = responseCount.getAndSet(0);
+        long sum = responseTimeSum.getAndSet(0);
+        long max = responseTimeMax.getAndSet(0);
+        if (count > 0) {
+            logger.debug("{} received {} responses since the last refresh, average response time {} ms, max {} ms",
+                    thing.getUID(), count, sum / count, max);
+        }
+    }
 }
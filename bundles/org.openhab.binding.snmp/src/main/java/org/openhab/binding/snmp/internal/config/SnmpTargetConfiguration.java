@@ -30,4 +30,5 @@ public class SnmpTargetConfiguration {
     public SnmpProtocolVersion protocol = SnmpProtocolVersion.v1;
     public int timeout = 1500;
     public int retries = 2;
+    public int maxPduSize = 1472;
 }
@@ -18,8 +18,10 @@ import static org.mockito.Mockito.*;
 import static org.openhab.binding.snmp.internal.SnmpBindingConstants.THING_TYPE_TARGET;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Vector;
 
@@ -176,13 +178,7 @@ public abstract class AbstractSnmpTargetHandlerTest extends JavaTest {
     protected void setup(ChannelTypeUID channelTypeUID, SnmpChannelMode channelMode, SnmpDatatype datatype,
             String onValue, String offValue, String exceptionValue, String unit) {
         Map<String, Object> channelConfig = new HashMap<>();
-        Map<String, Object> thingConfig = new HashMap<>();
-        mocks = MockitoAnnotations.openMocks(this);
-
-        thingConfig.put("hostname", "localhost");
-
-        ThingBuilder thingBuilder = ThingBuilder.create(THING_TYPE_TARGET, THING_UID).withLabel("Test thing")
-                .withConfiguration(new Configuration(thingConfig));
+        List<Channel> channels = new ArrayList<>();
 
         if (channelTypeUID != null && channelMode != null) {
             String itemType = SnmpBindingConstants.CHANNEL_TYPE_UID_NUMBER.equals(channelTypeUID) ? "Number" : "String";
@@ -205,9 +201,23 @@ public abstract class AbstractSnmpTargetHandlerTest extends JavaTest {
             }
             Channel channel = ChannelBuilder.create(CHANNEL_UID, itemType).withType(channelTypeUID)
                     .withConfiguration(new Configuration(channelConfig)).build();
-            thingBuilder.withChannel(channel);
+            channels.add(channel);
         }
 
+        setup(new HashMap<>(), channels);
+    }
+
+    protected void setup(Map<String, Object> thingConfig, List<Channel> channels) {
+        mocks = MockitoAnnotations.openMocks(this);
+        initializeThingHandler(thingConfig, channels);
+    }
+
+    protected void initializeThingHandler(Map<String, Object> thingConfig, List<Channel> channels) {
+        thingConfig.put("hostname", "localhost");
+
+        ThingBuilder thingBuilder = ThingBuilder.create(THING_TYPE_TARGET, THING_UID).withLabel("Test thing")
+                .withConfiguration(new Configuration(thingConfig)).withChannels(channels);
+
         thing = thingBuilder.build();
         thingHandler = new SnmpTargetHandler(thing, snmpService);
 
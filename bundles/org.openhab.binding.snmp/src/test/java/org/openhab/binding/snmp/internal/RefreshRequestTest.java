@@ -0,0 +1,165 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.snmp.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.openhab.core.config.core.Configuration;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.thing.Channel;
+import org.openhab.core.thing.ChannelUID;
+import org.openhab.core.thing.binding.builder.ChannelBuilder;
+import org.snmp4j.PDU;
+import org.snmp4j.event.ResponseEvent;
+import org.snmp4j.smi.Counter32;
+import org.snmp4j.smi.OID;
+import org.snmp4j.smi.VariableBinding;
+
+/**
+ * Tests cases for the requests sent by the refresh of {@link SnmpTargetHandler}.
+ *
+ * @author agent - Initial contribution
+ */
+public class RefreshRequestTest extends AbstractSnmpTargetHandlerTest {
+    private static final String TABLE_OID = "1.3.6.1.2.1.2.2.1.10";
+    private static final String NEXT_COLUMN_OID = "1.3.6.1.2.1.2.2.1.11.1";
+
+    private final List<PDU> sentPdus = Collections.synchronizedList(new ArrayList<>());
+
+    @Test
+    public void testGetRequestsAreSplit() throws IOException {
+        List<Channel> channels = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            channels.add(createChannel("channel" + i, TABLE_OID + "." + i, SnmpChannelMode.READ));
+        }
+        setup(Map.of("maxPduSize", 484), channels);
+
+        waitForAssert(() -> assertEquals(60, sentPdus.stream().mapToInt(PDU::size).sum()));
+        assertTrue(sentPdus.size() > 1);
+        sentPdus.forEach(pdu -> {
+            assertEquals(PDU.GET, pdu.getType());
+            assertTrue(pdu.getBERLength() <= 484);
+        });
+    }
+
+    @Test
+    public void testTooBigResponseSplitsRequest() throws IOException {
+        List<Channel> channels = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            channels.add(createChannel("channel" + i, TABLE_OID + "." + i, SnmpChannelMode.READ));
+        }
+        setup(new HashMap<>(), channels);
+        waitForAssert(() -> assertEquals(1, sentPdus.size()));
+        PDU request = sentPdus.remove(0);
+
+        PDU response = new PDU(PDU.RESPONSE, request.getVariableBindings());
+        response.setErrorStatus(PDU.tooBig);
+        thingHandler.onResponse(new ResponseEvent("test", null, request, response, null));
+
+        assertEquals(2, sentPdus.size());
+        assertEquals(2, sentPdus.get(0).size());
+        assertEquals(2, sentPdus.get(1).size());
+        assertEquals(request.get(3).getOid(), sentPdus.get(1).get(1).getOid());
+    }
+
+    @Test
+    public void testWalkCreatesChannels() throws IOException {
+        setup(Map.of("protocol", "v2c"),
+                List.of(createChannel(CHANNEL_UID.getId(), TABLE_OID, SnmpChannelMode.WALK)));
+        waitForAssert(() -> assertEquals(1, sentPdus.size()));
+        PDU request = sentPdus.remove(0);
+        assertEquals(PDU.GETBULK, request.getType());
+        assertEquals(new OID(TABLE_OID), request.get(0).getOid());
+
+        // the walk continues while the OIDs are within the subtree
+        PDU response = new PDU(PDU.RESPONSE, List.of(new VariableBinding(new OID(TABLE_OID + ".1"), new Counter32(100)),
+                new VariableBinding(new OID(TABLE_OID + ".2"), new Counter32(200))));
+        thingHandler.onResponse(new ResponseEvent("test", null, request, response, null));
+        assertEquals(1, sentPdus.size());
+        request = sentPdus.remove(0);
+        assertEquals(new OID(TABLE_OID + ".2"), request.get(0).getOid());
+
+        response = new PDU(PDU.RESPONSE, List.of(new VariableBinding(new OID(NEXT_COLUMN_OID), new Counter32(1))));
+        thingHandler.onResponse(new ResponseEvent("test", null, request, response, null));
+        assertTrue(sentPdus.isEmpty());
+
+        ChannelUID firstChannelUID = new ChannelUID(THING_UID, CHANNEL_UID.getId() + "_1");
+        Channel firstChannel = thingHandler.getThing().getChannel(firstChannelUID);
+        assertNotNull(firstChannel);
+        assertEquals(TABLE_OID + ".1", firstChannel.getConfiguration().get("oid"));
+        assertEquals(CHANNEL_UID.getId(),
+                firstChannel.getProperties().get(SnmpBindingConstants.PROPERTY_WALK_CHANNEL));
+        assertNotNull(thingHandler.getThing().getChannel(new ChannelUID(THING_UID, CHANNEL_UID.getId() + "_2")));
+        verify(thingHandlerCallback).stateUpdated(eq(firstChannelUID), eq(new DecimalType(100)));
+    }
+
+    @Test
+    public void testTooBigResponseFinishesWalkWithSingleRepetition() throws IOException {
+        setup(Map.of("protocol", "v2c"),
+                List.of(createChannel(CHANNEL_UID.getId(), TABLE_OID, SnmpChannelMode.WALK)));
+        waitForAssert(() -> assertEquals(1, sentPdus.size()));
+        PDU request = sentPdus.remove(0);
+
+        PDU response = new PDU(PDU.RESPONSE,
+                List.of(new VariableBinding(new OID(TABLE_OID + ".1"), new Counter32(100))));
+        thingHandler.onResponse(new ResponseEvent("test", null, request, response, null));
+        request = sentPdus.remove(0);
+
+        // the repetitions are reduced until a single one is too big
+        while (request.getMaxRepetitions() > 1) {
+            int maxRepetitions = request.getMaxRepetitions();
+            response = new PDU(PDU.RESPONSE, request.getVariableBindings());
+            response.setErrorStatus(PDU.tooBig);
+            thingHandler.onResponse(new ResponseEvent("test", null, request, response, null));
+            assertEquals(1, sentPdus.size());
+            request = sentPdus.remove(0);
+            assertTrue(request.getMaxRepetitions() < maxRepetitions);
+        }
+        response = new PDU(PDU.RESPONSE, request.getVariableBindings());
+        response.setErrorStatus(PDU.tooBig);
+        thingHandler.onResponse(new ResponseEvent("test", null, request, response, null));
+        assertTrue(sentPdus.isEmpty());
+
+        // the values found before are still used
+        ChannelUID firstChannelUID = new ChannelUID(THING_UID, CHANNEL_UID.getId() + "_1");
+        assertNotNull(thingHandler.getThing().getChannel(firstChannelUID));
+        verify(thingHandlerCallback).stateUpdated(eq(firstChannelUID), eq(new DecimalType(100)));
+    }
+
+    @Override
+    protected void initializeThingHandler(Map<String, Object> thingConfig, List<Channel> channels) {
+        try {
+            doAnswer(answer -> sentPdus.add(answer.getArgument(0))).when(snmpService).send(any(), any(), isNull(),
+                    any());
+        } catch (IOException e) {
+            fail(e);
+        }
+        super.initializeThingHandler(new HashMap<>(thingConfig), channels);
+    }
+
+    private Channel createChannel(String id, String oid, SnmpChannelMode mode) {
+        return ChannelBuilder.create(new ChannelUID(THING_UID, id), "Number")
+                .withType(SnmpBindingConstants.CHANNEL_TYPE_UID_NUMBER)
+                .withConfiguration(new Configuration(Map.of("oid", oid, "mode", mode.name()))).build();
+    }
+}
@@ -25,6 +25,13 @@ import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import org.apache.commons.lang3.StringEscapeUtils;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -35,7 +42,6 @@ import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 import org.xml.sax.XMLReader;
 import org.xml.sax.helpers.DefaultHandler;
-import org.xml.sax.helpers.XMLReaderFactory;
 
 /**
  * The {@link SonosXMLParser} is a class of helper functions
@@ -48,6 +54,10 @@ public class SonosXMLParser {
 
     static final Logger LOGGER = LoggerFactory.getLogger(SonosXMLParser.class);
 
+    // the factories are configured once and shared, creating them for every parse is expensive
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXMLInputFactory();
+    private static final SAXParserFactory SAX_PARSER_FACTORY = createSAXParserFactory();
+
     private static final MessageFormat METADATA_FORMAT = new MessageFormat(
             "<DIDL-Lite xmlns:dc=\"http://purl.org/dc/elements/1.1/\" "
                     + "xmlns:upnp=\"urn:schemas-upnp-org:metadata-1-0/upnp/\" "
@@ -70,17 +80,43 @@ public class SonosXMLParser {
         DESC
     }
 
-    private enum CurrentElement {
-        item,
-        res,
-        streamContent,
-        albumArtURI,
-        title,
-        upnpClass,
-        creator,
-        album,
-        albumArtist,
-        desc
+    private static XMLInputFactory createXMLInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+
+    private static SAXParserFactory createSAXParserFactory() {
+        SAXParserFactory factory = SAXParserFactory.newInstance();
+        factory.setNamespaceAware(true);
+        return factory;
+    }
+
+    private static XMLReader createXMLReader() throws SAXException {
+        try {
+            synchronized (SAX_PARSER_FACTORY) {
+                return SAX_PARSER_FACTORY.newSAXParser().getXMLReader();
+            }
+        } catch (ParserConfigurationException e) {
+            throw new SAXException(e);
+        }
+    }
+
+    private static String getQName(XMLStreamReader reader) {
+        String prefix = reader.getPrefix();
+        return prefix == null || prefix.isEmpty() ? reader.getLocalName() : prefix + ":" + reader.getLocalName();
+    }
+
+    private static void close(@Nullable XMLStreamReader reader) {
+        if (reader != null) {
+            try {
+                reader.close();
+            } catch (XMLStreamException e) {
+                // nothing to release for a string source
+            }
+        }
     }
 
     /**
@@ -92,7 +128,7 @@ public class SonosXMLParser {
     public static List<SonosAlarm> getAlarmsFromStringResult(String xml) {
         AlarmHandler handler = new AlarmHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
+            XMLReader reader = createXMLReader();
             reader.setContentHandler(handler);
             reader.parse(new InputSource(new StringReader(xml)));
         } catch (IOException e) {
@@ -112,7 +148,7 @@ public class SonosXMLParser {
     public static List<SonosEntry> getEntriesFromString(String xml) {
         EntryHandler handler = new EntryHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
+            XMLReader reader = createXMLReader();
             reader.setContentHandler(handler);
             reader.parse(new InputSource(new StringReader(xml)));
         } catch (IOException e) {
@@ -133,7 +169,7 @@ public class SonosXMLParser {
      * @throws SAXException
      */
     public static @Nullable SonosResourceMetaData getResourceMetaData(String xml) throws SAXException {
-        XMLReader reader = XMLReaderFactory.createXMLReader();
+        XMLReader reader = createXMLReader();
         reader.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
         ResourceMetaDataHandler handler = new ResourceMetaDataHandler();
         reader.setContentHandler(handler);
@@ -157,7 +193,7 @@ public class SonosXMLParser {
     public static List<SonosZoneGroup> getZoneGroupFromXML(String xml) {
         ZoneGroupHandler handler = new ZoneGroupHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
+            XMLReader reader = createXMLReader();
             reader.setContentHandler(handler);
             reader.parse(new InputSource(new StringReader(xml)));
         } catch (IOException e) {
@@ -173,7 +209,7 @@ public class SonosXMLParser {
     public static List<String> getRadioTimeFromXML(String xml) {
         OpmlHandler handler = new OpmlHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
+            XMLReader reader = createXMLReader();
             reader.setContentHandler(handler);
             reader.parse(new InputSource(new StringReader(xml)));
         } catch (IOException e) {
@@ -186,56 +222,175 @@ public class SonosXMLParser {
         return handler.getTextFields();
     }
 
+    /**
+     * Extracts the changed variables from the LastChange event of the RenderingControl service.
+     *
+     * @param xml the LastChange value, e.g. {@code <Event><InstanceID val="0"><Volume channel="Master" val="20"/>}
+     * @return the values by variable name, the channel is appended to the name of the per-channel variables
+     */
     public static Map<String, String> getRenderingControlFromXML(String xml) {
-        RenderingControlEventHandler handler = new RenderingControlEventHandler();
+        Map<String, String> changes = new HashMap<>();
+        XMLStreamReader reader = null;
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
-        } catch (IOException e) {
-            // This should never happen - we're not performing I/O!
-            LOGGER.error("Could not parse Rendering Control from string '{}'", xml);
-        } catch (SAXException s) {
+            reader = XML_INPUT_FACTORY.createXMLStreamReader(new StringReader(xml));
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+                String name = getQName(reader);
+                String channel;
+                String val;
+                switch (name) {
+                    case "Volume":
+                    case "Mute":
+                    case "Loudness":
+                        channel = reader.getAttributeValue(null, "channel");
+                        val = reader.getAttributeValue(null, "val");
+                        if (channel != null && val != null) {
+                            changes.put(name + channel, val);
+                        }
+                        break;
+                    case "Bass":
+                    case "Treble":
+                    case "OutputFixed":
+                    case "NightMode":
+                    case "DialogLevel":
+                    case "SubEnabled":
+                    case "SubGain":
+                    case "SurroundEnabled":
+                    case "SurroundMode":
+                    case "SurroundLevel":
+                    case "HTAudioIn":
+                    case "MusicSurroundLevel":
+                    case "HeightChannelLevel":
+                        val = reader.getAttributeValue(null, "val");
+                        if (val != null) {
+                            changes.put(name, val);
+                        }
+                        break;
+                    case "PresetNameList":
+                        String presetName = reader.getElementText();
+                        if (!presetName.isEmpty()) {
+                            changes.put(name, presetName);
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            }
+        } catch (XMLStreamException e) {
             LOGGER.error("Could not parse Rendering Control from string '{}'", xml);
+        } finally {
+            close(reader);
         }
-        return handler.getChanges();
+        return changes;
     }
 
+    /**
+     * Extracts the changed variables from the LastChange event of the AVTransport service.
+     *
+     * @param xml the LastChange value, e.g. {@code <Event><InstanceID val="0"><TransportState val="PLAYING"/>}
+     * @return the values by variable name
+     */
     public static Map<String, String> getAVTransportFromXML(String xml) {
-        AVTransportEventHandler handler = new AVTransportEventHandler();
+        Map<String, String> changes = new HashMap<>();
+        XMLStreamReader reader = null;
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
-        } catch (IOException e) {
-            // This should never happen - we're not performing I/O!
-            LOGGER.error("Could not parse AV Transport from string '{}'", xml);
-        } catch (SAXException s) {
+            reader = XML_INPUT_FACTORY.createXMLStreamReader(new StringReader(xml));
+            while (reader.hasNext()) {
+                // The events are all of the form <localName val="value"/>, the nested elements are not needed
+                if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                    String val = reader.getAttributeValue(null, "val");
+                    if (val != null) {
+                        changes.put(reader.getLocalName(), val);
+                    }
+                }
+            }
+        } catch (XMLStreamException e) {
             LOGGER.error("Could not parse AV Transport from string '{}'", xml);
+        } finally {
+            close(reader);
         }
-        return handler.getChanges();
+        return changes;
     }
 
     public static SonosMetaData getMetaDataFromXML(String xml) {
-        MetaDataHandler handler = new MetaDataHandler();
+        String id = "-1";
+        String parentId = "-1";
+        StringBuilder resource = new StringBuilder();
+        StringBuilder streamContent = new StringBuilder();
+        StringBuilder albumArtUri = new StringBuilder();
+        StringBuilder title = new StringBuilder();
+        StringBuilder upnpClass = new StringBuilder();
+        StringBuilder creator = new StringBuilder();
+        StringBuilder album = new StringBuilder();
+        StringBuilder albumArtist = new StringBuilder();
+
+        XMLStreamReader reader = null;
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
-        } catch (IOException e) {
-            // This should never happen - we're not performing I/O!
-            LOGGER.error("Could not parse MetaData from string '{}'", xml);
-        } catch (SAXException s) {
+            reader = XML_INPUT_FACTORY.createXMLStreamReader(new StringReader(xml));
+            // the text of an element is collected until the next element starts
+            @Nullable
+            StringBuilder current = null;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    switch (reader.getLocalName()) {
+                        case "item":
+                            current = null;
+                            String value = reader.getAttributeValue(null, "id");
+                            id = value != null ? value : id;
+                            value = reader.getAttributeValue(null, "parentID");
+                            parentId = value != null ? value : parentId;
+                            break;
+                        case "res":
+                            current = resource;
+                            break;
+                        case "streamContent":
+                            current = streamContent;
+                            break;
+                        case "albumArtURI":
+                            current = albumArtUri;
+                            break;
+                        case "title":
+                            current = title;
+                            break;
+                        case "class":
+                            current = upnpClass;
+                            break;
+                        case "creator":
+                            current = creator;
+                            break;
+                        case "album":
+                            current = album;
+                            break;
+                        case "albumArtist":
+                            current = albumArtist;
+                            break;
+                        default:
+                            // unknown element
+                            current = null;
+                            break;
+                    }
+                } else if (current != null
+                        && (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA)) {
+                    current.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                }
+            }
+        } catch (XMLStreamException e) {
             LOGGER.error("Could not parse MetaData from string '{}'", xml);
+        } finally {
+            close(reader);
         }
 
-        return handler.getMetaData();
+        return new SonosMetaData(id, parentId, resource.toString(), streamContent.toString(), albumArtUri.toString(),
+                title.toString(), upnpClass.toString(), creator.toString(), album.toString(), albumArtist.toString());
     }
 
     public static List<SonosMusicService> getMusicServicesFromXML(String xml) {
         MusicServiceHandler handler = new MusicServiceHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
+            XMLReader reader = createXMLReader();
             reader.setContentHandler(handler);
             reader.parse(new InputSource(new StringReader(xml)));
         } catch (IOException e) {
@@ -664,258 +819,6 @@ public class SonosXMLParser {
         }
     }
 
-    private static class AVTransportEventHandler extends DefaultHandler {
-
-        /*
-         * <Event xmlns="urn:schemas-upnp-org:metadata-1-0/AVT/" xmlns:r="urn:schemas-rinconnetworks-com:metadata-1-0/">
-         * <InstanceID val="0">
-         * <TransportState val="PLAYING"/>
-         * <CurrentPlayMode val="NORMAL"/>
-         * <CurrentPlayMode val="0"/>
-         * <NumberOfTracks val="29"/>
-         * <CurrentTrack val="12"/>
-         * <CurrentSection val="0"/>
-         * <CurrentTrackURI val=
-         * "x-file-cifs://192.168.1.1/Storage4/Sonos%20Music/Queens%20Of%20The%20Stone%20Age/Lullabies%20To%20Paralyze/Queens%20Of%20The%20Stone%20Age%20-%20Lullabies%20To%20Paralyze%20-%2012%20-%20Broken%20Box.wma"
-         * />
-         * <CurrentTrackDuration val="0:03:02"/>
-         * <CurrentTrackMetaData val=
-         * "&lt;DIDL-Lite xmlns:dc=&quot;http://purl.org/dc/elements/1.1/&quot; xmlns:upnp=&quot;urn:schemas-upnp-org:metadata-1-0/upnp/&quot; xmlns:r=&quot;urn:schemas-rinconnetworks-com:metadata-1-0/&quot; xmlns=&quot;urn:schemas-upnp-org:metadata-1-0/DIDL-Lite/&quot;&gt;&lt;item id=&quot;-1&quot; parentID=&quot;-1&quot; restricted=&quot;true&quot;&gt;&lt;res protocolInfo=&quot;x-file-cifs:*:audio/x-ms-wma:*&quot; duration=&quot;0:03:02&quot;&gt;x-file-cifs://192.168.1.1/Storage4/Sonos%20Music/Queens%20Of%20The%20Stone%20Age/Lullabies%20To%20Paralyze/Queens%20Of%20The%20Stone%20Age%20-%20Lullabies%20To%20Paralyze%20-%2012%20-%20Broken%20Box.wma&lt;/res&gt;&lt;r:streamContent&gt;&lt;/r:streamContent&gt;&lt;dc:title&gt;Broken Box&lt;/dc:title&gt;&lt;upnp:class&gt;object.item.audioItem.musicTrack&lt;/upnp:class&gt;&lt;dc:creator&gt;Queens Of The Stone Age&lt;/dc:creator&gt;&lt;upnp:album&gt;Lullabies To Paralyze&lt;/upnp:album&gt;&lt;r:albumArtist&gt;Queens Of The Stone Age&lt;/r:albumArtist&gt;&lt;/item&gt;&lt;/DIDL-Lite&gt;"
-         * /><r:NextTrackURI val=
-         * "x-file-cifs://192.168.1.1/Storage4/Sonos%20Music/Queens%20Of%20The%20Stone%20Age/Lullabies%20To%20Paralyze/Queens%20Of%20The%20Stone%20Age%20-%20Lullabies%20To%20Paralyze%20-%2013%20-%20&apos;&apos;You%20Got%20A%20Killer%20Scene%20There,%20Man...&apos;&apos;.wma"
-         * /><r:NextTrackMetaData val=
-         * "&lt;DIDL-Lite xmlns:dc=&quot;http://purl.org/dc/elements/1.1/&quot; xmlns:upnp=&quot;urn:schemas-upnp-org:metadata-1-0/upnp/&quot; xmlns:r=&quot;urn:schemas-rinconnetworks-com:metadata-1-0/&quot; xmlns=&quot;urn:schemas-upnp-org:metadata-1-0/DIDL-Lite/&quot;&gt;&lt;item id=&quot;-1&quot; parentID=&quot;-1&quot; restricted=&quot;true&quot;&gt;&lt;res protocolInfo=&quot;x-file-cifs:*:audio/x-ms-wma:*&quot; duration=&quot;0:04:56&quot;&gt;x-file-cifs://192.168.1.1/Storage4/Sonos%20Music/Queens%20Of%20The%20Stone%20Age/Lullabies%20To%20Paralyze/Queens%20Of%20The%20Stone%20Age%20-%20Lullabies%20To%20Paralyze%20-%2013%20-%20&amp;apos;&amp;apos;You%20Got%20A%20Killer%20Scene%20There,%20Man...&amp;apos;&amp;apos;.wma&lt;/res&gt;&lt;dc:title&gt;&amp;apos;&amp;apos;You Got A Killer Scene There, Man...&amp;apos;&amp;apos;&lt;/dc:title&gt;&lt;upnp:class&gt;object.item.audioItem.musicTrack&lt;/upnp:class&gt;&lt;dc:creator&gt;Queens Of The Stone Age&lt;/dc:creator&gt;&lt;upnp:album&gt;Lullabies To Paralyze&lt;/upnp:album&gt;&lt;r:albumArtist&gt;Queens Of The Stone Age&lt;/r:albumArtist&gt;&lt;/item&gt;&lt;/DIDL-Lite&gt;"
-         * /><r:EnqueuedTransportURI
-         * val="x-rincon-playlist:RINCON_000E582126EE01400#A:ALBUMARTIST/Queens%20Of%20The%20Stone%20Age"/><r:
-         * EnqueuedTransportURIMetaData val=
-         * "&lt;DIDL-Lite xmlns:dc=&quot;http://purl.org/dc/elements/1.1/&quot; xmlns:upnp=&quot;urn:schemas-upnp-org:metadata-1-0/upnp/&quot; xmlns:r=&quot;urn:schemas-rinconnetworks-com:metadata-1-0/&quot; xmlns=&quot;urn:schemas-upnp-org:metadata-1-0/DIDL-Lite/&quot;&gt;&lt;item id=&quot;A:ALBUMARTIST/Queens%20Of%20The%20Stone%20Age&quot; parentID=&quot;A:ALBUMARTIST&quot; restricted=&quot;true&quot;&gt;&lt;dc:title&gt;Queens Of The Stone Age&lt;/dc:title&gt;&lt;upnp:class&gt;object.container&lt;/upnp:class&gt;&lt;desc id=&quot;cdudn&quot; nameSpace=&quot;urn:schemas-rinconnetworks-com:metadata-1-0/&quot;&gt;RINCON_AssociatedZPUDN&lt;/desc&gt;&lt;/item&gt;&lt;/DIDL-Lite&gt;"
-         * />
-         * <PlaybackStorageMedium val="NETWORK"/>
-         * <AVTransportURI val="x-rincon-queue:RINCON_000E5812BC1801400#0"/>
-         * <AVTransportURIMetaData val=""/>
-         * <CurrentTransportActions val="Play, Stop, Pause, Seek, Next, Previous"/>
-         * <TransportStatus val="OK"/>
-         * <r:SleepTimerGeneration val="0"/>
-         * <r:AlarmRunning val="0"/>
-         * <r:SnoozeRunning val="0"/>
-         * <r:RestartPending val="0"/>
-         * <TransportPlaySpeed val="NOT_IMPLEMENTED"/>
-         * <CurrentMediaDuration val="NOT_IMPLEMENTED"/>
-         * <RecordStorageMedium val="NOT_IMPLEMENTED"/>
-         * <PossiblePlaybackStorageMedia val="NONE, NETWORK"/>
-         * <PossibleRecordStorageMedia val="NOT_IMPLEMENTED"/>
-         * <RecordMediumWriteStatus val="NOT_IMPLEMENTED"/>
-         * <CurrentRecordQualityMode val="NOT_IMPLEMENTED"/>
-         * <PossibleRecordQualityModes val="NOT_IMPLEMENTED"/>
-         * <NextAVTransportURI val="NOT_IMPLEMENTED"/>
-         * <NextAVTransportURIMetaData val="NOT_IMPLEMENTED"/>
-         * </InstanceID>
-         * </Event>
-         */
-
-        private final Map<String, String> changes = new HashMap<>();
-
-        @Override
-        public void startElement(@Nullable String uri, @Nullable String localName, @Nullable String qName,
-                @Nullable Attributes attributes) throws SAXException {
-            /*
-             * The events are all of the form <qName val="value"/> so we can get all
-             * the info we need from here.
-             */
-            if (localName == null) {
-                // this means that localName isn't defined in EventType, which is expected for some elements
-                LOGGER.info("{} is not defined in EventType. ", localName);
-            } else {
-                String val = attributes == null ? null : attributes.getValue("val");
-                if (val != null) {
-                    changes.put(localName, val);
-                }
-            }
-        }
-
-        public Map<String, String> getChanges() {
-            return changes;
-        }
-    }
-
-    private static class MetaDataHandler extends DefaultHandler {
-
-        private @Nullable CurrentElement currentElement;
-
-        private String id = "-1";
-        private String parentId = "-1";
-        private StringBuilder resource = new StringBuilder();
-        private StringBuilder streamContent = new StringBuilder();
-        private StringBuilder albumArtUri = new StringBuilder();
-        private StringBuilder title = new StringBuilder();
-        private StringBuilder upnpClass = new StringBuilder();
-        private StringBuilder creator = new StringBuilder();
-        private StringBuilder album = new StringBuilder();
-        private StringBuilder albumArtist = new StringBuilder();
-
-        @Override
-        public void startElement(@Nullable String uri, @Nullable String localName, @Nullable String qName,
-                @Nullable Attributes attributes) throws SAXException {
-            String name = localName == null ? "" : localName;
-            switch (name) {
-                case "item":
-                    currentElement = CurrentElement.item;
-                    if (attributes != null) {
-                        id = attributes.getValue("id");
-                        parentId = attributes.getValue("parentID");
-                    }
-                    break;
-                case "res":
-                    currentElement = CurrentElement.res;
-                    break;
-                case "streamContent":
-                    currentElement = CurrentElement.streamContent;
-                    break;
-                case "albumArtURI":
-                    currentElement = CurrentElement.albumArtURI;
-                    break;
-                case "title":
-                    currentElement = CurrentElement.title;
-                    break;
-                case "class":
-                    currentElement = CurrentElement.upnpClass;
-                    break;
-                case "creator":
-                    currentElement = CurrentElement.creator;
-                    break;
-                case "album":
-                    currentElement = CurrentElement.album;
-                    break;
-                case "albumArtist":
-                    currentElement = CurrentElement.albumArtist;
-                    break;
-                default:
-                    // unknown element
-                    currentElement = null;
-                    break;
-            }
-        }
-
-        @Override
-        public void characters(char @Nullable [] ch, int start, int length) throws SAXException {
-            CurrentElement elt = currentElement;
-            if (elt == null || ch == null) {
-                return;
-            }
-            switch (elt) {
-                case item:
-                    break;
-                case res:
-                    resource.append(ch, start, length);
-                    break;
-                case streamContent:
-                    streamContent.append(ch, start, length);
-                    break;
-                case albumArtURI:
-                    albumArtUri.append(ch, start, length);
-                    break;
-                case title:
-                    title.append(ch, start, length);
-                    break;
-                case upnpClass:
-                    upnpClass.append(ch, start, length);
-                    break;
-                case creator:
-                    creator.append(ch, start, length);
-                    break;
-                case album:
-                    album.append(ch, start, length);
-                    break;
-                case albumArtist:
-                    albumArtist.append(ch, start, length);
-                    break;
-                case desc:
-                    break;
-            }
-        }
-
-        public SonosMetaData getMetaData() {
-            return new SonosMetaData(id, parentId, resource.toString(), streamContent.toString(),
-                    albumArtUri.toString(), title.toString(), upnpClass.toString(), creator.toString(),
-                    album.toString(), albumArtist.toString());
-        }
-    }
-
-    private static class RenderingControlEventHandler extends DefaultHandler {
-
-        private final Map<String, String> changes = new HashMap<>();
-
-        private boolean getPresetName = false;
-        private @Nullable String presetName;
-
-        @Override
-        public void startElement(@Nullable String uri, @Nullable String localName, @Nullable String qName,
-                @Nullable Attributes attributes) throws SAXException {
-            if (qName == null) {
-                return;
-            }
-            String channel;
-            String val;
-            switch (qName) {
-                case "Volume":
-                case "Mute":
-                case "Loudness":
-                    channel = attributes == null ? null : attributes.getValue("channel");
-                    val = attributes == null ? null : attributes.getValue("val");
-                    if (channel != null && val != null) {
-                        changes.put(qName + channel, val);
-                    }
-                    break;
-                case "Bass":
-                case "Treble":
-                case "OutputFixed":
-                case "NightMode":
-                case "DialogLevel":
-                case "SubEnabled":
-                case "SubGain":
-                case "SurroundEnabled":
-                case "SurroundMode":
-                case "SurroundLevel":
-                case "HTAudioIn":
-                case "MusicSurroundLevel":
-                case "HeightChannelLevel":
-                    val = attributes == null ? null : attributes.getValue("val");
-                    if (val != null) {
-                        changes.put(qName, val);
-                    }
-                    break;
-                case "PresetNameList":
-                    getPresetName = true;
-                    break;
-                default:
-                    break;
-            }
-        }
-
-        @Override
-        public void characters(char @Nullable [] ch, int start, int length) throws SAXException {
-            if (getPresetName && ch != null) {
-                presetName = new String(ch, start, length);
-            }
-        }
-
-        @Override
-        public void endElement(@Nullable String uri, @Nullable String localName, @Nullable String qName)
-                throws SAXException {
-            if (getPresetName) {
-                getPresetName = false;
-                String preset = presetName;
-                if (qName != null && preset != null) {
-                    changes.put(qName, preset);
-                }
-            }
-        }
-
-        public Map<String, String> getChanges() {
-            return changes;
-        }
-    }
-
     private static class MusicServiceHandler extends DefaultHandler {
 
         private final List<SonosMusicService> services = new ArrayList<>();
@@ -938,7 +841,7 @@ public class SonosXMLParser {
     public static @Nullable String getRoomName(String descriptorXML) {
         RoomNameHandler roomNameHandler = new RoomNameHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
+            XMLReader reader = createXMLReader();
             reader.setContentHandler(roomNameHandler);
             URL url = new URL(descriptorXML);
             reader.parse(new InputSource(url.openStream()));
@@ -977,7 +880,7 @@ public class SonosXMLParser {
     public static @Nullable String parseModelDescription(URL descriptorURL) {
         ModelNameHandler modelNameHandler = new ModelNameHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
+            XMLReader reader = createXMLReader();
             reader.setContentHandler(modelNameHandler);
             URL url = new URL(descriptorURL.toString());
             reader.parse(new InputSource(url.openStream()));
@@ -29,8 +29,10 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -182,7 +184,15 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
     private final Object stateLock = new Object();
     private final Object jobLock = new Object();
 
-    private final Map<String, String> stateMap = Collections.synchronizedMap(new HashMap<>());
+    private final Map<String, String> stateMap = new ConcurrentHashMap<>();
+
+    // last parse results of the XML state variables, they are only parsed again when the variable changes
+    private final ParsedXml<Map<String, String>> avTransportLastChange = new ParsedXml<>();
+    private final ParsedXml<Map<String, String>> renderingControlLastChange = new ParsedXml<>();
+    private final ParsedXml<SonosMetaData> currentURIMetaData = new ParsedXml<>();
+    private final ParsedXml<SonosMetaData> currentTrackMetaData = new ParsedXml<>();
+    private final ParsedXml<SonosMetaData> enqueuedTransportURIMetaData = new ParsedXml<>();
+    private final ParsedXml<List<SonosZoneGroup>> zoneGroups = new ParsedXml<>();
 
     private @Nullable ScheduledFuture<?> pollingJob;
     private @Nullable SonosZonePlayerState savedState;
@@ -489,7 +499,8 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
 
             // pre-process some variables, eg XML processing
             if (SERVICE_AV_TRANSPORT.equals(service) && "LastChange".equals(variable)) {
-                Map<String, String> parsedValues = SonosXMLParser.getAVTransportFromXML(value);
+                Map<String, String> parsedValues = avTransportLastChange.get(value,
+                        SonosXMLParser::getAVTransportFromXML);
                 parsedValues.forEach((variable1, value1) -> {
                     // Update the transport state after the update of the media information
                     // to not break the notification mechanism
@@ -511,7 +522,8 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
             }
 
             if (SERVICE_RENDERING_CONTROL.equals(service) && "LastChange".equals(variable)) {
-                Map<String, String> parsedValues = SonosXMLParser.getRenderingControlFromXML(value);
+                Map<String, String> parsedValues = renderingControlLastChange.get(value,
+                        SonosXMLParser::getRenderingControlFromXML);
                 parsedValues.forEach((variable1, value1) -> {
                     onValueReceived(variable1, value1, service);
                 });
@@ -1405,17 +1417,23 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
 
     public @Nullable SonosMetaData getCurrentURIMetadata() {
         String metaData = getCurrentURIMetadataAsString();
-        return metaData != null && !metaData.isEmpty() ? SonosXMLParser.getMetaDataFromXML(metaData) : null;
+        return metaData != null && !metaData.isEmpty()
+                ? currentURIMetaData.get(metaData, SonosXMLParser::getMetaDataFromXML)
+                : null;
     }
 
     public @Nullable SonosMetaData getTrackMetadata() {
         String metaData = stateMap.get("CurrentTrackMetaData");
-        return metaData != null && !metaData.isEmpty() ? SonosXMLParser.getMetaDataFromXML(metaData) : null;
+        return metaData != null && !metaData.isEmpty()
+                ? currentTrackMetaData.get(metaData, SonosXMLParser::getMetaDataFromXML)
+                : null;
     }
 
     public @Nullable SonosMetaData getEnqueuedTransportURIMetaData() {
         String metaData = stateMap.get("EnqueuedTransportURIMetaData");
-        return metaData != null && !metaData.isEmpty() ? SonosXMLParser.getMetaDataFromXML(metaData) : null;
+        return metaData != null && !metaData.isEmpty()
+                ? enqueuedTransportURIMetaData.get(metaData, SonosXMLParser::getMetaDataFromXML)
+                : null;
     }
 
     public @Nullable String getMACAddress() {
@@ -1954,7 +1972,8 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
 
     private Collection<SonosZoneGroup> getZoneGroups() {
         String zoneGroupState = stateMap.get("ZoneGroupState");
-        return zoneGroupState == null ? Collections.emptyList() : SonosXMLParser.getZoneGroupFromXML(zoneGroupState);
+        return zoneGroupState == null ? Collections.emptyList()
+                : zoneGroups.get(zoneGroupState, SonosXMLParser::getZoneGroupFromXML);
     }
 
     /**
@@ -3377,4 +3396,22 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
         }
         return null;
     }
+
+    /**
+     * Result of the last parse of an XML state variable. The XML is only parsed again if it differs from the last one.
+     */
+    private static class ParsedXml<T> {
+        private @Nullable String xml;
+        private @Nullable T value;
+
+        public synchronized T get(String xml, Function<String, T> parser) {
+            T result = value;
+            if (result == null || !xml.equals(this.xml)) {
+                result = parser.apply(xml);
+                this.xml = xml;
+                this.value = result;
+            }
+            return result;
+        }
+    }
 }
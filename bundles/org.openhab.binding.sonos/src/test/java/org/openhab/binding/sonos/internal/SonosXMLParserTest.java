@@ -12,7 +12,12 @@
  */
 package org.openhab.binding.sonos.internal;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.junit.jupiter.api.Test;
@@ -60,4 +65,60 @@ public class SonosXMLParserTest {
     public void buildThingTypeIdFromModelWithAdditionalTextInParenthesis() {
         assertEquals("OneSL", SonosXMLParser.buildThingTypeIdFromModelName("Sonos One SL (OpenHome)"));
     }
+
+    @Test
+    public void getAVTransportFromLastChange() throws IOException {
+        Map<String, String> changes = SonosXMLParser.getAVTransportFromXML(getXml("avtransport_lastchange.xml"));
+        assertEquals("PLAYING", changes.get("TransportState"));
+        assertEquals("NORMAL", changes.get("CurrentPlayMode"));
+        assertEquals("x-rincon-queue:RINCON_000E5812BC1801400#0", changes.get("AVTransportURI"));
+        assertEquals("", changes.get("AVTransportURIMetaData"));
+        // prefixed variables are stored with their local name
+        assertEquals("0", changes.get("SleepTimerGeneration"));
+
+        String metaData = changes.get("CurrentTrackMetaData");
+        assertNotNull(metaData);
+        SonosMetaData track = SonosXMLParser.getMetaDataFromXML(metaData);
+        assertEquals("-1", track.getId());
+        assertEquals("Broken Box", track.getTitle());
+        assertEquals("object.item.audioItem.musicTrack", track.getUpnpClass());
+        assertEquals("Queens Of The Stone Age", track.getCreator());
+        assertEquals("Lullabies To Paralyze", track.getAlbum());
+        assertEquals("Queens Of The Stone Age", track.getAlbumArtist());
+        assertEquals("", track.getStreamContent());
+        assertTrue(track.getResource().endsWith("Broken%20Box.wma"));
+    }
+
+    @Test
+    public void getRenderingControlFromLastChange() throws IOException {
+        Map<String, String> changes = SonosXMLParser
+                .getRenderingControlFromXML(getXml("renderingcontrol_lastchange.xml"));
+        assertEquals("25", changes.get("VolumeMaster"));
+        assertEquals("100", changes.get("VolumeLF"));
+        assertEquals("0", changes.get("MuteMaster"));
+        assertEquals("1", changes.get("LoudnessMaster"));
+        assertEquals("2", changes.get("Bass"));
+        assertEquals("-1", changes.get("Treble"));
+        assertEquals("1", changes.get("SubEnabled"));
+        assertEquals("FactoryDefaults", changes.get("PresetNameList"));
+        // variables which are not used by the binding are not extracted
+        assertFalse(changes.containsKey("SpeakerSize"));
+    }
+
+    @Test
+    public void getAVTransportFromInvalidXml() {
+        Map<String, String> changes = SonosXMLParser
+                .getAVTransportFromXML("<Event><InstanceID val=\"0\"><TransportState val=\"STOPPED\"/>");
+        assertEquals("STOPPED", changes.get("TransportState"));
+        assertTrue(SonosXMLParser.getAVTransportFromXML("<!DOCTYPE Event [<!ENTITY x \"y\">]><Event/>").isEmpty());
+    }
+
+    private String getXml(String filename) throws IOException {
+        try (InputStream inputStream = SonosXMLParserTest.class.getResourceAsStream(filename)) {
+            if (inputStream == null) {
+                throw new IOException("inputstream is null");
+            }
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
 }
@@ -102,4 +102,26 @@ class HomekitAccessoryRegistry {
     public Map<String, HomekitAccessory> getAllAccessories() {
         return this.createdAccessories;
     }
+
+    /**
+     * Returns the topology of the root accessory created for the given item, i.e. everything HomeKit clients cache
+     * from the accessory database: accessory id and name, services and characteristics. Characteristic values are not
+     * part of the topology.
+     *
+     * @param itemName name of the item of the root accessory
+     * @return topology of the accessory or null if there is no root accessory for the item
+     */
+    public synchronized @Nullable String getTopology(String itemName) {
+        final HomekitAccessory accessory = createdAccessories.get(itemName);
+        if (accessory == null) {
+            return null;
+        }
+        final StringBuilder topology = new StringBuilder();
+        topology.append(accessory.getId()).append(':').append(accessory.getName().getNow(""));
+        accessory.getServices().forEach(service -> {
+            topology.append('|').append(service.getType());
+            service.getCharacteristics().forEach(c -> topology.append(',').append(c.getClass().getName()));
+        });
+        return topology.toString();
+    }
 }
@@ -19,9 +19,11 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -64,6 +66,7 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
     private int lastAccessoryCount;
 
     private final Set<String> pendingUpdates = new HashSet<>();
+    private boolean pendingConfigurationChange;
 
     private final ScheduledExecutorService scheduler = ThreadPoolManager
             .getScheduledPool(ThreadPoolManager.THREAD_POOL_NAME_COMMON);
@@ -92,7 +95,7 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
                 final MetadataKey uid = metadata.getUID();
                 if (HomekitAccessoryFactory.METADATA_KEY.equalsIgnoreCase(uid.getNamespace())) {
                     try {
-                        markDirty(itemRegistry.getItem(uid.getItemName()));
+                        markConfigurationDirty(itemRegistry.getItem(uid.getItemName()));
                     } catch (ItemNotFoundException e) {
                         logger.debug("Could not find item for metadata {}", metadata);
                     }
@@ -104,7 +107,7 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
                 final MetadataKey uid = metadata.getUID();
                 if (HomekitAccessoryFactory.METADATA_KEY.equalsIgnoreCase(uid.getNamespace())) {
                     try {
-                        markDirty(itemRegistry.getItem(uid.getItemName()));
+                        markConfigurationDirty(itemRegistry.getItem(uid.getItemName()));
                     } catch (ItemNotFoundException e) {
                         logger.debug("Could not find item for metadata {}", metadata);
                     }
@@ -119,7 +122,7 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
                         || HomekitAccessoryFactory.METADATA_KEY.equalsIgnoreCase(newUid.getNamespace())) {
                     try {
                         // the item name is same in old and new metadata, so we can take any.
-                        markDirty(itemRegistry.getItem(oldUid.getItemName()));
+                        markConfigurationDirty(itemRegistry.getItem(oldUid.getItemName()));
                     } catch (ItemNotFoundException e) {
                         logger.debug("Could not find item for metadata {}", oldMetadata);
                     }
@@ -201,6 +204,17 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
         applyUpdatesDebouncer.call();
     }
 
+    /**
+     * Mark an item as dirty because its HomeKit configuration has changed. Configuration like min and max values is
+     * cached by HomeKit clients, so a new configuration revision is always published for these changes.
+     *
+     * @param item The item whose HomeKit metadata has been changed.
+     */
+    private synchronized void markConfigurationDirty(Item item) {
+        pendingConfigurationChange = true;
+        markDirty(item);
+    }
+
     @Override
     public synchronized void removed(Item item) {
         if (hasHomeKitMetadata(item)) {
@@ -225,17 +239,36 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
         storage.put(ACCESSORY_COUNT, "" + lastAccessoryCount);
     }
 
+    /**
+     * Rebuilds the accessories of all dirty items. HomeKit clients re-fetch the whole accessory database whenever the
+     * configuration revision changes, so a new revision is only published if the topology of an accessory has
+     * changed, i.e. accessories, services or characteristics were added, removed or renamed, or the HomeKit
+     * configuration of an item was changed.
+     */
     private synchronized void applyUpdates() {
         logger.trace("Apply updates");
+        if (pendingUpdates.isEmpty()) {
+            return;
+        }
+        final long start = System.nanoTime();
+        boolean topologyChanged = pendingConfigurationChange;
         for (final String name : pendingUpdates) {
+            final @Nullable String oldTopology = accessoryRegistry.getTopology(name);
             accessoryRegistry.remove(name);
             logger.trace(" Add items {}", name);
             getItemOptional(name).ifPresent(this::createRootAccessories);
+            if (!Objects.equals(oldTopology, accessoryRegistry.getTopology(name))) {
+                logger.trace(" Topology of accessory {} changed", name);
+                topologyChanged = true;
+            }
         }
-        if (!pendingUpdates.isEmpty()) {
+        if (topologyChanged) {
             makeNewConfigurationRevision();
-            pendingUpdates.clear();
         }
+        logger.debug("Rebuilt HomeKit accessories for {} items in {} ms, new configuration revision: {}",
+                pendingUpdates.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), topologyChanged);
+        pendingUpdates.clear();
+        pendingConfigurationChange = false;
     }
 
     @Override
@@ -13,10 +13,16 @@
 package org.openhab.io.hueemulation.internal.dto;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.google.gson.Gson;
 
 /**
  * Hue data store object. Contains all lights, configuration, user whitelist etc.
@@ -38,6 +44,18 @@ public class HueDataStore {
     public Map<Integer, Dummy> resourcelinks = Collections.emptyMap();
     public Map<String, HueCapability> capabilities = new TreeMap<>();
 
+    /** The last serialized form of {@link #lights} and the ids, entries and entry JSONs it was created from */
+    private transient @Nullable JsonSnapshot lightsSnapshot;
+    private transient Object[] lightsSnapshotParts = new Object[0];
+
+    /** The last serialized form of {@link #groups} and of single groups by id */
+    private transient @Nullable JsonSnapshot groupsSnapshot;
+    private final transient Map<String, JsonSnapshot> groupSnapshots = new HashMap<>();
+
+    /** Tags of {@link JsonSnapshot}s are unique within this run, the prefix distinguishes runs */
+    private static final String SNAPSHOT_TAG_PREFIX = Long.toHexString(System.currentTimeMillis()) + "-";
+    private static final AtomicLong SNAPSHOT_VERSION = new AtomicLong();
+
     public HueDataStore() {
         resetGroupsAndLights();
         capabilities.put("lights", new HueCapability());
@@ -63,6 +81,109 @@ public class HueDataStore {
     public static class Dummy {
     }
 
+    /**
+     * A serialized form of a part of the data store, together with a tag that changes whenever the JSON changes.
+     */
+    public static class JsonSnapshot {
+        public final String json;
+        public final String tag;
+
+        public JsonSnapshot(String json, String tag) {
+            this.json = json;
+            this.tag = tag;
+        }
+
+        /**
+         * Creates a snapshot of the given JSON with a new tag.
+         */
+        public static JsonSnapshot of(String json) {
+            return new JsonSnapshot(json, SNAPSHOT_TAG_PREFIX + Long.toHexString(SNAPSHOT_VERSION.incrementAndGet()));
+        }
+
+        /**
+         * Returns the given snapshot if it has the same JSON, otherwise a snapshot of the JSON with a new tag.
+         */
+        public static JsonSnapshot of(@Nullable JsonSnapshot snapshot, String json) {
+            return snapshot != null && snapshot.json.equals(json) ? snapshot : of(json);
+        }
+    }
+
+    /**
+     * Returns the serialized {@link #lights}. The JSON of each light is cached by the light entry itself, the JSON of
+     * all lights is only assembled again if any of the lights has changed or lights got added or removed.
+     *
+     * @param gson The gson instance with the {@link HueLightEntry.Serializer} registered
+     * @return The JSON of all lights and its tag
+     */
+    public synchronized JsonSnapshot getLightsSnapshot(Gson gson) {
+        final Object[] parts = lightsSnapshotParts;
+        boolean changed = parts.length != lights.size() * 3;
+        Object[] newParts = changed ? new Object[lights.size() * 3] : parts;
+        int i = 0;
+        for (Entry<String, HueLightEntry> entry : lights.entrySet()) {
+            final HueLightEntry light = entry.getValue();
+            final String json = light.toJson(gson);
+            if (!changed && (!entry.getKey().equals(parts[i]) || light != parts[i + 1] || json != parts[i + 2])) {
+                changed = true;
+                newParts = new Object[parts.length];
+                System.arraycopy(parts, 0, newParts, 0, i);
+            }
+            newParts[i] = entry.getKey();
+            newParts[i + 1] = light;
+            newParts[i + 2] = json;
+            i += 3;
+        }
+
+        JsonSnapshot snapshot = lightsSnapshot;
+        if (snapshot == null || changed) {
+            final StringBuilder json = new StringBuilder("{");
+            for (i = 0; i < newParts.length; i += 3) {
+                if (i > 0) {
+                    json.append(',');
+                }
+                json.append(gson.toJson(newParts[i])).append(':').append((String) newParts[i + 2]);
+            }
+            json.append('}');
+            snapshot = JsonSnapshot.of(json.toString());
+            lightsSnapshot = snapshot;
+            lightsSnapshotParts = newParts;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Returns the serialized {@link #groups}. The JSON of a group depends on the states of the members of its group
+     * item, which are not observed, so the groups are serialized on every call. The tag only changes if the JSON has
+     * changed.
+     *
+     * @param gson The gson instance with the {@link HueGroupEntry.Serializer} registered
+     * @return The JSON of all groups and its tag
+     */
+    public synchronized JsonSnapshot getGroupsSnapshot(Gson gson) {
+        JsonSnapshot snapshot = JsonSnapshot.of(groupsSnapshot, gson.toJson(groups));
+        groupsSnapshot = snapshot;
+        return snapshot;
+    }
+
+    /**
+     * Returns the serialized group, see {@link #getGroupsSnapshot(Gson)}.
+     *
+     * @param gson The gson instance with the {@link HueGroupEntry.Serializer} registered
+     * @param id The group id
+     * @return The JSON of the group and its tag or null if there is no such group
+     */
+    public synchronized @Nullable JsonSnapshot getGroupSnapshot(Gson gson, String id) {
+        // forget the snapshots of removed groups
+        groupSnapshots.keySet().retainAll(groups.keySet());
+        HueGroupEntry group = groups.get(id);
+        if (group == null) {
+            return null;
+        }
+        JsonSnapshot snapshot = JsonSnapshot.of(groupSnapshots.get(id), gson.toJson(group));
+        groupSnapshots.put(id, snapshot);
+        return snapshot;
+    }
+
     /**
      * Return a unique group id.
      */
@@ -13,16 +13,20 @@
 package org.openhab.io.hueemulation.internal.dto;
 
 import java.lang.reflect.Type;
+import java.util.Objects;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.items.GenericItem;
 import org.openhab.core.library.items.StringItem;
 import org.openhab.core.types.Command;
+import org.openhab.core.types.State;
 import org.openhab.io.hueemulation.internal.DeviceType;
 import org.openhab.io.hueemulation.internal.StateUtils;
+import org.openhab.io.hueemulation.internal.dto.HueDataStore.JsonSnapshot;
 import org.openhab.io.hueemulation.internal.dto.changerequest.HueStateChange;
 
+import com.google.gson.Gson;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonSerializationContext;
 import com.google.gson.JsonSerializer;
@@ -57,6 +61,14 @@ public class HueLightEntry {
     public transient @Nullable Command lastCommand = null;
     public transient @Nullable HueStateChange lastHueChange = null;
 
+    /** The serialized form of this entry and what it depends on, see {@link #toJsonSnapshot(Gson)} */
+    private transient @Nullable JsonSnapshot json;
+    private transient @Nullable GenericItem jsonItem;
+    private transient @Nullable State jsonItemState;
+    private transient @Nullable String jsonLabel;
+    private transient @Nullable Command jsonLastCommand;
+    private transient @Nullable HueStateChange jsonLastHueChange;
+
     public static class Config {
         public final String archetype = "classicbulb";
         public final String function = "functional";
@@ -181,6 +193,41 @@ public class HueLightEntry {
         }
     }
 
+    /**
+     * Returns the serialized form of this entry. The JSON is cached and only created again if the item, its state or
+     * label, or the last hue state change of this entry have changed.
+     *
+     * @param gson The gson instance with the {@link Serializer} registered
+     * @return The JSON of this entry
+     */
+    public String toJson(Gson gson) {
+        return toJsonSnapshot(gson).json;
+    }
+
+    /**
+     * Returns the serialized form of this entry like {@link #toJson(Gson)}, together with a tag that changes whenever
+     * the JSON is created again.
+     *
+     * @param gson The gson instance with the {@link Serializer} registered
+     * @return The JSON of this entry and its tag
+     */
+    public synchronized JsonSnapshot toJsonSnapshot(Gson gson) {
+        final State itemState = item.getState();
+        final String label = item.getLabel();
+        JsonSnapshot json = this.json;
+        if (json == null || jsonItem != item || !itemState.equals(jsonItemState) || !Objects.equals(label, jsonLabel)
+                || jsonLastCommand != lastCommand || jsonLastHueChange != lastHueChange) {
+            json = JsonSnapshot.of(gson.toJson(this));
+            this.json = json;
+            jsonItem = item;
+            jsonItemState = itemState;
+            jsonLabel = label;
+            jsonLastCommand = lastCommand;
+            jsonLastHueChange = lastHueChange;
+        }
+        return json;
+    }
+
     /**
      * Replaces the associated openHAB item of this hue device with the given once
      * and also synchronizes/updates the color information of this hue device with the item.
@@ -36,12 +36,15 @@ import java.nio.channels.Selector;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -89,7 +92,7 @@ public class UpnpServer extends HttpServlet implements Consumer<HueEmulationConf
      */
     static class ClientRecord {
         public @Nullable SocketAddress clientAddress;
-        public ByteBuffer buffer = ByteBuffer.allocate(1000);
+        public ByteBuffer buffer = ByteBuffer.allocateDirect(1000);
     }
 
     public static final String DISCOVERY_FILE = "/description.xml";
@@ -100,13 +103,25 @@ public class UpnpServer extends HttpServlet implements Consumer<HueEmulationConf
      * Send a keep alive every 2 minutes
      */
     private static final int CACHE_MSECS = 120 * 1000;
+    /**
+     * M-SEARCH requests of a client within this time after it got an answer are dropped. Clients usually send the same
+     * request several times in a row.
+     */
+    private static final int MIN_ANSWER_INTERVAL_MSECS = 1000;
+    private static final byte[] MSEARCH = "M-SEARCH".getBytes(StandardCharsets.US_ASCII);
 
     private final Logger logger = LoggerFactory.getLogger(UpnpServer.class);
 
     public final InetAddress MULTI_ADDR_IPV4;
     public final InetAddress MULTI_ADDR_IPV6;
-    private String[] stVersions = { "", "", "" };
-    private String notifyMsg = "";
+    private byte[][] stVersions = { new byte[0], new byte[0], new byte[0] };
+    private byte[] notifyMsg = new byte[0];
+
+    //// SSDP rate limiting, only accessed by the upnp thread, and statistics
+    private final Map<InetSocketAddress, Long> lastAnswers = new HashMap<>();
+    private final AtomicLong ssdpRequestsReceived = new AtomicLong();
+    private final AtomicLong ssdpRequestsAnswered = new AtomicLong();
+    private final AtomicLong ssdpRequestsDropped = new AtomicLong();
 
     //// objects, set within activate()
     protected @NonNullByDefault({}) String xmlDoc;
@@ -222,7 +237,7 @@ public class UpnpServer extends HttpServlet implements Consumer<HueEmulationConf
                     r.getMulticastAddress(), UPNP_PORT, CACHE_MSECS / 1000, baseurl, // host:port,
                                                                                      // cache,location
                     cs.ds.config.apiversion, cs.ds.config.bridgeid, // version, bridgeid
-                    stVersions[i], config.config.uuid);
+                    stVersions[i], config.config.uuid).getBytes(StandardCharsets.UTF_8);
         }
 
         this.notifyMsg = String.format(
@@ -230,7 +245,8 @@ public class UpnpServer extends HttpServlet implements Consumer<HueEmulationConf
                         + "SERVER: Linux/3.14.0 UPnP/1.0 IpBridge/%s\r\nNTS: ssdp:alive\r\nNT: upnp:rootdevice\r\n"
                         + "USN: uuid:%s::upnp:rootdevice\r\n" + "hue-bridgeid: %s\r\n\r\n",
                 r.getMulticastAddress(), UPNP_PORT, CACHE_MSECS / 1000, baseurl, // host:port, cache,location
-                cs.ds.config.apiversion, config.config.uuid, cs.ds.config.bridgeid);// version, uuid, bridgeid
+                cs.ds.config.apiversion, config.config.uuid, cs.ds.config.bridgeid)// version, uuid, bridgeid
+                .getBytes(StandardCharsets.UTF_8);
 
         xmlDocWithAddress = String.format(xmlDoc, urlBase, r.addressString, cs.ds.config.bridgeid, cs.ds.config.uuid,
                 cs.ds.config.devicename);
@@ -370,7 +386,7 @@ public class UpnpServer extends HttpServlet implements Consumer<HueEmulationConf
         }
     }
 
-    private void handleRead(SelectionKey key) throws IOException {
+    private void handleRead(SelectionKey key, DatagramSocket sendSocket) throws IOException {
         logger.trace("upnp thread handle received message");
         DatagramChannel channel = (DatagramChannel) key.channel();
         ClientRecord clntRec = (ClientRecord) key.attachment();
@@ -380,20 +396,47 @@ public class UpnpServer extends HttpServlet implements Consumer<HueEmulationConf
         if (recAddress == null) { // Did we receive something?
             return;
         }
-        String data = new String(clntRec.buffer.array(), StandardCharsets.UTF_8);
-        if (!data.startsWith("M-SEARCH")) {
+        if (!startsWith(clntRec.buffer, MSEARCH)) {
             return;
         }
+        ssdpRequestsReceived.incrementAndGet();
+
+        // Several clients on one host send their requests from different ports
+        long now = System.currentTimeMillis();
+        Long lastAnswer = lastAnswers.get(recAddress);
+        if (lastAnswer != null && now - lastAnswer < MIN_ANSWER_INTERVAL_MSECS) {
+            logger.trace("Dropping M-SEARCH from {}, answered recently", recAddress);
+            ssdpRequestsDropped.incrementAndGet();
+            return;
+        }
+        if (lastAnswers.size() > 256) {
+            lastAnswers.values().removeIf(time -> now - time >= MIN_ANSWER_INTERVAL_MSECS);
+        }
+        lastAnswers.put(recAddress, now);
 
-        try (DatagramSocket sendSocket = new DatagramSocket()) {
-            sendUPNPDatagrams(sendSocket, recAddress.getAddress(), recAddress.getPort());
+        sendUPNPDatagrams(sendSocket, recAddress.getAddress(), recAddress.getPort());
+        ssdpRequestsAnswered.incrementAndGet();
+    }
+
+    /**
+     * Compares the received data in the given buffer with the given prefix, without copying the buffer.
+     */
+    private static boolean startsWith(ByteBuffer buffer, byte[] prefix) {
+        if (buffer.position() < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; ++i) {
+            if (buffer.get(i) != prefix[i]) {
+                return false;
+            }
         }
+        return true;
     }
 
     private void sendUPNPDatagrams(DatagramSocket sendSocket, InetAddress address, int port) {
         logger.trace("upnp thread send announcement");
-        for (String msg : stVersions) {
-            DatagramPacket response = new DatagramPacket(msg.getBytes(), msg.length(), address, port);
+        for (byte[] msg : stVersions) {
+            DatagramPacket response = new DatagramPacket(msg, msg.length, address, port);
             try {
                 logger.trace("Sending to {}:{}", address.getHostAddress(), port);
                 sendSocket.send(response);
@@ -404,7 +447,7 @@ public class UpnpServer extends HttpServlet implements Consumer<HueEmulationConf
     }
 
     private void sendUPNPNotify(DatagramSocket sendSocket, InetAddress address, int port) {
-        DatagramPacket response = new DatagramPacket(notifyMsg.getBytes(), notifyMsg.length(), address, port);
+        DatagramPacket response = new DatagramPacket(notifyMsg, notifyMsg.length, address, port);
         try {
             logger.trace("Sending to {}:{}", address.getHostAddress(), port);
             sendSocket.send(response);
@@ -421,7 +464,8 @@ public class UpnpServer extends HttpServlet implements Consumer<HueEmulationConf
 
         try (Selector selector = Selector.open();
                 DatagramChannel channelV4 = createBoundDataGramChannelOrNull(StandardProtocolFamily.INET);
-                DatagramChannel channelV6 = createBoundDataGramChannelOrNull(StandardProtocolFamily.INET6)) {
+                DatagramChannel channelV6 = createBoundDataGramChannelOrNull(StandardProtocolFamily.INET6);
+                DatagramSocket responseSocket = new DatagramSocket()) {
             // Set global config to thread local config. Otherwise upnpAnnouncementThreadRunning() will report wrong
             // results.
             config = threadContext;
@@ -472,7 +516,7 @@ public class UpnpServer extends HttpServlet implements Consumer<HueEmulationConf
                 while (keyIter.hasNext()) {
                     SelectionKey key = keyIter.next();
                     if (key.isReadable()) {
-                        handleRead(key);
+                        handleRead(key, responseSocket);
                     }
                     keyIter.remove();
                 }
@@ -511,6 +555,27 @@ public class UpnpServer extends HttpServlet implements Consumer<HueEmulationConf
         }
     }
 
+    /**
+     * @return Number of M-SEARCH requests received since the bundle has been started
+     */
+    public long getSsdpRequestsReceived() {
+        return ssdpRequestsReceived.get();
+    }
+
+    /**
+     * @return Number of M-SEARCH requests that have been answered
+     */
+    public long getSsdpRequestsAnswered() {
+        return ssdpRequestsAnswered.get();
+    }
+
+    /**
+     * @return Number of M-SEARCH requests that have been dropped, because the client got an answer recently
+     */
+    public long getSsdpRequestsDropped() {
+        return ssdpRequestsDropped.get();
+    }
+
     /**
      * The upnp server performs some self-tests
      *
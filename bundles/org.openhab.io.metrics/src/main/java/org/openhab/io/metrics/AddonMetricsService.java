@@ -0,0 +1,70 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics;
+
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link AddonMetricsService} allows add-ons to publish their own metrics through the metrics service, without
+ * depending on a specific metrics library. All metrics are published with the {@link #METRIC_PREFIX} prefix and are
+ * available to all configured monitoring systems.
+ *
+ * Tags are given as key/value pairs. Add-ons should at least add the {@link #TAG_SERVICE} tag for services (e.g. the
+ * persistence service id) or the {@link #TAG_THING} tag for metrics of a single thing.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public interface AddonMetricsService {
+    String METRIC_PREFIX = "openhab.addon.";
+
+    String TAG_SERVICE = "service";
+    String TAG_THING = "thing";
+
+    /**
+     * Records the duration of an operation.
+     *
+     * @param name the name of the timer, e.g. "persistence.store"
+     * @param durationNanos the duration of the operation in nanoseconds
+     * @param tags key/value pairs of tags
+     */
+    void recordTime(String name, long durationNanos, String... tags);
+
+    /**
+     * Increments a counter by one.
+     *
+     * @param name the name of the counter
+     * @param tags key/value pairs of tags
+     */
+    void increment(String name, String... tags);
+
+    /**
+     * Registers a gauge whose value is read from the given supplier whenever it is published. The gauge stays
+     * registered until it is removed by {@link #remove(String, String...)}.
+     *
+     * @param name the name of the gauge, e.g. "persistence.queue.size"
+     * @param value the supplier of the current value
+     * @param tags key/value pairs of tags
+     */
+    void gauge(String name, Supplier<? extends Number> value, String... tags);
+
+    /**
+     * Removes all metrics with the given name and tags.
+     *
+     * @param name the name of the metrics
+     * @param tags key/value pairs of tags
+     */
+    void remove(String name, String... tags);
+}
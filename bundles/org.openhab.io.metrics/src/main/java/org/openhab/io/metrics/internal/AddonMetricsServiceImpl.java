@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.io.monitor.MeterRegistryProvider;
+import org.openhab.io.metrics.AddonMetricsService;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * The {@link AddonMetricsServiceImpl} publishes the metrics of add-ons in the openHAB core meter registry, so they are
+ * available to the REST endpoint and all exporters of the metrics service.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = AddonMetricsService.class)
+public class AddonMetricsServiceImpl implements AddonMetricsService {
+    private final MeterRegistry meterRegistry;
+
+    // registered timers and counters by name and tags, so recording doesn't build and look up the meter every time
+    private final Map<List<String>, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<List<String>, Counter> counters = new ConcurrentHashMap<>();
+
+    @Activate
+    public AddonMetricsServiceImpl(final @Reference MeterRegistryProvider meterRegistryProvider) {
+        this.meterRegistry = meterRegistryProvider.getOHMeterRegistry();
+    }
+
+    @Override
+    public void recordTime(String name, long durationNanos, String... tags) {
+        timers.computeIfAbsent(getKey(name, tags),
+                key -> Timer.builder(METRIC_PREFIX + name).tags(tags).register(meterRegistry))
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void increment(String name, String... tags) {
+        counters.computeIfAbsent(getKey(name, tags),
+                key -> Counter.builder(METRIC_PREFIX + name).tags(tags).register(meterRegistry)).increment();
+    }
+
+    @Override
+    public void gauge(String name, Supplier<? extends Number> value, String... tags) {
+        Gauge.builder(METRIC_PREFIX + name, () -> value.get()).tags(tags).strongReference(true)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void remove(String name, String... tags) {
+        Collection<Meter> meters = meterRegistry.find(METRIC_PREFIX + name).tags(tags).meters();
+        meters.forEach(meterRegistry::remove);
+        timers.values().removeIf(meters::contains);
+        counters.values().removeIf(meters::contains);
+    }
+
+    private static List<String> getKey(String name, String... tags) {
+        List<String> key = new ArrayList<>(tags.length + 1);
+        key.add(name);
+        Collections.addAll(key, tags);
+        return key;
+    }
+}
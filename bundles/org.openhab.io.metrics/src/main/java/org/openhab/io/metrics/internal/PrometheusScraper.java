@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics.internal;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+
+/**
+ * The {@link PrometheusScraper} writes the Prometheus text exposition of a {@link PrometheusMeterRegistry} directly to
+ * an output stream, optionally gzip compressed.
+ *
+ * If a minimum scrape interval is set, the exposition is cached for that interval, so concurrent and
+ * repeated scrapes (e.g. from several Prometheus replicas) only walk the meters once.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class PrometheusScraper {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final PrometheusMeterRegistry registry;
+    private final Object cacheLock = new Object();
+    private @Nullable Scrape cache;
+    private volatile long minIntervalNanos = 0;
+
+    public PrometheusScraper(PrometheusMeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Sets the minimum interval between two scrapes of the registry.
+     *
+     * @param seconds the interval in seconds, 0 disables caching
+     */
+    public void setMinInterval(int seconds) {
+        minIntervalNanos = TimeUnit.SECONDS.toNanos(Math.max(0, seconds));
+        synchronized (cacheLock) {
+            cache = null;
+        }
+    }
+
+    /**
+     * Writes the exposition in the Prometheus text format to the output stream.
+     *
+     * @param out the stream to write to, it is not closed
+     * @param gzip true if the output should be gzip compressed
+     * @throws IOException if writing to the stream fails
+     */
+    public void write(OutputStream out, boolean gzip) throws IOException {
+        if (minIntervalNanos == 0) {
+            if (gzip) {
+                GZIPOutputStream gzipStream = new GZIPOutputStream(out, BUFFER_SIZE);
+                scrape(gzipStream);
+                gzipStream.finish();
+            } else {
+                scrape(out);
+            }
+        } else {
+            Scrape scrape = getScrape();
+            out.write(gzip ? scrape.getGzipped() : scrape.data);
+        }
+        out.flush();
+    }
+
+    private void scrape(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        registry.scrape(writer);
+        writer.flush();
+    }
+
+    private Scrape getScrape() throws IOException {
+        // scrapes are serialized, so concurrent requests wait for and share a single scrape
+        synchronized (cacheLock) {
+            long now = System.nanoTime();
+            Scrape scrape = cache;
+            if (scrape == null || now - scrape.timestamp >= minIntervalNanos) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream(
+                        scrape != null ? scrape.data.length + BUFFER_SIZE : BUFFER_SIZE);
+                scrape(out);
+                scrape = new Scrape(out.toByteArray(), now);
+                cache = scrape;
+            }
+            return scrape;
+        }
+    }
+
+    private static class Scrape {
+        private final byte[] data;
+        private final long timestamp;
+        private byte @Nullable [] gzipped;
+
+        Scrape(byte[] data, long timestamp) {
+            this.data = data;
+            this.timestamp = timestamp;
+        }
+
+        synchronized byte[] getGzipped() throws IOException {
+            byte[] gzipped = this.gzipped;
+            if (gzipped == null) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+                try (GZIPOutputStream gzipStream = new GZIPOutputStream(out, BUFFER_SIZE)) {
+                    gzipStream.write(data);
+                }
+                gzipped = out.toByteArray();
+                this.gzipped = gzipped;
+            }
+            return gzipped;
+        }
+    }
+}
@@ -18,12 +18,20 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLEncoder;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.HttpClient;
@@ -34,10 +42,12 @@ import org.eclipse.jetty.http.HttpFields;
 import org.eclipse.jetty.http.HttpMethod;
 import org.eclipse.jetty.http.HttpStatus;
 import org.eclipse.jetty.util.BufferUtil;
+import org.eclipse.jetty.util.Callback;
 import org.eclipse.jetty.util.URIUtil;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.openhab.core.OpenHAB;
+import org.openhab.core.common.ThreadPoolManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -60,6 +70,29 @@ import io.socket.thread.EventThread;
  * @author Kai Kreuzer - migrated code to new Jetty client and ESH APIs
  */
 public class CloudClient {
+    /*
+     * Maximum number of concurrently running requests to local openHAB, further requests are queued
+     */
+    private static final int MAX_RUNNING_REQUESTS = 16;
+
+    /*
+     * Maximum number of response chunks of a request which are emitted before the Socket.IO transport reports that it
+     * has written its pending packets (drain event). Jetty does not read further content of the response until then.
+     */
+    private static final int MAX_CHUNKS_PER_DRAIN = 4;
+
+    /*
+     * Delay in milliseconds for collecting item updates, only the last update of an item within this delay is sent
+     */
+    private static final long ITEM_UPDATE_DELAY_MS = 100;
+
+    /*
+     * Maximum number of item updates which are emitted before the Socket.IO transport reports that it has written its
+     * pending packets (drain event). If more are emitted, the connection is considered congested and item updates are
+     * collected until the next attempt.
+     */
+    private static final int MAX_ITEM_UPDATES_PER_DRAIN = 100;
+
     /*
      * Logger for this class
      */
@@ -93,7 +126,23 @@ public class CloudClient {
     /*
      * This map holds HTTP requests to local openHAB which are currently running
      */
-    private final Map<Integer, Request> runningRequests = new ConcurrentHashMap<>();
+    private final Map<Integer, ProxyRequest> runningRequests = new ConcurrentHashMap<>();
+
+    /*
+     * This queue holds HTTP requests to local openHAB which wait for running requests to finish
+     */
+    private final Deque<ProxyRequest> queuedRequests = new ArrayDeque<>();
+
+    /*
+     * This map holds the latest state of items whose update has not been sent yet
+     */
+    private final Map<String, String> pendingItemUpdates = new LinkedHashMap<>();
+
+    private final ScheduledExecutorService scheduler;
+    private @Nullable ScheduledFuture<?> itemUpdateJob;
+    private final AtomicInteger itemUpdatesSinceDrain = new AtomicInteger();
+    private long itemUpdatesSent;
+    private long itemUpdatesCoalesced;
 
     /*
      * This variable indicates if connection to the openHAB Cloud is currently in an established state
@@ -139,6 +188,15 @@ public class CloudClient {
      */
     public CloudClient(HttpClient httpClient, String uuid, String secret, String baseURL, String localBaseUrl,
             boolean remoteAccessEnabled, Set<String> exposedItems) {
+        this(httpClient, uuid, secret, baseURL, localBaseUrl, remoteAccessEnabled, exposedItems,
+                ThreadPoolManager.getScheduledPool(ThreadPoolManager.THREAD_POOL_NAME_COMMON), null);
+    }
+
+    CloudClient(HttpClient httpClient, String uuid, String secret, String baseURL, String localBaseUrl,
+            boolean remoteAccessEnabled, Set<String> exposedItems, ScheduledExecutorService scheduler,
+            @Nullable Socket socket) {
+        this.scheduler = scheduler;
+        this.socket = socket;
         this.uuid = uuid;
         this.secret = secret;
         this.baseURL = baseURL;
@@ -170,6 +228,12 @@ public class CloudClient {
             public void call(Object... args) {
                 logger.trace("Manager.EVENT_TRANSPORT");
                 Transport transport = (Transport) args[0];
+                transport.on(Transport.EVENT_DRAIN, new Emitter.Listener() {
+                    @Override
+                    public void call(Object... args) {
+                        onTransportDrain();
+                    }
+                });
                 transport.on(Transport.EVENT_REQUEST_HEADERS, new Emitter.Listener() {
                     @Override
                     public void call(Object... args) {
@@ -332,7 +396,22 @@ public class CloudClient {
                 this.localBaseUrl);
         isConnected = false;
         // And clean up the list of running requests
-        runningRequests.clear();
+        synchronized (this) {
+            runningRequests.values().forEach(ProxyRequest::disconnected);
+            runningRequests.clear();
+            queuedRequests.clear();
+        }
+        synchronized (pendingItemUpdates) {
+            pendingItemUpdates.clear();
+        }
+    }
+
+    /**
+     * Callback method for socket.io transport which is called when all packets handed to it have been written
+     */
+    void onTransportDrain() {
+        itemUpdatesSinceDrain.set(0);
+        runningRequests.values().forEach(ProxyRequest::drained);
     }
 
     /**
@@ -384,22 +463,7 @@ public class CloudClient {
             // Get JSONObject for request query parameters
             JSONObject requestQueryJson = data.getJSONObject("query");
             logger.debug("Query {}", requestQueryJson.toString());
-            // Create URI builder with base request URI of openHAB and path from request
-            String newPath = URIUtil.addPaths(localBaseUrl, requestPath);
-            Iterator<String> queryIterator = requestQueryJson.keys();
-            // Add query parameters to URI builder, if any
-            newPath += "?";
-            while (queryIterator.hasNext()) {
-                String queryName = queryIterator.next();
-                newPath += queryName;
-                newPath += "=";
-                newPath += URLEncoder.encode(requestQueryJson.getString(queryName), "UTF-8");
-                if (queryIterator.hasNext()) {
-                    newPath += "&";
-                }
-            }
-            // Finally get the future request URI
-            URI requestUri = new URI(newPath);
+            URI requestUri = buildRequestUri(requestPath, requestQueryJson);
             // All preparations which are common for different methods are done
             // Now perform the request to openHAB
             // If method is GET
@@ -421,6 +485,7 @@ public class CloudClient {
                 request.content(new BytesContentProvider(requestBody.getBytes()));
             }
 
+            ProxyRequest proxyRequest = new ProxyRequest(requestId, request);
             request.onResponseHeaders(response -> {
                 logger.debug("onHeaders {}", requestId);
                 JSONObject responseJson = new JSONObject();
@@ -435,20 +500,9 @@ public class CloudClient {
                 } catch (JSONException e) {
                     logger.debug("{}", e.getMessage());
                 }
-            }).onResponseContent((theResponse, content) -> {
-                logger.debug("onResponseContent: {}, content size {}", requestId, String.valueOf(content.remaining()));
-                JSONObject responseJson = new JSONObject();
-                try {
-                    responseJson.put("id", requestId);
-                    responseJson.put("body", BufferUtil.toArray(content));
-                    if (logger.isTraceEnabled()) {
-                        logger.trace("{}", StandardCharsets.UTF_8.decode(content).toString());
-                    }
-                    socket.emit("responseContentBinary", responseJson);
-                    logger.trace("Sent content to request {}", requestId);
-                } catch (JSONException e) {
-                    logger.debug("{}", e.getMessage());
-                }
+            }).onResponseContentAsync((theResponse, content, callback) -> {
+                logger.debug("onResponseContent: {}, content size {}", requestId, content.remaining());
+                proxyRequest.sendContent(content, callback);
             }).onRequestFailure((origRequest, failure) -> {
                 logger.debug("onRequestFailure: {},  {}", requestId, failure.getMessage());
                 JSONObject responseJson = new JSONObject();
@@ -459,40 +513,81 @@ public class CloudClient {
                 } catch (JSONException e) {
                     logger.debug("{}", e.getMessage());
                 }
-            }).send(result -> {
-                logger.debug("onComplete: {}", requestId);
-                // Remove this request from list of running requests
-                runningRequests.remove(requestId);
-                if ((result != null && result.isFailed())
-                        && (result.getResponse() != null && result.getResponse().getStatus() != HttpStatus.OK_200)) {
-                    if (result.getFailure() != null) {
-                        logger.debug("Jetty request {} failed: {}", requestId, result.getFailure().getMessage());
-                    }
-                    if (result.getRequestFailure() != null) {
-                        logger.debug("Request Failure: {}", result.getRequestFailure().getMessage());
-                    }
-                    if (result.getResponseFailure() != null) {
-                        logger.debug("Response Failure: {}", result.getResponseFailure().getMessage());
-                    }
-                }
-                JSONObject responseJson = new JSONObject();
-                try {
-                    responseJson.put("id", requestId);
-                    socket.emit("responseFinished", responseJson);
-                    logger.debug("Finished responding to request {}", requestId);
-                } catch (JSONException e) {
-                    logger.debug("{}", e.getMessage());
-                }
             });
 
-            // If successfully submitted request to http client, add it to the list of currently
-            // running requests to be able to cancel it if needed
-            runningRequests.put(requestId, request);
-        } catch (JSONException | IOException | URISyntaxException e) {
+            submitRequest(proxyRequest);
+        } catch (JSONException | URISyntaxException e) {
             logger.debug("{}", e.getMessage());
         }
     }
 
+    private URI buildRequestUri(String requestPath, JSONObject requestQueryJson) throws URISyntaxException {
+        // Create URI with base request URI of openHAB and path from request
+        StringBuilder uri = new StringBuilder(URIUtil.addPaths(localBaseUrl, requestPath));
+        Iterator<String> queryIterator = requestQueryJson.keys();
+        // Add query parameters, if any
+        char separator = '?';
+        while (queryIterator.hasNext()) {
+            String queryName = queryIterator.next();
+            uri.append(separator).append(queryName).append('=')
+                    .append(URLEncoder.encode(requestQueryJson.getString(queryName), StandardCharsets.UTF_8));
+            separator = '&';
+        }
+        return new URI(uri.toString());
+    }
+
+    private synchronized void submitRequest(ProxyRequest proxyRequest) {
+        if (runningRequests.size() < MAX_RUNNING_REQUESTS) {
+            startRequest(proxyRequest);
+        } else {
+            logger.debug("Queueing request {}, {} requests are running", proxyRequest.id, runningRequests.size());
+            queuedRequests.add(proxyRequest);
+        }
+    }
+
+    private synchronized void finishRequest(int requestId) {
+        // Remove this request from list of running requests and start the next queued ones
+        runningRequests.remove(requestId);
+        ProxyRequest next;
+        while (runningRequests.size() < MAX_RUNNING_REQUESTS && (next = queuedRequests.poll()) != null) {
+            startRequest(next);
+        }
+    }
+
+    private void startRequest(ProxyRequest proxyRequest) {
+        int requestId = proxyRequest.id;
+        // Add the request to the list of currently running requests to be able to cancel it if needed
+        runningRequests.put(requestId, proxyRequest);
+        proxyRequest.request.send(result -> {
+            logger.debug("onComplete: {}", requestId);
+            finishRequest(requestId);
+            if ((result != null && result.isFailed())
+                    && (result.getResponse() != null && result.getResponse().getStatus() != HttpStatus.OK_200)) {
+                if (result.getFailure() != null) {
+                    logger.debug("Jetty request {} failed: {}", requestId, result.getFailure().getMessage());
+                }
+                if (result.getRequestFailure() != null) {
+                    logger.debug("Request Failure: {}", result.getRequestFailure().getMessage());
+                }
+                if (result.getResponseFailure() != null) {
+                    logger.debug("Response Failure: {}", result.getResponseFailure().getMessage());
+                }
+            }
+            JSONObject responseJson = new JSONObject();
+            try {
+                responseJson.put("id", requestId);
+                socket.emit("responseFinished", responseJson);
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Finished responding to request {}: {} bytes in {} ms", requestId,
+                            proxyRequest.contentBytes,
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - proxyRequest.startTime));
+                }
+            } catch (JSONException e) {
+                logger.debug("{}", e.getMessage());
+            }
+        });
+    }
+
     private void setRequestHeaders(Request request, JSONObject requestHeadersJson) {
         Iterator<String> headersIterator = requestHeadersJson.keys();
         // Convert JSONObject of headers into Header ArrayList
@@ -516,10 +611,14 @@ public class CloudClient {
             int requestId = data.getInt("id");
             logger.debug("Received cancel for request {}", requestId);
             // Find and abort running request
-            Request request = runningRequests.get(requestId);
-            if (request != null) {
-                request.abort(new InterruptedException());
-                runningRequests.remove(requestId);
+            ProxyRequest proxyRequest = runningRequests.get(requestId);
+            if (proxyRequest != null) {
+                proxyRequest.request.abort(new InterruptedException());
+                finishRequest(requestId);
+            } else {
+                synchronized (this) {
+                    queuedRequests.removeIf(queued -> queued.id == requestId);
+                }
             }
         } catch (JSONException e) {
             logger.debug("{}", e.getMessage());
@@ -614,7 +713,8 @@ public class CloudClient {
     }
 
     /**
-     * Send item update to openHAB Cloud
+     * Send item update to openHAB Cloud. Updates are collected for a short time, so only the last state of an item
+     * within that time is sent.
      *
      * @param itemName the name of the item
      * @param itemState updated item state
@@ -622,17 +722,60 @@ public class CloudClient {
      */
     public void sendItemUpdate(String itemName, String itemState) {
         if (isConnected()) {
-            logger.debug("Sending update '{}' for item '{}'", itemState, itemName);
+            logger.debug("Queueing update '{}' for item '{}'", itemState, itemName);
+            synchronized (pendingItemUpdates) {
+                if (pendingItemUpdates.put(itemName, itemState) != null) {
+                    itemUpdatesCoalesced++;
+                }
+                scheduleItemUpdates();
+            }
+        } else {
+            logger.debug("No connection, Item update is not sent");
+        }
+    }
+
+    private void scheduleItemUpdates() {
+        ScheduledFuture<?> job = itemUpdateJob;
+        if (job == null || job.isDone()) {
+            itemUpdateJob = scheduler.schedule(this::sendItemUpdates, ITEM_UPDATE_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void sendItemUpdates() {
+        Map<String, String> updates;
+        synchronized (pendingItemUpdates) {
+            // Updates arriving while this job is sending have to schedule a new one
+            itemUpdateJob = null;
+            if (pendingItemUpdates.isEmpty()) {
+                return;
+            }
+            if (itemUpdatesSinceDrain.get() > MAX_ITEM_UPDATES_PER_DRAIN) {
+                // Connection is congested, keep collecting updates so intermediate states are dropped
+                logger.debug("Connection congested, delaying {} item updates", pendingItemUpdates.size());
+                itemUpdateJob = scheduler.schedule(this::sendItemUpdates, ITEM_UPDATE_DELAY_MS,
+                        TimeUnit.MILLISECONDS);
+                return;
+            }
+            updates = new LinkedHashMap<>(pendingItemUpdates);
+            pendingItemUpdates.clear();
+            itemUpdatesSent += updates.size();
+            logger.trace("Sending {} item updates ({} sent, {} coalesced in total)", updates.size(), itemUpdatesSent,
+                    itemUpdatesCoalesced);
+        }
+        if (!isConnected()) {
+            logger.debug("No connection, {} item updates are not sent", updates.size());
+            return;
+        }
+        for (Map.Entry<String, String> update : updates.entrySet()) {
             JSONObject itemUpdateMessage = new JSONObject();
             try {
-                itemUpdateMessage.put("itemName", itemName);
-                itemUpdateMessage.put("itemStatus", itemState);
+                itemUpdateMessage.put("itemName", update.getKey());
+                itemUpdateMessage.put("itemStatus", update.getValue());
+                itemUpdatesSinceDrain.incrementAndGet();
                 socket.emit("itemupdate", itemUpdateMessage);
             } catch (JSONException e) {
                 logger.debug("{}", e.getMessage());
             }
-        } else {
-            logger.debug("No connection, Item update is not sent");
         }
     }
 
@@ -648,6 +791,15 @@ public class CloudClient {
      */
     public void shutdown() {
         logger.info("Shutting down openHAB Cloud service connection");
+        synchronized (pendingItemUpdates) {
+            ScheduledFuture<?> job = itemUpdateJob;
+            if (job != null) {
+                job.cancel(false);
+                itemUpdateJob = null;
+            }
+            pendingItemUpdates.clear();
+        }
+        logger.debug("Sent {} item updates, {} updates were coalesced", itemUpdatesSent, itemUpdatesCoalesced);
         socket.disconnect();
     }
 
@@ -684,4 +836,80 @@ public class CloudClient {
             }
         });
     }
+
+    /**
+     * A request to local openHAB whose response is proxied to the openHAB Cloud.
+     */
+    private class ProxyRequest {
+        private final int id;
+        private final Request request;
+        private final long startTime = System.nanoTime();
+        private long contentBytes;
+        private int chunksSinceDrain;
+        private @Nullable Callback pendingCallback;
+
+        ProxyRequest(int id, Request request) {
+            this.id = id;
+            this.request = request;
+        }
+
+        /**
+         * Emits a chunk of the response content. If too many chunks have been emitted since the transport has last
+         * written its pending packets, the callback is only completed on the next drain of the transport.
+         */
+        void sendContent(ByteBuffer content, Callback callback) {
+            contentBytes += content.remaining();
+            boolean proceed;
+            synchronized (this) {
+                chunksSinceDrain++;
+                proceed = chunksSinceDrain < MAX_CHUNKS_PER_DRAIN;
+                if (!proceed) {
+                    pendingCallback = callback;
+                }
+            }
+            JSONObject responseJson = new JSONObject();
+            try {
+                responseJson.put("id", id);
+                // Jetty reuses the buffer once the callback is completed, so the content has to be copied. Socket.IO
+                // sends the byte array as binary attachment.
+                responseJson.put("body", BufferUtil.toArray(content));
+                socket.emit("responseContentBinary", responseJson);
+                logger.trace("Sent content to request {}", id);
+            } catch (JSONException e) {
+                logger.debug("{}", e.getMessage());
+            }
+            if (proceed) {
+                callback.succeeded();
+            }
+        }
+
+        /**
+         * Called when the transport has written the packets handed to it, Jetty may read further content.
+         */
+        void drained() {
+            Callback callback;
+            synchronized (this) {
+                chunksSinceDrain = 0;
+                callback = pendingCallback;
+                pendingCallback = null;
+            }
+            if (callback != null) {
+                callback.succeeded();
+            }
+        }
+
+        /**
+         * Called when the connection to the openHAB Cloud is lost, the transport will not drain anymore.
+         */
+        void disconnected() {
+            Callback callback;
+            synchronized (this) {
+                callback = pendingCallback;
+                pendingCallback = null;
+            }
+            if (callback != null) {
+                callback.failed(new IOException("Disconnected from the openHAB Cloud"));
+            }
+        }
+    }
 }
@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jetty.client.HttpClient;
+import org.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.socket.client.Socket;
+
+/**
+ * Unit tests for sending item updates by the {@link CloudClient}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class CloudClientTest {
+
+    private ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    private Socket socket = mock(Socket.class);
+    private List<Runnable> jobs = new ArrayList<>();
+    private List<String> sentItems = new ArrayList<>();
+    private CloudClient client = new CloudClient(mock(HttpClient.class), "uuid", "secret", "https://example.org",
+            "http://localhost:8080", false, Set.of(), scheduler, socket);
+
+    @BeforeEach
+    public void setUp() {
+        // scheduled jobs are run by the test, their futures never complete
+        when(scheduler.schedule(any(Runnable.class), anyLong(), any(TimeUnit.class))).thenAnswer(invocation -> {
+            jobs.add(invocation.getArgument(0));
+            return mock(ScheduledFuture.class);
+        });
+        when(socket.emit(eq("itemupdate"), any())).thenAnswer(invocation -> {
+            sentItems.add(((JSONObject) invocation.getArgument(1)).getString("itemName"));
+            return socket;
+        });
+        client.onConnect();
+    }
+
+    @Test
+    public void updatesOfAnItemAreCoalesced() {
+        client.sendItemUpdate("a", "1");
+        client.sendItemUpdate("b", "1");
+        client.sendItemUpdate("a", "2");
+        assertEquals(1, jobs.size());
+
+        jobs.get(0).run();
+        assertEquals(List.of("a", "b"), sentItems);
+    }
+
+    @Test
+    public void updateDuringSendIsScheduled() {
+        client.sendItemUpdate("a", "1");
+        doAnswer(invocation -> {
+            sentItems.add(((JSONObject) invocation.getArgument(1)).getString("itemName"));
+            if (sentItems.size() == 1) {
+                // the job sending the first update has not finished yet
+                client.sendItemUpdate("b", "1");
+            }
+            return socket;
+        }).when(socket).emit(eq("itemupdate"), any());
+
+        jobs.get(0).run();
+        assertEquals(List.of("a"), sentItems);
+        assertEquals(2, jobs.size());
+
+        jobs.get(1).run();
+        assertEquals(List.of("a", "b"), sentItems);
+    }
+
+    @Test
+    public void updatesAreDelayedUntilTheTransportDrains() {
+        for (int i = 0; i <= 100; i++) {
+            client.sendItemUpdate("item" + i, "1");
+        }
+        jobs.get(0).run();
+        assertEquals(101, sentItems.size());
+
+        client.sendItemUpdate("a", "1");
+        jobs.get(1).run();
+        // the transport has not written the previous updates yet
+        assertEquals(101, sentItems.size());
+        assertEquals(3, jobs.size());
+
+        client.onTransportDrain();
+        jobs.get(2).run();
+        assertEquals(102, sentItems.size());
+    }
+}
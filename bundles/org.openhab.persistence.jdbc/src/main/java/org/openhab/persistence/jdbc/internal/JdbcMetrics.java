@@ -0,0 +1,44 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link JdbcMetrics} records the timing of the JDBC persistence service operations. It is only available if the
+ * metrics service is installed, so the persistence service works without it.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public interface JdbcMetrics {
+
+    /**
+     * Records the duration of storing an item state.
+     *
+     * @param durationNanos duration in nanoseconds
+     */
+    void recordStore(long durationNanos);
+
+    /**
+     * Records the duration of a query.
+     *
+     * @param durationNanos duration in nanoseconds
+     */
+    void recordQuery(long durationNanos);
+
+    /**
+     * Records a failed database operation.
+     */
+    void recordError();
+}
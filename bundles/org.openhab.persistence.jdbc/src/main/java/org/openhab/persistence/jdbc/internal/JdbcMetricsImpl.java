@@ -0,0 +1,58 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.io.metrics.AddonMetricsService;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * The {@link JdbcMetricsImpl} publishes the {@link JdbcMetrics} through the {@link AddonMetricsService}. This component
+ * is only satisfied if the metrics service is installed; the metrics classes are never loaded otherwise.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = JdbcMetrics.class)
+public class JdbcMetricsImpl implements JdbcMetrics {
+
+    private static final String STORE = "persistence.store";
+    private static final String QUERY = "persistence.query";
+    private static final String ERRORS = "persistence.errors";
+
+    private static final String SERVICE_ID = "jdbc";
+
+    private final AddonMetricsService metricsService;
+
+    @Activate
+    public JdbcMetricsImpl(final @Reference AddonMetricsService metricsService) {
+        this.metricsService = metricsService;
+    }
+
+    @Override
+    public void recordStore(long durationNanos) {
+        metricsService.recordTime(STORE, durationNanos, AddonMetricsService.TAG_SERVICE, SERVICE_ID);
+    }
+
+    @Override
+    public void recordQuery(long durationNanos) {
+        metricsService.recordTime(QUERY, durationNanos, AddonMetricsService.TAG_SERVICE, SERVICE_ID);
+    }
+
+    @Override
+    public void recordError() {
+        metricsService.increment(ERRORS, AddonMetricsService.TAG_SERVICE, SERVICE_ID);
+    }
+}
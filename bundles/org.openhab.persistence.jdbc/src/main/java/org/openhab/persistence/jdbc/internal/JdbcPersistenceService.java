@@ -18,6 +18,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -42,6 +43,8 @@ import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -66,6 +69,9 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
 
     private final ItemRegistry itemRegistry;
 
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC)
+    protected volatile @Nullable JdbcMetrics metrics;
+
     @Activate
     public JdbcPersistenceService(final @Reference ItemRegistry itemRegistry,
             final @Reference TimeZoneProvider timeZoneProvider) {
@@ -150,13 +156,22 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
             logger.warn(
                     "JDBC::store: No connection to database. Cannot persist state '{}' for item '{}'! Will retry connecting to database when error count:{} equals errReconnectThreshold:{}",
                     state, item, errCnt, conf.getErrReconnectThreshold());
+            JdbcMetrics metrics = this.metrics;
+            if (metrics != null) {
+                metrics.recordError();
+            }
             return;
         }
-        long timerStart = System.currentTimeMillis();
+        long timerStart = System.nanoTime();
         storeItemValue(item, state, date);
+        long duration = System.nanoTime() - timerStart;
+        JdbcMetrics metrics = this.metrics;
+        if (metrics != null) {
+            metrics.recordStore(duration);
+        }
         if (logger.isDebugEnabled()) {
             logger.debug("JDBC: Stored item '{}' as '{}' in SQL database at {} in {} ms.", item.getName(), state,
-                    new Date(), System.currentTimeMillis() - timerStart);
+                    new Date(), TimeUnit.NANOSECONDS.toMillis(duration));
         }
     }
 
@@ -212,11 +227,16 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
             return List.of();
         }
 
-        long timerStart = System.currentTimeMillis();
+        long timerStart = System.nanoTime();
         List<HistoricItem> items = getHistItemFilterQuery(filter, conf.getNumberDecimalcount(), table, item);
+        long duration = System.nanoTime() - timerStart;
+        JdbcMetrics metrics = this.metrics;
+        if (metrics != null) {
+            metrics.recordQuery(duration);
+        }
         if (logger.isDebugEnabled()) {
             logger.debug("JDBC: Query for item '{}' returned {} rows in {} ms", itemName, items.size(),
-                    System.currentTimeMillis() - timerStart);
+                    TimeUnit.NANOSECONDS.toMillis(duration));
         }
 
         // Success